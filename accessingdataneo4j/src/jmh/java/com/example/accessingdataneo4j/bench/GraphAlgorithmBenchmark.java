@@ -0,0 +1,168 @@
+package com.example.accessingdataneo4j.bench;
+
+import com.example.accessingdataneo4j.graph.BidirectionalBfs;
+import com.example.accessingdataneo4j.graph.GraphAlgorithms;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.service.GraphExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request graph work against an in-memory snapshot, across graph shapes and sizes:
+ * shortest path (bidirectional BFS), friend-of-friend counting, degree ranking and the
+ * edge dedup behind /api/graph.
+ *
+ *   mvn -Pjmh test-compile exec:exec -Djmh.args="GraphAlgorithmBenchmark -p nodes=1000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GraphAlgorithmBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int TOP_K = 10;
+
+    @Param({"1000", "100000", "1000000"})
+    public int nodes;
+
+    @Param({"erdos-renyi", "scale-free", "team"})
+    public String topology;
+
+    @Param({"8"})
+    public int averageDegree;
+
+    private GraphSnapshot graph;
+    private int[] sources;
+    private int[] targets;
+    private double[] degrees;
+    private GraphExportService exportService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.generate(topology, nodes, averageDegree, 42).freeze();
+        SplittableRandom random = new SplittableRandom(7);
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            sources[i] = random.nextInt(nodes);
+            targets[i] = random.nextInt(nodes);
+        }
+        degrees = new double[nodes];
+        for (int i = 0; i < nodes; i++) degrees[i] = graph.degree(i);
+        exportService = new GraphExportService(null, new ObjectMapper());
+    }
+
+    /**
+     * Reusable search buffers and a query cursor per benchmark thread
+     */
+    @State(Scope.Thread)
+    public static class Worker {
+        BidirectionalBfs bfs;
+        int[] mutualCounts;
+        int[] touched;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphAlgorithmBenchmark benchmark) {
+            bfs = new BidirectionalBfs(benchmark.graph);
+            mutualCounts = new int[benchmark.nodes];
+            touched = new int[benchmark.nodes];
+        }
+
+        int nextQuery() {
+            next = (next + 1) & (QUERIES - 1);
+            return next;
+        }
+    }
+
+    @Benchmark
+    public int[] shortestPath(Worker worker) {
+        int q = worker.nextQuery();
+        return worker.bfs.shortestPath(sources[q], targets[q]);
+    }
+
+    /**
+     * Two-hop scan counting shared teammates of one person, as a suggestion query without an index
+     */
+    @Benchmark
+    public int friendOfFriend(Worker worker) {
+        int person = sources[worker.nextQuery()];
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int[] counts = worker.mutualCounts;
+        int[] touched = worker.touched;
+        int touchedCount = 0;
+        for (int e = offsets[person]; e < offsets[person + 1]; e++) {
+            int friend = neighbors[e];
+            for (int f = offsets[friend]; f < offsets[friend + 1]; f++) {
+                int candidate = neighbors[f];
+                if (candidate == person) continue;
+                if (counts[candidate]++ == 0) touched[touchedCount++] = candidate;
+            }
+        }
+        int best = -1;
+        for (int i = 0; i < touchedCount; i++) {
+            int candidate = touched[i];
+            if (best < 0 || counts[candidate] > counts[best]) best = candidate;
+            counts[candidate] = 0;
+        }
+        return best;
+    }
+
+    @Benchmark
+    public int[] degreeRanking() {
+        return GraphAlgorithms.topIndexes(degrees, TOP_K);
+    }
+
+    /**
+     * The original /api/graph approach: one "min-max" string key per edge in a HashSet
+     */
+    @Benchmark
+    public int edgeDedupStringKeys() {
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        Set<String> keys = new HashSet<>();
+        for (int v = 0; v < nodes; v++) {
+            long id = graph.id(v);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                long other = graph.id(neighbors[e]);
+                keys.add(Math.min(id, other) + "-" + Math.max(id, other));
+            }
+        }
+        return keys.size();
+    }
+
+    /**
+     * The current rule: an edge is emitted only from its lower-index endpoint
+     */
+    @Benchmark
+    public int edgeDedupLowerIndex() {
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int edges = 0;
+        for (int v = 0; v < nodes; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (neighbors[e] > v) edges++;
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Full /api/graph body (nodes and deduplicated edges) serialized to a discarding stream
+     */
+    @Benchmark
+    public void exportGraph() throws IOException {
+        exportService.writePage(graph, null, Integer.MAX_VALUE, OutputStream.nullOutputStream());
+    }
+}
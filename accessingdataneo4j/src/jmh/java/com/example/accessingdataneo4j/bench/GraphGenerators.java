@@ -0,0 +1,111 @@
+package com.example.accessingdataneo4j.bench;
+
+import com.example.accessingdataneo4j.graph.AdjacencyGraph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic TEAMMATE graphs for benchmarks, built straight into an {@link AdjacencyGraph}
+ * so no database is needed. All generators are deterministic for a given seed; people get
+ * ids 1..n, and duplicate or self edges are dropped by the graph itself.
+ */
+public final class GraphGenerators {
+
+    private static final String[] ROLES = {"Developer", "Developer", "Developer", "Designer", "QA", "DevOps"};
+
+    private GraphGenerators() {
+    }
+
+    public static AdjacencyGraph generate(String topology, int n, int averageDegree, long seed) {
+        return switch (topology) {
+            case "erdos-renyi" -> erdosRenyi(n, averageDegree, seed);
+            case "scale-free" -> scaleFree(n, Math.max(1, averageDegree / 2), seed);
+            case "team" -> teams(n, averageDegree, seed);
+            default -> throw new IllegalArgumentException("Unknown topology: " + topology);
+        };
+    }
+
+    /**
+     * G(n, m) random graph with m = n * averageDegree / 2 uniformly chosen pairs
+     */
+    public static AdjacencyGraph erdosRenyi(int n, int averageDegree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        AdjacencyGraph graph = people(n);
+        long edges = (long) n * averageDegree / 2;
+        for (long e = 0; e < edges; e++) {
+            graph.addEdge(1 + random.nextInt(n), 1 + random.nextInt(n));
+        }
+        return graph;
+    }
+
+    /**
+     * Barabási–Albert preferential attachment: each new person links to m existing people
+     * chosen proportionally to degree, giving a power-law degree tail with a few large hubs
+     */
+    public static AdjacencyGraph scaleFree(int n, int m, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        AdjacencyGraph graph = people(n);
+        // Every edge endpoint appended once; a uniform pick from it is a degree-weighted pick
+        long[] endpoints = new long[2 * m * n];
+        int size = 0;
+        int core = Math.min(n, m + 1);
+        for (int a = 1; a <= core; a++) {
+            for (int b = a + 1; b <= core; b++) {
+                graph.addEdge(a, b);
+                endpoints[size++] = a;
+                endpoints[size++] = b;
+            }
+        }
+        for (int v = core + 1; v <= n; v++) {
+            for (int k = 0; k < m; k++) {
+                long target = endpoints[random.nextInt(size)];
+                if (graph.addEdge(v, target)) {
+                    endpoints[size++] = v;
+                    endpoints[size++] = target;
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * The shape of the demo seeder, repeated: teams of about averageDegree + 2 people around
+     * a manager who knows everyone on the team, members linked to a few teammates, and each
+     * manager bridging to the managers of two other teams
+     */
+    public static AdjacencyGraph teams(int n, int averageDegree, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int teamSize = Math.max(3, averageDegree + 2);
+        AdjacencyGraph graph = new AdjacencyGraph();
+        int teams = (n + teamSize - 1) / teamSize;
+        for (int id = 1; id <= n; id++) {
+            boolean manager = (id - 1) % teamSize == 0;
+            String role = manager ? "Manager" : ROLES[random.nextInt(ROLES.length)];
+            graph.putNode(id, "Person " + id, "person" + id + "@example.com", role);
+        }
+        for (int t = 0; t < teams; t++) {
+            int first = t * teamSize + 1;
+            int last = Math.min(n, first + teamSize - 1);
+            for (int member = first + 1; member <= last; member++) {
+                graph.addEdge(first, member);
+                for (int k = 0; k < averageDegree / 2; k++) {
+                    graph.addEdge(member, first + 1 + random.nextInt(Math.max(1, last - first)));
+                }
+            }
+            if (teams > 1) {
+                for (int k = 0; k < 2; k++) {
+                    graph.addEdge(first, (long) random.nextInt(teams) * teamSize + 1);
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static AdjacencyGraph people(int n) {
+        AdjacencyGraph graph = new AdjacencyGraph();
+        for (int id = 1; id <= n; id++) {
+            graph.putNode(id, "Person " + id, "person" + id + "@example.com", ROLES[id % ROLES.length]);
+        }
+        return graph;
+    }
+}
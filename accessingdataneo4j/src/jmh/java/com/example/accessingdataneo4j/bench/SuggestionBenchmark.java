@@ -0,0 +1,88 @@
+package com.example.accessingdataneo4j.bench;
+
+import com.example.accessingdataneo4j.graph.AdjacencyGraph;
+import com.example.accessingdataneo4j.graph.MutualFriendIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestions from the mutual-friend index: top-k queries and incremental edge updates.
+ *
+ * Sizes stop at 100k because the index holds every two-hop pair, which for a
+ * million-node scale-free graph does not fit a benchmark heap; friendOfFriend in
+ * {@link GraphAlgorithmBenchmark} covers the index-free scan at 1M.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SuggestionBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000"})
+    public int nodes;
+
+    @Param({"erdos-renyi", "scale-free", "team"})
+    public String topology;
+
+    @Param({"8"})
+    public int averageDegree;
+
+    private AdjacencyGraph graph;
+    private MutualFriendIndex index;
+    private long[] people;
+    private long[] others;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerators.generate(topology, nodes, averageDegree, 42);
+        index = new MutualFriendIndex();
+        index.build(graph);
+        SplittableRandom random = new SplittableRandom(7);
+        people = new long[QUERIES];
+        others = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            people[i] = 1 + random.nextInt(nodes);
+            others[i] = 1 + random.nextInt(nodes);
+        }
+    }
+
+    @Benchmark
+    public List<MutualFriendIndex.Suggestion> topFive() {
+        next = (next + 1) & (QUERIES - 1);
+        return index.topK(graph, people[next], 5, 0.5);
+    }
+
+    /**
+     * Add then remove one edge, keeping the graph unchanged between invocations
+     */
+    @Benchmark
+    public boolean addAndRemoveEdge() {
+        next = (next + 1) & (QUERIES - 1);
+        long a = people[next];
+        long b = others[next];
+        if (!graph.addEdge(a, b)) return false;
+        index.edgeAdded(graph, a, b);
+        graph.removeEdge(a, b);
+        index.edgeRemoved(graph, a, b);
+        return true;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public MutualFriendIndex buildIndex() {
+        MutualFriendIndex fresh = new MutualFriendIndex();
+        fresh.build(graph);
+        return fresh;
+    }
+}
@@ -6,6 +6,9 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.data.neo4j.Neo4jReactiveDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.neo4j.Neo4jReactiveRepositoriesAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
 
 /**
@@ -16,12 +19,16 @@ import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
  * - Graph database operations
  * - Entity relationships in Neo4j
  * - Web interface with Thymeleaf
+ *
+ * Blocking repositories only; reactive ones are registered by ReactiveNeo4jConfig
+ * when app.reactive.enabled=true.
  */
 @SpringBootApplication(exclude = {
     Neo4jReactiveDataAutoConfiguration.class,
     Neo4jReactiveRepositoriesAutoConfiguration.class
 })
-@EnableNeo4jRepositories
+@EnableNeo4jRepositories(excludeFilters = @ComponentScan.Filter(
+    type = FilterType.ASSIGNABLE_TYPE, classes = ReactiveNeo4jRepository.class))
 public class Accessingdataneo4jApplication {
 
     private static final Logger log = LoggerFactory.getLogger(Accessingdataneo4jApplication.class);
@@ -0,0 +1,67 @@
+package com.example.accessingdataneo4j.config;
+
+import com.example.accessingdataneo4j.repository.reactive.ReactivePersonRepository;
+import org.neo4j.driver.Driver;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveDatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import org.springframework.data.neo4j.core.ReactiveNeo4jTemplate;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.core.transaction.ReactiveNeo4jTransactionManager;
+import org.springframework.data.neo4j.repository.config.EnableReactiveNeo4jRepositories;
+
+/**
+ * Reactive Neo4j stack, enabled with app.reactive.enabled=true (the "reactive" profile).
+ *
+ * Boot's reactive Neo4j auto-configuration stays excluded: it would register a second
+ * transaction manager and make every blocking @Transactional ambiguous. Instead both
+ * managers are declared here, the blocking one primary, and the reactive repositories
+ * are bound to the reactive one explicitly.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+@EnableReactiveNeo4jRepositories(
+    basePackageClasses = ReactivePersonRepository.class,
+    transactionManagerRef = "reactiveTransactionManager")
+public class ReactiveNeo4jConfig {
+
+    @Bean
+    @Primary
+    public Neo4jTransactionManager transactionManager(Driver driver, DatabaseSelectionProvider databaseSelectionProvider) {
+        return Neo4jTransactionManager.with(driver)
+            .withDatabaseSelectionProvider(databaseSelectionProvider)
+            .build();
+    }
+
+    @Bean
+    public ReactiveDatabaseSelectionProvider reactiveDatabaseSelectionProvider() {
+        return ReactiveDatabaseSelectionProvider.getDefaultSelectionProvider();
+    }
+
+    @Bean
+    public ReactiveNeo4jTransactionManager reactiveTransactionManager(
+            Driver driver, ReactiveDatabaseSelectionProvider databaseSelectionProvider) {
+        return ReactiveNeo4jTransactionManager.with(driver)
+            .withDatabaseSelectionProvider(databaseSelectionProvider)
+            .build();
+    }
+
+    @Bean
+    public ReactiveNeo4jClient reactiveNeo4jClient(Driver driver,
+                                                   ReactiveDatabaseSelectionProvider databaseSelectionProvider) {
+        return ReactiveNeo4jClient.with(driver)
+            .withDatabaseSelectionProvider(databaseSelectionProvider)
+            .build();
+    }
+
+    @Bean
+    public ReactiveNeo4jTemplate reactiveNeo4jTemplate(ReactiveNeo4jClient reactiveNeo4jClient,
+                                                       Neo4jMappingContext neo4jMappingContext) {
+        return new ReactiveNeo4jTemplate(reactiveNeo4jClient, neo4jMappingContext);
+    }
+}
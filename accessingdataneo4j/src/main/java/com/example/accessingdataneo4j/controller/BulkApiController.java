@@ -0,0 +1,93 @@
+package com.example.accessingdataneo4j.controller;
+
+import com.example.accessingdataneo4j.service.BulkImportService;
+import com.example.accessingdataneo4j.service.BulkImportService.ImportFormat;
+import com.example.accessingdataneo4j.service.BulkImportService.ImportResult;
+import com.example.accessingdataneo4j.service.BulkImportService.TeammateResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST endpoints for batched graph writes
+ */
+@RestController
+@RequestMapping("/api")
+public class BulkApiController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkApiController.class);
+    private final BulkImportService bulkImportService;
+
+    @Autowired
+    public BulkApiController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+
+    /**
+     * Add/remove many teammate relationships:
+     * {"add": [{"from": 1, "to": 2}], "remove": [{"from": 3, "to": 4}]}
+     */
+    @PostMapping("/teammates/bulk")
+    public TeammateResult bulkTeammates(@RequestBody TeammateBatch batch) {
+        List<TeammatePair> add = batch.add() != null ? batch.add() : List.of();
+        List<TeammatePair> remove = batch.remove() != null ? batch.remove() : List.of();
+        log.info("Bulk teammate update: {} to add, {} to remove", add.size(), remove.size());
+
+        long[][] adds = toArrays(add, "add");
+        long[][] removes = toArrays(remove, "remove");
+        return bulkImportService.updateTeammates(adds[0], adds[1], removes[0], removes[1]);
+    }
+
+    /**
+     * Stream people into the graph. Body is CSV with a name,email,role header (format=csv)
+     * or one JSON object per line (format=ndjson).
+     */
+    @PostMapping("/people/import")
+    public ImportResult importPeople(@RequestParam(defaultValue = "csv") String format,
+                                     InputStream body) throws IOException {
+        ImportFormat importFormat;
+        try {
+            importFormat = ImportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported format '" + format + "', use csv or ndjson");
+        }
+        log.info("Importing people ({})", importFormat);
+        return bulkImportService.importPeople(body, importFormat);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> badRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    private static long[][] toArrays(List<TeammatePair> pairs, String field) {
+        long[] from = new long[pairs.size()];
+        long[] to = new long[pairs.size()];
+        for (int i = 0; i < pairs.size(); i++) {
+            TeammatePair pair = pairs.get(i);
+            if (pair == null || pair.from() == null || pair.to() == null) {
+                throw new IllegalArgumentException(field + "[" + i + "] needs both 'from' and 'to'");
+            }
+            if (pair.from().equals(pair.to())) {
+                throw new IllegalArgumentException(field + "[" + i + "]: a person cannot be their own teammate");
+            }
+            from[i] = pair.from();
+            to[i] = pair.to();
+        }
+        return new long[][] {from, to};
+    }
+
+    public record TeammatePair(Long from, Long to) {
+    }
+
+    public record TeammateBatch(List<TeammatePair> add, List<TeammatePair> remove) {
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.accessingdataneo4j.controller;
 
+import com.example.accessingdataneo4j.model.ConnectionCount;
+import com.example.accessingdataneo4j.model.GraphTotals;
+import com.example.accessingdataneo4j.model.RoleCount;
+import com.example.accessingdataneo4j.graph.GraphAlgorithms;
 import com.example.accessingdataneo4j.service.DataSeederService;
+import com.example.accessingdataneo4j.service.GraphAnalyticsService;
 import com.example.accessingdataneo4j.service.PersonService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,22 +14,26 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
-import java.util.Map;
 
 @Controller
 public class DashboardController {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+    private static final int LEADERBOARD_SIZE = 5;
     private final PersonService personService;
     private final DataSeederService dataSeederService;
+    private final GraphAnalyticsService analyticsService;
 
     @Autowired
-    public DashboardController(PersonService personService, DataSeederService dataSeederService) {
+    public DashboardController(PersonService personService, DataSeederService dataSeederService,
+                               GraphAnalyticsService analyticsService) {
         this.personService = personService;
         this.dataSeederService = dataSeederService;
+        this.analyticsService = analyticsService;
     }
 
     @GetMapping("/dashboard")
@@ -32,25 +41,33 @@ public class DashboardController {
         log.info("Loading dashboard");
 
         try {
-            long totalPeople = personService.countPeople();
-            long totalConnections = personService.countRelationships();
-            List<Map<String, Object>> connectionRanking = personService.getConnectionCounts();
-            List<Map<String, Object>> roleDistribution = personService.getRoleDistribution();
+            GraphTotals totals = personService.getGraphTotals();
+            List<ConnectionCount> connectionRanking = personService.getConnectionCounts(LEADERBOARD_SIZE);
+            List<RoleCount> roleDistribution = personService.getRoleDistribution();
 
-            model.addAttribute("totalPeople", totalPeople);
-            model.addAttribute("totalConnections", totalConnections);
+            model.addAttribute("totalPeople", totals.people());
+            model.addAttribute("totalConnections", totals.relationships());
             model.addAttribute("connectionRanking", connectionRanking);
             model.addAttribute("roleDistribution", roleDistribution);
-            model.addAttribute("isEmpty", totalPeople == 0);
+            model.addAttribute("isEmpty", totals.people() == 0);
 
             // Find most connected person from ranking
             if (!connectionRanking.isEmpty()) {
-                model.addAttribute("topPerson", connectionRanking.get(0).get("name"));
-                model.addAttribute("topConnections", connectionRanking.get(0).get("connections"));
+                model.addAttribute("topPerson", connectionRanking.get(0).name());
+                model.addAttribute("topConnections", connectionRanking.get(0).connections());
             }
 
             // Lonely people count
-            model.addAttribute("lonelyCount", personService.getPeopleWithNoTeammates().size());
+            model.addAttribute("lonelyCount", totals.peopleWithNoTeammates());
+
+            // Highest betweenness from the last background analytics run; never waits for one
+            analyticsService.refreshIfStale();
+            analyticsService.latest()
+                .filter(result -> result.graph().nodeCount() > 0)
+                .ifPresent(result -> {
+                    int bridge = GraphAlgorithms.topIndexes(result.betweenness(), 1)[0];
+                    model.addAttribute("topBridge", result.graph().name(bridge));
+                });
 
         } catch (Exception e) {
             log.error("Error loading dashboard", e);
@@ -78,4 +95,23 @@ public class DashboardController {
         }
         return "redirect:/dashboard";
     }
+
+    @PostMapping("/seed/synthetic")
+    public String seedSyntheticData(
+            @RequestParam(defaultValue = "10000") int people,
+            @RequestParam(defaultValue = "50000") int relationships,
+            @RequestParam(defaultValue = "42") long seed,
+            RedirectAttributes redirectAttributes) {
+        log.info("Seeding synthetic data: {} people, {} relationships", people, relationships);
+        try {
+            dataSeederService.seedSyntheticGraph(people, relationships, seed);
+            redirectAttributes.addFlashAttribute("success",
+                "Synthetic graph loaded! " + people + " people with " + relationships + " relationships created.");
+        } catch (Exception e) {
+            log.error("Error seeding synthetic data", e);
+            redirectAttributes.addFlashAttribute("error",
+                "Error seeding synthetic data: " + e.getMessage());
+        }
+        return "redirect:/dashboard";
+    }
 }
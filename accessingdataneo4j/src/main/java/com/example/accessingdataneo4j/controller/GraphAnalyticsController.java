@@ -0,0 +1,153 @@
+package com.example.accessingdataneo4j.controller;
+
+import com.example.accessingdataneo4j.graph.GraphAlgorithms;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.service.GraphAnalyticsService;
+import com.example.accessingdataneo4j.service.GraphAnalyticsService.AnalyticsResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * REST endpoints for background graph analytics.
+ *
+ * Every read answers from the cached result immediately; when the graph has changed
+ * since that result was computed, a refresh is started and the response is marked
+ * stale. Before the first result exists the endpoints return 202 Accepted.
+ */
+@RestController
+@RequestMapping("/api/graph/analytics")
+public class GraphAnalyticsController {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphAnalyticsController.class);
+    private static final int SUMMARY_SIZE = 5;
+    private final GraphAnalyticsService analyticsService;
+
+    @Autowired
+    public GraphAnalyticsController(GraphAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Overview: key bridges, most influential people, component and community counts
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> summary() {
+        return respond(result -> {
+            int[] componentSizes = GraphAlgorithms.groupSizes(result.components());
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("bridges", ranked(result, result.betweenness(), SUMMARY_SIZE));
+            body.put("pageRank", ranked(result, result.pageRank(), SUMMARY_SIZE));
+            body.put("componentCount", componentSizes.length);
+            body.put("largestComponent", Arrays.stream(componentSizes).max().orElse(0));
+            body.put("communityCount", GraphAlgorithms.groupSizes(result.communities()).length);
+            return body;
+        });
+    }
+
+    @GetMapping("/betweenness")
+    public ResponseEntity<Map<String, Object>> betweenness(@RequestParam(defaultValue = "10") int top) {
+        return respond(result -> Map.of(
+            "exact", result.betweennessExact(),
+            "people", ranked(result, result.betweenness(), top)));
+    }
+
+    @GetMapping("/pagerank")
+    public ResponseEntity<Map<String, Object>> pageRank(@RequestParam(defaultValue = "10") int top) {
+        return respond(result -> Map.of("people", ranked(result, result.pageRank(), top)));
+    }
+
+    @GetMapping("/components")
+    public ResponseEntity<Map<String, Object>> components(@RequestParam(defaultValue = "10") int top,
+                                                          @RequestParam(defaultValue = "5") int members) {
+        return respond(result -> groups(result, result.components(), top, members, "components"));
+    }
+
+    @GetMapping("/communities")
+    public ResponseEntity<Map<String, Object>> communities(@RequestParam(defaultValue = "10") int top,
+                                                           @RequestParam(defaultValue = "5") int members) {
+        return respond(result -> groups(result, result.communities(), top, members, "communities"));
+    }
+
+    /**
+     * Recompute now, even if the cached result is current
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refresh() {
+        log.info("Graph analytics refresh requested");
+        analyticsService.refresh();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("status", "computing"));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, Object> badRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    // Helpers
+
+    private ResponseEntity<Map<String, Object>> respond(Function<AnalyticsResult, Map<String, Object>> view) {
+        analyticsService.refreshIfStale();
+        Optional<AnalyticsResult> latest = analyticsService.latest();
+        if (latest.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("status", "computing"));
+        }
+
+        AnalyticsResult result = latest.get();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", analyticsService.isRunning() ? "refreshing" : "ready");
+        body.put("version", result.version());
+        body.put("stale", !analyticsService.isCurrent(result));
+        body.put("computedAt", result.computedAt());
+        body.put("millis", result.millis());
+        body.put("nodes", result.graph().nodeCount());
+        body.putAll(view.apply(result));
+        return ResponseEntity.ok(body);
+    }
+
+    private static List<Map<String, Object>> ranked(AnalyticsResult result, double[] scores, int top) {
+        if (top <= 0) throw new IllegalArgumentException("top must be positive");
+        GraphSnapshot graph = result.graph();
+        List<Map<String, Object>> people = new ArrayList<>();
+        for (int i : GraphAlgorithms.topIndexes(scores, top)) {
+            people.add(Map.of(
+                "id", graph.id(i),
+                "name", graph.name(i),
+                "score", scores[i]));
+        }
+        return people;
+    }
+
+    private static Map<String, Object> groups(AnalyticsResult result, int[] groupOf, int top, int members,
+                                              String field) {
+        if (top <= 0) throw new IllegalArgumentException("top must be positive");
+        if (members < 0) throw new IllegalArgumentException("members must not be negative");
+        GraphSnapshot graph = result.graph();
+        int[] sizes = GraphAlgorithms.groupSizes(groupOf);
+        int[] largest = GraphAlgorithms.topIndexes(Arrays.stream(sizes).asDoubleStream().toArray(), top);
+
+        // One pass over the nodes collects a few sample members for each reported group
+        Map<Integer, List<String>> samples = new HashMap<>();
+        for (int group : largest) samples.put(group, new ArrayList<>());
+        for (int i = 0; i < groupOf.length; i++) {
+            List<String> names = samples.get(groupOf[i]);
+            if (names != null && names.size() < members) names.add(graph.name(i));
+        }
+
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (int group : largest) {
+            groups.add(Map.of(
+                "id", group,
+                "size", sizes[group],
+                "members", samples.get(group)));
+        }
+        return Map.of("count", sizes.length, field, groups);
+    }
+}
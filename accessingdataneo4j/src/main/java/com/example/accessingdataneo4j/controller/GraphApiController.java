@@ -1,12 +1,19 @@
 package com.example.accessingdataneo4j.controller;
 
+import com.example.accessingdataneo4j.graph.EgoNetwork;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
 import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.service.GraphExportService;
 import com.example.accessingdataneo4j.service.PersonService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.*;
 
@@ -14,11 +21,16 @@ import java.util.*;
 public class GraphApiController {
 
     private static final Logger log = LoggerFactory.getLogger(GraphApiController.class);
+    private static final int MAX_EGO_DEPTH = 6;
+    private static final int MAX_EGO_LIMIT = 5000;
+    private static final int MAX_SUGGESTION_LIMIT = 1000;
     private final PersonService personService;
+    private final GraphExportService graphExportService;
 
     @Autowired
-    public GraphApiController(PersonService personService) {
+    public GraphApiController(PersonService personService, GraphExportService graphExportService) {
         this.personService = personService;
+        this.graphExportService = graphExportService;
     }
 
     @GetMapping("/graph")
@@ -26,39 +38,60 @@ public class GraphApiController {
         return "graph";
     }
 
+    /**
+     * Stream graph data for vis.js.
+     * Paged: /api/graph?limit=2000&cursor={nextCursor}; without a limit the whole graph is streamed.
+     * Overview: /api/graph?lod=true&minDegree=3 folds low-degree people into role clusters.
+     */
     @GetMapping("/api/graph")
-    @ResponseBody
-    public Map<String, Object> getGraphData() {
-        log.info("Fetching graph data");
-        List<Person> allPeople = personService.getAllPeople();
-
-        List<Map<String, Object>> nodes = new ArrayList<>();
-        Set<String> edgeKeys = new HashSet<>();
-        List<Map<String, Object>> edges = new ArrayList<>();
-
-        for (Person p : allPeople) {
-            Map<String, Object> node = new HashMap<>();
-            node.put("id", p.getId());
-            node.put("label", p.getName());
-            node.put("role", p.getRole() != null ? p.getRole() : "Unknown");
-            node.put("email", p.getEmail() != null ? p.getEmail() : "");
-            node.put("teammateCount", p.getTeammates().size());
-            nodes.add(node);
-
-            for (Person t : p.getTeammates()) {
-                long minId = Math.min(p.getId(), t.getId());
-                long maxId = Math.max(p.getId(), t.getId());
-                String key = minId + "-" + maxId;
-                if (edgeKeys.add(key)) {
-                    Map<String, Object> edge = new HashMap<>();
-                    edge.put("from", p.getId());
-                    edge.put("to", t.getId());
-                    edges.add(edge);
-                }
-            }
+    public ResponseEntity<StreamingResponseBody> getGraphData(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean lod,
+            @RequestParam(defaultValue = "2") int minDegree) {
+        log.info("Fetching graph data (cursor={}, limit={}, lod={})", cursor, limit, lod);
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
         }
 
-        return Map.of("nodes", nodes, "edges", edges);
+        // Capture the snapshot on the request thread; the body is written asynchronously
+        GraphSnapshot graph = graphExportService.snapshot();
+        StreamingResponseBody body = lod
+            ? out -> graphExportService.writeLevelOfDetail(graph, minDegree, out)
+            : out -> graphExportService.writePage(graph, cursor, limit != null ? limit : Integer.MAX_VALUE, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Neighborhood of one person: everyone within depth hops, nearest first, capped at limit nodes.
+     * People with more than hubDegree teammates are shown but not expanded.
+     * /api/graph/ego/42?depth=2&limit=500&hubDegree=100
+     */
+    @GetMapping("/api/graph/ego/{id}")
+    public ResponseEntity<StreamingResponseBody> getEgoGraph(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "2") int depth,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "100") int hubDegree) {
+        log.info("Fetching ego graph for person {} (depth={}, limit={}, hubDegree={})", id, depth, limit, hubDegree);
+        if (depth < 1 || depth > MAX_EGO_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 1 and " + MAX_EGO_DEPTH);
+        }
+        if (limit <= 0 || limit > MAX_EGO_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_EGO_LIMIT);
+        }
+        if (hubDegree <= 0) {
+            throw new IllegalArgumentException("hubDegree must be positive");
+        }
+
+        GraphSnapshot graph = graphExportService.snapshot();
+        int center = graph.indexOf(id);
+        if (center < 0) {
+            return ResponseEntity.notFound().build();
+        }
+        EgoNetwork.Neighborhood neighborhood = EgoNetwork.expand(graph, center, depth, limit, hubDegree);
+        StreamingResponseBody body = out -> graphExportService.writeEgo(graph, neighborhood, depth, hubDegree, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @GetMapping("/api/shortest-path")
@@ -66,34 +99,82 @@ public class GraphApiController {
     public Map<String, Object> shortestPath(@RequestParam Long from, @RequestParam Long to) {
         log.info("Finding shortest path: {} -> {}", from, to);
         try {
-            List<Person> path = personService.getShortestPath(from, to);
-            Integer degrees = personService.getDegreesOfSeparation(from, to);
-
-            List<Map<String, Object>> pathNodes = new ArrayList<>();
-            for (Person p : path) {
-                pathNodes.add(Map.of("id", p.getId(), "name", p.getName()));
-            }
-
-            return Map.of(
-                "path", pathNodes,
-                "degrees", degrees != null ? degrees : -1,
-                "found", !path.isEmpty()
-            );
+            return toPathResponse(personService.getShortestPath(from, to));
         } catch (Exception e) {
             log.error("Error finding shortest path", e);
             return Map.of("path", List.of(), "degrees", -1, "found", false);
         }
     }
 
+    /**
+     * Batch shortest paths: body is [{"from": 1, "to": 2}, ...], answered in order
+     */
+    @PostMapping("/api/shortest-paths")
+    @ResponseBody
+    public List<Map<String, Object>> shortestPaths(@RequestBody List<PathQuery> queries) {
+        log.info("Finding {} shortest paths", queries.size());
+        long[] fromIds = new long[queries.size()];
+        long[] toIds = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            PathQuery query = queries.get(i);
+            if (query == null || query.from() == null || query.to() == null) {
+                throw new IllegalArgumentException("Path query " + i + " needs both 'from' and 'to'");
+            }
+            fromIds[i] = query.from();
+            toIds[i] = query.to();
+        }
+
+        List<List<Person>> paths = personService.getShortestPaths(fromIds, toIds);
+        List<Map<String, Object>> results = new ArrayList<>(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("from", fromIds[i]);
+            result.put("to", toIds[i]);
+            result.putAll(toPathResponse(paths.get(i)));
+            results.add(result);
+        }
+        return results;
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public Map<String, Object> badRequest(IllegalArgumentException e) {
+        return Map.of("error", e.getMessage());
+    }
+
+    // Degrees are derived from the computed path rather than a second search
+    private Map<String, Object> toPathResponse(List<Person> path) {
+        List<Map<String, Object>> pathNodes = new ArrayList<>();
+        for (Person p : path) {
+            pathNodes.add(Map.of("id", p.getId(), "name", p.getName()));
+        }
+
+        return Map.of(
+            "path", pathNodes,
+            "degrees", path.isEmpty() ? -1 : path.size() - 1,
+            "found", !path.isEmpty()
+        );
+    }
+
     @GetMapping("/api/suggestions/{personId}")
     @ResponseBody
-    public List<Map<String, Object>> suggestions(@PathVariable Long personId) {
+    public List<Map<String, Object>> suggestions(
+            @PathVariable Long personId,
+            @RequestParam(defaultValue = "5") int limit,
+            @RequestParam(defaultValue = "0") double roleWeight) {
         log.info("Getting suggestions for person: {}", personId);
+        if (limit <= 0 || limit > MAX_SUGGESTION_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SUGGESTION_LIMIT);
+        }
         try {
-            return personService.getSuggestedConnections(personId);
+            return personService.getSuggestedConnections(personId, limit, roleWeight);
         } catch (Exception e) {
             log.error("Error getting suggestions", e);
             return List.of();
         }
     }
+
+    public record PathQuery(Long from, Long to) {
+    }
 }
@@ -1,10 +1,14 @@
 package com.example.accessingdataneo4j.controller;
 
 import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.model.PersonRow;
+import com.example.accessingdataneo4j.service.PersonDirectoryService;
 import com.example.accessingdataneo4j.service.PersonService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -21,11 +25,14 @@ import java.util.List;
 public class PersonController {
 
     private static final Logger log = LoggerFactory.getLogger(PersonController.class);
+    private static final int MAX_PAGE_SIZE = 500;
     private final PersonService personService;
+    private final PersonDirectoryService personDirectoryService;
 
     @Autowired
-    public PersonController(PersonService personService) {
+    public PersonController(PersonService personService, PersonDirectoryService personDirectoryService) {
         this.personService = personService;
+        this.personDirectoryService = personDirectoryService;
     }
 
     /**
@@ -37,33 +44,52 @@ public class PersonController {
     }
 
     /**
-     * List all people with optional search
-     * GET /people or GET /people?search=name
+     * List people one page at a time, with optional search
+     * GET /people, GET /people?afterName=..&afterId=.. (next page) or GET /people?search=name&page=1
      */
     @GetMapping("/people")
     public String listPeople(
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String afterName,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
             Model model) {
 
-        log.info("Listing people, search term: {}", search);
+        log.info("Listing people, search term: {}, after: {}/{}, page: {}", search, afterName, afterId, page);
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
 
-        List<Person> people;
+        Slice<PersonRow> people;
         try {
             if (search != null && !search.trim().isEmpty()) {
-                people = personService.searchPeople(search);
+                PersonDirectoryService.SearchResult result = personDirectoryService.search(search, pageNumber, pageSize);
+                people = result.rows();
                 model.addAttribute("search", search);
+                model.addAttribute("searchMode", result.mode());
+                model.addAttribute("totalCount", result.totalCount());
+                if (people.hasNext()) model.addAttribute("nextPage", pageNumber + 1);
+                if (pageNumber > 0) model.addAttribute("previousPage", pageNumber - 1);
             } else {
-                people = personService.getAllPeople();
+                people = personDirectoryService.listPage(afterName, afterId, pageSize);
+                model.addAttribute("totalCount", personDirectoryService.countPeople());
+                if (people.hasNext()) {
+                    PersonRow last = people.getContent().get(people.getNumberOfElements() - 1);
+                    model.addAttribute("nextAfterName", last.name());
+                    model.addAttribute("nextAfterId", last.id());
+                }
+                model.addAttribute("firstPage", afterId == null);
             }
         } catch (Exception e) {
             log.error("Failed to fetch people (is Neo4j running?)", e);
-            people = List.of();
+            people = new SliceImpl<>(List.of());
+            model.addAttribute("totalCount", 0);
             model.addAttribute("error",
                 "Could not connect to database. Make sure Neo4j is running on bolt://localhost:7687");
         }
 
-        model.addAttribute("people", people);
-        model.addAttribute("totalCount", people.size());
+        model.addAttribute("people", people.getContent());
+        model.addAttribute("size", pageSize);
 
         return "people/list";
     }
@@ -121,15 +147,11 @@ public class PersonController {
                     .orElseThrow(() -> new PersonService.PersonNotFoundException(
                         "Person not found with id: " + id));
             
-            // Get all people except current person and their existing teammates
-            List<Person> allPeople = personService.getAllPeople();
-            allPeople.removeIf(p -> 
-                p.getId().equals(id) || 
-                (person.getTeammates() != null && person.getTeammates().contains(p))
-            );
+            // Everyone except the current person and their existing teammates
+            List<Person> availableTeammates = personService.getAvailableTeammates(id);
             
             model.addAttribute("person", person);
-            model.addAttribute("availableTeammates", allPeople);
+            model.addAttribute("availableTeammates", availableTeammates);
             
             return "people/view";
             
@@ -0,0 +1,59 @@
+package com.example.accessingdataneo4j.controller;
+
+import com.example.accessingdataneo4j.repository.reactive.ReactiveGraphRepository;
+import com.example.accessingdataneo4j.repository.reactive.ReactiveGraphRepository.Suggestion;
+import com.example.accessingdataneo4j.repository.reactive.ReactivePersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive variants of the graph REST API, enabled with app.reactive.enabled=true.
+ *
+ * Responses are newline-delimited JSON streamed from the driver: Spring MVC requests
+ * one element at a time from each Flux and writes it before asking for the next, so
+ * no Tomcat thread waits on Neo4j and memory stays flat however large the graph is.
+ */
+@RestController
+@RequestMapping("/api/reactive")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveGraphApiController {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveGraphApiController.class);
+    private final ReactiveGraphRepository graphRepository;
+    private final ReactivePersonRepository personRepository;
+
+    @Autowired
+    public ReactiveGraphApiController(ReactiveGraphRepository graphRepository,
+                                      ReactivePersonRepository personRepository) {
+        this.graphRepository = graphRepository;
+        this.personRepository = personRepository;
+    }
+
+    /**
+     * All nodes, then all edges; nodes carry id/label/role and edges from/to
+     */
+    @GetMapping(value = "/graph", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Object> graph() {
+        log.info("Streaming graph (reactive)");
+        return Flux.concat(graphRepository.nodes(), graphRepository.edges());
+    }
+
+    @GetMapping(value = "/suggestions/{id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Suggestion> suggestions(@PathVariable Long id, @RequestParam(defaultValue = "5") int limit) {
+        log.info("Getting suggestions for person {} (reactive)", id);
+        if (limit <= 0) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be positive"));
+        }
+        return personRepository.existsById(id)
+            .flatMapMany(exists -> exists
+                ? graphRepository.suggestions(id, limit)
+                : Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "Person not found with id: " + id)));
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable, incrementally maintained adjacency store for the TEAMMATE graph.
+ *
+ * Each node lives in a reusable slot with a growable int[] neighbor row, so edge
+ * and node updates cost O(degree) instead of a reload. {@link #freeze()} compacts
+ * the current state into an immutable CSR {@link GraphSnapshot}.
+ * Not thread-safe; callers serialize access.
+ */
+public final class AdjacencyGraph {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final LongIntHashMap slotById = new LongIntHashMap();
+    private final Map<String, Integer> roleCodes = new HashMap<>();
+    private final List<String> roleNames = new ArrayList<>();
+
+    private long[] ids = new long[16];
+    private String[] names = new String[16];
+    private String[] emails = new String[16];
+    private int[] roleIds = new int[16];
+    private int[][] adjacency = new int[16][];
+    private int[] degrees = new int[16];
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private long edgeCount;
+    private long version;
+
+    // Nodes
+
+    /**
+     * Insert a node or update its attributes; existing edges are kept
+     */
+    public void putNode(long id, String name, String email, String role) {
+        int slot = slotById.get(id);
+        if (slot == LongIntHashMap.MISSING) {
+            slot = allocateSlot();
+            slotById.put(id, slot);
+            ids[slot] = id;
+            adjacency[slot] = NO_NEIGHBORS;
+            degrees[slot] = 0;
+        }
+        names[slot] = name;
+        emails[slot] = email;
+        roleIds[slot] = internRole(role);
+        version++;
+    }
+
+    /**
+     * Remove a node and all of its edges
+     */
+    public boolean removeNode(long id) {
+        int slot = slotById.remove(id);
+        if (slot == LongIntHashMap.MISSING) return false;
+        int[] row = adjacency[slot];
+        for (int i = 0; i < degrees[slot]; i++) {
+            removeFromRow(row[i], slot);
+        }
+        edgeCount -= degrees[slot];
+        adjacency[slot] = null;
+        degrees[slot] = 0;
+        names[slot] = null;
+        emails[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+        version++;
+        return true;
+    }
+
+    public boolean containsNode(long id) {
+        return slotById.containsKey(id);
+    }
+
+    public int nodeCount() {
+        return slotById.size();
+    }
+
+    /**
+     * Ids of every live node, in no particular order
+     */
+    public long[] nodeIds() {
+        long[] result = new long[slotById.size()];
+        int[] cursor = new int[1];
+        slotById.forEach((id, slot) -> result[cursor[0]++] = id);
+        return result;
+    }
+
+    /**
+     * Ids of a node's neighbors, or an empty array for unknown ids
+     */
+    public long[] neighborIds(long id) {
+        int slot = slotById.get(id);
+        if (slot == LongIntHashMap.MISSING) return new long[0];
+        int[] row = adjacency[slot];
+        long[] result = new long[degrees[slot]];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[row[i]];
+        }
+        return result;
+    }
+
+    public boolean containsEdge(long a, long b) {
+        int slotA = slotById.get(a);
+        int slotB = slotById.get(b);
+        return slotA != LongIntHashMap.MISSING && slotB != LongIntHashMap.MISSING && hasEdge(slotA, slotB);
+    }
+
+    public String nameOf(long id) {
+        int slot = slotById.get(id);
+        return slot == LongIntHashMap.MISSING ? null : names[slot];
+    }
+
+    /**
+     * Interned role code of a node, or -1 when unknown or without a role
+     */
+    public int roleIdOf(long id) {
+        int slot = slotById.get(id);
+        return slot == LongIntHashMap.MISSING ? -1 : roleIds[slot];
+    }
+
+    public long edgeCount() {
+        return edgeCount;
+    }
+
+    // Edges
+
+    /**
+     * Add an undirected edge; ignored if either endpoint is unknown or it already exists
+     */
+    public boolean addEdge(long a, long b) {
+        int slotA = slotById.get(a);
+        int slotB = slotById.get(b);
+        if (slotA == LongIntHashMap.MISSING || slotB == LongIntHashMap.MISSING || slotA == slotB) {
+            return false;
+        }
+        if (hasEdge(slotA, slotB)) return false;
+        appendToRow(slotA, slotB);
+        appendToRow(slotB, slotA);
+        edgeCount++;
+        version++;
+        return true;
+    }
+
+    /**
+     * Add the first count edges (from[i], to[i]) in one pass, for loading a whole graph.
+     * Unlike {@link #addEdge} this does not look for an existing edge per call, which costs
+     * O(degree) and makes loading a hub quadratic; rows are sorted and deduplicated once at
+     * the end instead, so duplicates (e.g. each TEAMMATE stored in both directions) collapse.
+     * Unknown endpoints and self-loops are skipped.
+     */
+    public void addEdges(long[] from, long[] to, int count) {
+        for (int i = 0; i < count; i++) {
+            int slotA = slotById.get(from[i]);
+            int slotB = slotById.get(to[i]);
+            if (slotA == LongIntHashMap.MISSING || slotB == LongIntHashMap.MISSING || slotA == slotB) continue;
+            appendToRow(slotA, slotB);
+            appendToRow(slotB, slotA);
+        }
+        long endpoints = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int[] row = adjacency[slot];
+            if (row == null || degrees[slot] == 0) continue;
+            Arrays.sort(row, 0, degrees[slot]);
+            int unique = 1;
+            for (int j = 1; j < degrees[slot]; j++) {
+                if (row[j] != row[unique - 1]) row[unique++] = row[j];
+            }
+            degrees[slot] = unique;
+            endpoints += unique;
+        }
+        edgeCount = endpoints / 2;
+        version++;
+    }
+
+    /**
+     * Remove an undirected edge if present
+     */
+    public boolean removeEdge(long a, long b) {
+        int slotA = slotById.get(a);
+        int slotB = slotById.get(b);
+        if (slotA == LongIntHashMap.MISSING || slotB == LongIntHashMap.MISSING) return false;
+        if (!removeFromRow(slotA, slotB)) return false;
+        removeFromRow(slotB, slotA);
+        edgeCount--;
+        version++;
+        return true;
+    }
+
+    /**
+     * Replace every edge of a node with edges to the given ids
+     */
+    public void replaceNeighbors(long id, long[] neighborIds) {
+        int slot = slotById.get(id);
+        if (slot == LongIntHashMap.MISSING) return;
+        int[] row = adjacency[slot];
+        for (int i = 0; i < degrees[slot]; i++) {
+            removeFromRow(row[i], slot);
+        }
+        edgeCount -= degrees[slot];
+        adjacency[slot] = NO_NEIGHBORS;
+        degrees[slot] = 0;
+        version++;
+        for (long neighborId : neighborIds) {
+            addEdge(id, neighborId);
+        }
+    }
+
+    /**
+     * Mutation counter; a snapshot frozen now would carry this version
+     */
+    public long version() {
+        return version;
+    }
+
+    public void clear() {
+        slotById.clear();
+        roleCodes.clear();
+        roleNames.clear();
+        Arrays.fill(adjacency, 0, slotCount, null);
+        Arrays.fill(names, 0, slotCount, null);
+        Arrays.fill(emails, 0, slotCount, null);
+        slotCount = 0;
+        freeCount = 0;
+        edgeCount = 0;
+        version++;
+    }
+
+    // Snapshot
+
+    /**
+     * Compact live slots into an immutable CSR snapshot ordered by id
+     */
+    public GraphSnapshot freeze() {
+        int n = slotById.size();
+        long[] sortedIds = new long[n];
+        int[] cursor = new int[1];
+        slotById.forEach((id, slot) -> sortedIds[cursor[0]++] = id);
+        Arrays.sort(sortedIds);
+
+        int[] indexBySlot = new int[slotCount];
+        int[] slotByIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            int slot = slotById.get(sortedIds[i]);
+            indexBySlot[slot] = i;
+            slotByIndex[i] = slot;
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + degrees[slotByIndex[i]];
+        }
+
+        int[] neighbors = new int[offsets[n]];
+        int[] nodeRoles = new int[n];
+        String[] nodeNames = new String[n];
+        String[] nodeEmails = new String[n];
+        for (int i = 0; i < n; i++) {
+            int slot = slotByIndex[i];
+            int[] row = adjacency[slot];
+            int start = offsets[i];
+            for (int j = 0; j < degrees[slot]; j++) {
+                neighbors[start + j] = indexBySlot[row[j]];
+            }
+            Arrays.sort(neighbors, start, offsets[i + 1]);
+            nodeRoles[i] = roleIds[slot];
+            nodeNames[i] = names[slot];
+            nodeEmails[i] = emails[slot];
+        }
+
+        return new GraphSnapshot(sortedIds, offsets, neighbors, nodeRoles,
+                roleNames.toArray(new String[0]), nodeNames, nodeEmails, version);
+    }
+
+    // Internals
+
+    private int internRole(String role) {
+        if (role == null || role.isEmpty()) return -1;
+        return roleCodes.computeIfAbsent(role, r -> {
+            roleNames.add(r);
+            return roleNames.size() - 1;
+        });
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) return freeSlots[--freeCount];
+        if (slotCount == ids.length) {
+            int capacity = slotCount * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            roleIds = Arrays.copyOf(roleIds, capacity);
+            adjacency = Arrays.copyOf(adjacency, capacity);
+            degrees = Arrays.copyOf(degrees, capacity);
+        }
+        return slotCount++;
+    }
+
+    private boolean hasEdge(int slotA, int slotB) {
+        // Scan the shorter row
+        if (degrees[slotA] > degrees[slotB]) {
+            int tmp = slotA;
+            slotA = slotB;
+            slotB = tmp;
+        }
+        int[] row = adjacency[slotA];
+        for (int i = 0; i < degrees[slotA]; i++) {
+            if (row[i] == slotB) return true;
+        }
+        return false;
+    }
+
+    private void appendToRow(int slot, int neighbor) {
+        int[] row = adjacency[slot];
+        int degree = degrees[slot];
+        if (degree == row.length) {
+            row = Arrays.copyOf(row, Math.max(4, degree * 2));
+            adjacency[slot] = row;
+        }
+        row[degree] = neighbor;
+        degrees[slot] = degree + 1;
+    }
+
+    private boolean removeFromRow(int slot, int neighbor) {
+        int[] row = adjacency[slot];
+        int degree = degrees[slot];
+        for (int i = 0; i < degree; i++) {
+            if (row[i] == neighbor) {
+                row[i] = row[degree - 1];
+                degrees[slot] = degree - 1;
+                return true;
+            }
+        }
+        return false;
+    }
+}
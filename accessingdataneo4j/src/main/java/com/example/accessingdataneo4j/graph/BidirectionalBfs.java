@@ -0,0 +1,164 @@
+package com.example.accessingdataneo4j.graph;
+
+/**
+ * Bidirectional breadth-first search over a {@link GraphSnapshot}.
+ *
+ * Both sides grow level by level, always expanding the smaller frontier, and stop
+ * at the first node seen from both ends. Queues and parents are int[] and visited
+ * sets are bitsets; all scratch space is allocated once per instance and only the
+ * visited bits are cleared between searches, so one instance can answer many
+ * queries cheaply. Instances are not thread-safe; use one per thread.
+ */
+public final class BidirectionalBfs {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private final GraphSnapshot graph;
+    private final int[] offsets;
+    private final int[] neighbors;
+
+    private final long[] seenForward;
+    private final long[] seenBackward;
+    private final int[] parentForward;
+    private final int[] parentBackward;
+    private final int[] queueForward;
+    private final int[] queueBackward;
+
+    private int touchedForward;
+    private int touchedBackward;
+
+    public BidirectionalBfs(GraphSnapshot graph) {
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.offsets = graph.offsets();
+        this.neighbors = graph.neighbors();
+        this.seenForward = new long[(n + 63) >>> 6];
+        this.seenBackward = new long[(n + 63) >>> 6];
+        this.parentForward = new int[n];
+        this.parentBackward = new int[n];
+        this.queueForward = new int[n];
+        this.queueBackward = new int[n];
+    }
+
+    public GraphSnapshot graph() {
+        return graph;
+    }
+
+    /**
+     * Shortest path between two Neo4j ids as snapshot indexes, or an empty array if
+     * either id is unknown or they are not connected
+     */
+    public int[] shortestPathByIds(long fromId, long toId) {
+        int source = graph.indexOf(fromId);
+        int target = graph.indexOf(toId);
+        if (source < 0 || target < 0) return NO_PATH;
+        return shortestPath(source, target);
+    }
+
+    /**
+     * Shortest path between two snapshot indexes, source first
+     */
+    public int[] shortestPath(int source, int target) {
+        if (source == target) return new int[] {source};
+        try {
+            return search(source, target);
+        } finally {
+            reset();
+        }
+    }
+
+    private int[] search(int source, int target) {
+        // Each queue holds every node its side has seen; [levelStart, tail) is the frontier
+        int headF = 0, tailF = 0, headB = 0, tailB = 0;
+        queueForward[tailF++] = source;
+        mark(seenForward, source);
+        parentForward[source] = -1;
+        queueBackward[tailB++] = target;
+        mark(seenBackward, target);
+        parentBackward[target] = -1;
+
+        while (headF < tailF && headB < tailB) {
+            boolean forward = frontierCost(queueForward, headF, tailF) <= frontierCost(queueBackward, headB, tailB);
+            if (forward) {
+                int levelEnd = tailF;
+                for (; headF < levelEnd; headF++) {
+                    int u = queueForward[headF];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = neighbors[e];
+                        if (isMarked(seenForward, v)) continue;
+                        mark(seenForward, v);
+                        parentForward[v] = u;
+                        queueForward[tailF++] = v;
+                        if (isMarked(seenBackward, v)) {
+                            touchedForward = tailF;
+                            touchedBackward = tailB;
+                            return joinAt(v);
+                        }
+                    }
+                }
+            } else {
+                int levelEnd = tailB;
+                for (; headB < levelEnd; headB++) {
+                    int u = queueBackward[headB];
+                    for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                        int v = neighbors[e];
+                        if (isMarked(seenBackward, v)) continue;
+                        mark(seenBackward, v);
+                        parentBackward[v] = u;
+                        queueBackward[tailB++] = v;
+                        if (isMarked(seenForward, v)) {
+                            touchedForward = tailF;
+                            touchedBackward = tailB;
+                            return joinAt(v);
+                        }
+                    }
+                }
+            }
+        }
+        touchedForward = tailF;
+        touchedBackward = tailB;
+        return NO_PATH;
+    }
+
+    private int[] joinAt(int meet) {
+        int forwardHops = 0;
+        for (int step = meet; parentForward[step] >= 0; step = parentForward[step]) forwardHops++;
+        int backwardHops = 0;
+        for (int step = meet; parentBackward[step] >= 0; step = parentBackward[step]) backwardHops++;
+
+        int[] path = new int[forwardHops + backwardHops + 1];
+        int i = forwardHops;
+        for (int step = meet; step >= 0; step = parentForward[step]) path[i--] = step;
+        i = forwardHops + 1;
+        for (int step = parentBackward[meet]; step >= 0; step = parentBackward[step]) path[i++] = step;
+        return path;
+    }
+
+    private long frontierCost(int[] queue, int from, int to) {
+        long cost = 0;
+        for (int i = from; i < to; i++) {
+            int u = queue[i];
+            cost += offsets[u + 1] - offsets[u];
+        }
+        return cost;
+    }
+
+    private void reset() {
+        for (int i = 0; i < touchedForward; i++) clear(seenForward, queueForward[i]);
+        for (int i = 0; i < touchedBackward; i++) clear(seenBackward, queueBackward[i]);
+        touchedForward = 0;
+        touchedBackward = 0;
+    }
+
+    private static void mark(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+
+    private static boolean isMarked(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+}
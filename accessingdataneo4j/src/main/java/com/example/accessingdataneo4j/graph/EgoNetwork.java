@@ -0,0 +1,135 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.Arrays;
+
+/**
+ * Depth-bounded, degree-capped neighborhood of one person in a {@link GraphSnapshot}.
+ *
+ * A breadth-first search from the center stops at maxDepth hops or limit nodes, whichever
+ * comes first. People with more than hubDegree teammates are included but not expanded,
+ * so one manager who knows everyone cannot pull the whole graph into a two-hop view; the
+ * center is always expanded. Visited nodes are tracked in a hash map rather than an
+ * n-sized array, so the work and the result are proportional to the neighborhood, not
+ * to the graph: at most limit nodes, and the center's row plus at most hubDegree
+ * adjacency entries per other node are read.
+ */
+public final class EgoNetwork {
+
+    /**
+     * Nodes in BFS order (center first) with their hop distance, and the edges between them.
+     * Edge k joins nodes[edges[2k]] and nodes[edges[2k + 1]]; both are positions in nodes.
+     */
+    public record Neighborhood(int[] nodes, int[] depths, int[] edges, boolean truncated, int prunedHubs) {
+
+        public int nodeCount() {
+            return nodes.length;
+        }
+
+        public int edgeCount() {
+            return edges.length / 2;
+        }
+    }
+
+    private EgoNetwork() {
+    }
+
+    public static Neighborhood expand(GraphSnapshot graph, int center, int maxDepth, int limit, int hubDegree) {
+        if (center < 0 || center >= graph.nodeCount()) throw new IllegalArgumentException("Unknown node: " + center);
+        if (maxDepth < 0) throw new IllegalArgumentException("depth must not be negative");
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+
+        // Snapshot index -> position in nodes
+        LongIntHashMap position = new LongIntHashMap(Math.min(limit, 1024));
+        int[] nodes = new int[Math.min(limit, 64)];
+        int[] depths = new int[nodes.length];
+        int size = 0;
+        nodes[size] = center;
+        depths[size] = 0;
+        position.put(center, size++);
+
+        boolean truncated = false;
+        int prunedHubs = 0;
+        for (int head = 0; head < size && !truncated; head++) {
+            int u = nodes[head];
+            int depth = depths[head];
+            // BFS order: once one node is at maxDepth, all remaining ones are
+            if (depth == maxDepth) break;
+            if (u != center && graph.degree(u) > hubDegree) {
+                prunedHubs++;
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = neighbors[e];
+                if (position.containsKey(v)) continue;
+                if (size == limit) {
+                    truncated = true;
+                    break;
+                }
+                if (size == nodes.length) {
+                    int capacity = (int) Math.min(limit, 2L * size);
+                    nodes = Arrays.copyOf(nodes, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                }
+                nodes[size] = v;
+                depths[size] = depth + 1;
+                position.put(v, size++);
+            }
+        }
+        nodes = Arrays.copyOf(nodes, size);
+        depths = Arrays.copyOf(depths, size);
+        return new Neighborhood(nodes, depths, edgesWithin(graph, nodes, position, hubDegree), truncated, prunedHubs);
+    }
+
+    /**
+     * Every edge between two included nodes, once. Rows of ordinary nodes are scanned; an
+     * edge between two hubs is found by a binary search in the shorter of the two rows,
+     * so no hub row is ever scanned in full.
+     */
+    private static int[] edgesWithin(GraphSnapshot graph, int[] nodes, LongIntHashMap position, int hubDegree) {
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int[] edges = new int[16];
+        int size = 0;
+
+        int[] hubs = new int[0];
+        int hubCount = 0;
+        for (int p = 0; p < nodes.length; p++) {
+            int u = nodes[p];
+            if (!scanned(graph, u, nodes[0], hubDegree)) {
+                if (hubCount == hubs.length) hubs = Arrays.copyOf(hubs, Math.max(8, 2 * hubCount));
+                hubs[hubCount++] = p;
+                continue;
+            }
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int q = position.get(neighbors[e]);
+                if (q == LongIntHashMap.MISSING) continue;
+                // Between two scanned nodes, the lower position emits the edge
+                if (q < p && scanned(graph, nodes[q], nodes[0], hubDegree)) continue;
+                if (size + 2 > edges.length) edges = Arrays.copyOf(edges, 2 * edges.length);
+                edges[size++] = p;
+                edges[size++] = q;
+            }
+        }
+
+        for (int a = 0; a < hubCount; a++) {
+            for (int b = a + 1; b < hubCount; b++) {
+                int u = nodes[hubs[a]];
+                int v = nodes[hubs[b]];
+                boolean adjacent = graph.degree(u) <= graph.degree(v)
+                    ? Arrays.binarySearch(neighbors, offsets[u], offsets[u + 1], v) >= 0
+                    : Arrays.binarySearch(neighbors, offsets[v], offsets[v + 1], u) >= 0;
+                if (!adjacent) continue;
+                if (size + 2 > edges.length) edges = Arrays.copyOf(edges, 2 * edges.length);
+                edges[size++] = hubs[a];
+                edges[size++] = hubs[b];
+            }
+        }
+        return Arrays.copyOf(edges, size);
+    }
+
+    private static boolean scanned(GraphSnapshot graph, int node, int center, int hubDegree) {
+        return node == center || graph.degree(node) <= hubDegree;
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Whole-graph algorithms over a {@link GraphSnapshot}.
+ *
+ * Parallel steps use parallel streams, so they run in whichever fork-join pool
+ * invokes them; callers that must not starve the common pool should call these
+ * from a task submitted to their own pool.
+ */
+public final class GraphAlgorithms {
+
+    private GraphAlgorithms() {
+    }
+
+    // BETWEENNESS (Brandes)
+
+    /**
+     * Betweenness centrality with Brandes' algorithm, accumulated from the given source
+     * nodes. Passing every node gives exact scores; a uniform sample gives an estimate,
+     * which is scaled up by n / sources.length. Scores count each unordered pair once.
+     *
+     * The sources are split into one contiguous chunk per pool thread, and each chunk runs
+     * on a single worker, so at most parallelism sets of n-sized buffers are allocated
+     * however the stream would otherwise split.
+     */
+    public static double[] betweenness(GraphSnapshot graph, int[] sources) {
+        int n = graph.nodeCount();
+        if (n == 0 || sources.length == 0) return new double[n];
+
+        int parallelism = ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+        int chunks = Math.max(1, Math.min(parallelism, sources.length));
+        BrandesWorker total = IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    BrandesWorker worker = new BrandesWorker(graph);
+                    int from = (int) ((long) sources.length * chunk / chunks);
+                    int to = (int) ((long) sources.length * (chunk + 1) / chunks);
+                    for (int i = from; i < to; i++) worker.accumulate(sources[i]);
+                    return worker;
+                })
+                .reduce(BrandesWorker::merge)
+                .orElseThrow();
+
+        double scale = (double) n / sources.length / 2.0;
+        double[] scores = total.centrality;
+        for (int i = 0; i < n; i++) scores[i] *= scale;
+        return scores;
+    }
+
+    /**
+     * Pick up to sampleSize distinct source nodes uniformly at random; all nodes when
+     * sampleSize is zero or not smaller than the graph
+     */
+    public static int[] sampleSources(GraphSnapshot graph, int sampleSize, long seed) {
+        int n = graph.nodeCount();
+        int[] all = IntStream.range(0, n).toArray();
+        if (sampleSize <= 0 || sampleSize >= n) return all;
+        Random random = new Random(seed);
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(n - i);
+            int tmp = all[i];
+            all[i] = all[j];
+            all[j] = tmp;
+        }
+        return Arrays.copyOf(all, sampleSize);
+    }
+
+    private static final class BrandesWorker {
+        private final int[] offsets;
+        private final int[] neighbors;
+        private final double[] centrality;
+        private final int[] distance;
+        private final double[] paths;
+        private final double[] dependency;
+        private final int[] order;
+
+        BrandesWorker(GraphSnapshot graph) {
+            int n = graph.nodeCount();
+            this.offsets = graph.offsets();
+            this.neighbors = graph.neighbors();
+            this.centrality = new double[n];
+            this.distance = new int[n];
+            this.paths = new double[n];
+            this.dependency = new double[n];
+            this.order = new int[n];
+            Arrays.fill(distance, -1);
+        }
+
+        void accumulate(int source) {
+            // BFS from source; order doubles as the queue and, reversed, as Brandes' stack
+            int head = 0;
+            int tail = 0;
+            order[tail++] = source;
+            distance[source] = 0;
+            paths[source] = 1;
+            while (head < tail) {
+                int v = order[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int w = neighbors[e];
+                    if (distance[w] < 0) {
+                        distance[w] = distance[v] + 1;
+                        order[tail++] = w;
+                    }
+                    if (distance[w] == distance[v] + 1) paths[w] += paths[v];
+                }
+            }
+
+            // Back-propagate dependencies; predecessors are neighbors one level closer
+            for (int i = tail - 1; i > 0; i--) {
+                int w = order[i];
+                double coefficient = (1 + dependency[w]) / paths[w];
+                for (int e = offsets[w]; e < offsets[w + 1]; e++) {
+                    int v = neighbors[e];
+                    if (distance[v] == distance[w] - 1) dependency[v] += paths[v] * coefficient;
+                }
+                centrality[w] += dependency[w];
+            }
+
+            for (int i = 0; i < tail; i++) {
+                int v = order[i];
+                distance[v] = -1;
+                paths[v] = 0;
+                dependency[v] = 0;
+            }
+        }
+
+        BrandesWorker merge(BrandesWorker other) {
+            for (int i = 0; i < centrality.length; i++) centrality[i] += other.centrality[i];
+            return this;
+        }
+    }
+
+    // PAGERANK
+
+    /**
+     * PageRank by power iteration, treating each undirected edge as two directed links.
+     * Isolated nodes redistribute their rank uniformly. Scores sum to 1.
+     */
+    public static double[] pageRank(GraphSnapshot graph, double damping, int maxIterations, double tolerance) {
+        int n = graph.nodeCount();
+        if (n == 0) return new double[0];
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] share = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double dangling = 0;
+            for (int v = 0; v < n; v++) {
+                int degree = offsets[v + 1] - offsets[v];
+                if (degree == 0) {
+                    dangling += rank[v];
+                    share[v] = 0;
+                } else {
+                    share[v] = rank[v] / degree;
+                }
+            }
+            double base = (1 - damping) / n + damping * dangling / n;
+            double[] current = rank;
+            double[] target = next;
+            IntStream.range(0, n).parallel().forEach(v -> {
+                double sum = 0;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) sum += share[neighbors[e]];
+                target[v] = base + damping * sum;
+            });
+
+            double delta = 0;
+            for (int v = 0; v < n; v++) delta += Math.abs(target[v] - current[v]);
+            rank = target;
+            next = current;
+            if (delta < tolerance) break;
+        }
+        return rank;
+    }
+
+    // CONNECTED COMPONENTS (union-find)
+
+    /**
+     * Component id per node, numbered 0..k-1 in order of each component's lowest node index
+     */
+    public static int[] connectedComponents(GraphSnapshot graph) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int[] parent = new int[n];
+        int[] size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = neighbors[e];
+                if (w > v) union(parent, size, v, w);
+            }
+        }
+
+        int[] component = new int[n];
+        int[] idOfRoot = new int[n];
+        Arrays.fill(idOfRoot, -1);
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int root = find(parent, v);
+            if (idOfRoot[root] < 0) idOfRoot[root] = next++;
+            component[v] = idOfRoot[root];
+        }
+        return component;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    private static void union(int[] parent, int[] size, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA == rootB) return;
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+    }
+
+    // COMMUNITIES (label propagation)
+
+    /**
+     * Synchronous label propagation: each round every node adopts the most common label
+     * among itself and its neighbors (ties go to the smallest label). Stops when no label
+     * changes or after maxIterations. Returns community ids numbered 0..k-1.
+     */
+    public static int[] labelPropagation(GraphSnapshot graph, int maxIterations) {
+        int n = graph.nodeCount();
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+        int[] labels = IntStream.range(0, n).toArray();
+        int[] next = new int[n];
+        ThreadLocal<int[]> buffers = ThreadLocal.withInitial(() -> new int[16]);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            int[] current = labels;
+            int[] target = next;
+            long changed = IntStream.range(0, n).parallel().filter(v -> {
+                int degree = offsets[v + 1] - offsets[v];
+                int[] votes = buffers.get();
+                if (votes.length < degree + 1) {
+                    votes = new int[Math.max(degree + 1, votes.length * 2)];
+                    buffers.set(votes);
+                }
+                votes[0] = current[v];
+                for (int e = 0; e < degree; e++) votes[e + 1] = current[neighbors[offsets[v] + e]];
+                target[v] = mostCommon(votes, degree + 1);
+                return target[v] != current[v];
+            }).count();
+            labels = target;
+            next = current;
+            if (changed == 0) break;
+        }
+
+        int[] idOfLabel = new int[n];
+        Arrays.fill(idOfLabel, -1);
+        int[] community = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (idOfLabel[labels[v]] < 0) idOfLabel[labels[v]] = count++;
+            community[v] = idOfLabel[labels[v]];
+        }
+        return community;
+    }
+
+    private static int mostCommon(int[] values, int length) {
+        Arrays.sort(values, 0, length);
+        int best = values[0];
+        int bestRun = 0;
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            run = i > 0 && values[i] == values[i - 1] ? run + 1 : 1;
+            if (run > bestRun) {
+                bestRun = run;
+                best = values[i];
+            }
+        }
+        return best;
+    }
+
+    // HELPERS
+
+    /**
+     * Indexes of the k largest scores, largest first; equal scores keep index order.
+     * Keeps a k-sized min-heap of indexes rather than sorting all n scores.
+     */
+    public static int[] topIndexes(double[] scores, int k) {
+        int size = 0;
+        int[] heap = new int[Math.max(0, Math.min(k, scores.length))];
+        if (heap.length == 0) return heap;
+        for (int i = 0; i < scores.length; i++) {
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, scores);
+            } else if (ranksBelow(heap[0], i, scores)) {
+                heap[0] = i;
+                siftDown(heap, size, scores);
+            }
+        }
+        // Popping the weakest entry fills the result from the back
+        int[] top = new int[size];
+        while (size > 0) {
+            top[size - 1] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, scores);
+        }
+        return top;
+    }
+
+    private static boolean ranksBelow(int a, int b, double[] scores) {
+        int c = Double.compare(scores[a], scores[b]);
+        return c < 0 || (c == 0 && a > b);
+    }
+
+    private static void siftUp(int[] heap, int i, double[] scores) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksBelow(heap[i], heap[parent], scores)) return;
+            int tmp = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = tmp;
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] scores) {
+        int i = 0;
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && ranksBelow(heap[left], heap[weakest], scores)) weakest = left;
+            if (right < size && ranksBelow(heap[right], heap[weakest], scores)) weakest = right;
+            if (weakest == i) return;
+            int tmp = heap[i];
+            heap[i] = heap[weakest];
+            heap[weakest] = tmp;
+            i = weakest;
+        }
+    }
+
+    /**
+     * Number of members per group id, for ids numbered 0..k-1
+     */
+    public static int[] groupSizes(int[] groupOf) {
+        int groups = 0;
+        for (int g : groupOf) groups = Math.max(groups, g + 1);
+        int[] sizes = new int[groups];
+        for (int g : groupOf) sizes[g]++;
+        return sizes;
+    }
+}
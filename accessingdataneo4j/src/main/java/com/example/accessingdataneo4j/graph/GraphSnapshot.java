@@ -0,0 +1,119 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, compact view of the Person/TEAMMATE graph.
+ *
+ * Nodes are dense indexes 0..n-1 ordered by Neo4j id, so {@link #indexOf(long)}
+ * is a binary search. Adjacency is stored CSR-style: the neighbors of node i are
+ * neighbors[offsets[i] .. offsets[i + 1]), sorted ascending. TEAMMATE is treated
+ * as undirected, so every edge appears once in each endpoint's row.
+ *
+ * The arrays returned by the raw accessors are shared; callers must not modify them.
+ */
+public final class GraphSnapshot {
+
+    public static final GraphSnapshot EMPTY = new GraphSnapshot(
+            new long[0], new int[1], new int[0], new int[0], new String[0],
+            new String[0], new String[0], 0L);
+
+    private final long[] ids;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final int[] roleIds;
+    private final String[] roles;
+    private final String[] names;
+    private final String[] emails;
+    private final long version;
+
+    GraphSnapshot(long[] ids, int[] offsets, int[] neighbors, int[] roleIds, String[] roles,
+                  String[] names, String[] emails, long version) {
+        this.ids = ids;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.roleIds = roleIds;
+        this.roles = roles;
+        this.names = names;
+        this.emails = emails;
+        this.version = version;
+    }
+
+    // Structure
+
+    public int nodeCount() {
+        return ids.length;
+    }
+
+    public long edgeCount() {
+        return neighbors.length / 2;
+    }
+
+    /**
+     * Monotonic stamp of the mutation this snapshot was frozen at
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Dense index of a Neo4j id, or -1 if the node is not in the snapshot
+     */
+    public int indexOf(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? index : -1;
+    }
+
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public long[] ids() {
+        return ids;
+    }
+
+    public int[] offsets() {
+        return offsets;
+    }
+
+    public int[] neighbors() {
+        return neighbors;
+    }
+
+    // Attributes
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public String name(int index) {
+        return names[index];
+    }
+
+    public String email(int index) {
+        return emails[index];
+    }
+
+    /**
+     * Interned role string, or null when the person has no role
+     */
+    public String role(int index) {
+        int roleId = roleIds[index];
+        return roleId >= 0 ? roles[roleId] : null;
+    }
+
+    /**
+     * Role dictionary code, or -1 when the person has no role
+     */
+    public int roleId(int index) {
+        return roleIds[index];
+    }
+
+    public int roleCount() {
+        return roles.length;
+    }
+
+    public String roleName(int roleId) {
+        return roles[roleId];
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from primitive long keys to int values.
+ * Avoids boxing node ids into Long/Integer on graph hot paths.
+ * Not thread-safe.
+ */
+public final class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / 0.6f) + 1) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Get the value for a key, or {@link #MISSING} if absent
+     */
+    public int get(long key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            long k = keys[slot];
+            if (k == EMPTY) return MISSING;
+            if (k == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Put a value, returning the previous value or {@link #MISSING}
+     */
+    public int put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key not supported: " + key);
+        }
+        int slot = mix(key) & mask;
+        while (true) {
+            long k = keys[slot];
+            if (k == EMPTY) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size > resizeAt) rehash(keys.length << 1);
+                return MISSING;
+            }
+            if (k == key) {
+                int old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Add delta to the value for a key (absent keys start at zero) and return the new value
+     */
+    public int addTo(long key, int delta) {
+        int slot = mix(key) & mask;
+        while (true) {
+            long k = keys[slot];
+            if (k == EMPTY) {
+                put(key, delta);
+                return delta;
+            }
+            if (k == key) {
+                values[slot] += delta;
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove a key, returning its value or {@link #MISSING}
+     */
+    public int remove(long key) {
+        int slot = mix(key) & mask;
+        while (true) {
+            long k = keys[slot];
+            if (k == EMPTY) return MISSING;
+            if (k == key) break;
+            slot = (slot + 1) & mask;
+        }
+        int old = values[slot];
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int ideal = mix(keys[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return old;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Visit every entry; iteration order is unspecified
+     */
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) visitor.accept(keys[i], values[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long key, int value);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * 0.6f);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
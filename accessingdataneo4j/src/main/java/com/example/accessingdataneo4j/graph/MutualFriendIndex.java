@@ -0,0 +1,207 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Materialized mutual-friend counts for the TEAMMATE graph.
+ *
+ * For every person the index keeps a primitive map from other person ids to the
+ * number of teammates they share. Counts are maintained incrementally: adding or
+ * removing edge (a, b) only touches pairs involving a or b, i.e. O(deg(a) + deg(b)).
+ * Suggestions are then read straight from one row with a bounded top-k heap.
+ *
+ * Update methods are called after the matching {@link AdjacencyGraph} mutation.
+ * Not thread-safe; callers serialize access together with the graph.
+ */
+public final class MutualFriendIndex {
+
+    private final LongIntHashMap rowById = new LongIntHashMap();
+    private LongIntHashMap[] rows = new LongIntHashMap[16];
+    private int rowCount;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    public record Suggestion(long id, String name, int mutualFriends, double score) {
+    }
+
+    /**
+     * Rebuild all counts from the graph: every pair of neighbors of a node shares that node
+     */
+    public void build(AdjacencyGraph graph) {
+        clear();
+        for (long id : graph.nodeIds()) {
+            long[] neighbors = graph.neighborIds(id);
+            for (int i = 0; i < neighbors.length; i++) {
+                for (int j = i + 1; j < neighbors.length; j++) {
+                    increment(neighbors[i], neighbors[j], 1);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        rowById.clear();
+        Arrays.fill(rows, 0, rowCount, null);
+        rowCount = 0;
+        freeCount = 0;
+    }
+
+    /**
+     * Edge (a, b) was added: b now shares a with a's other neighbors, and vice versa
+     */
+    public void edgeAdded(AdjacencyGraph graph, long a, long b) {
+        adjustAround(graph, a, b, 1);
+    }
+
+    /**
+     * Edge (a, b) was removed: undo what {@link #edgeAdded} counted
+     */
+    public void edgeRemoved(AdjacencyGraph graph, long a, long b) {
+        adjustAround(graph, a, b, -1);
+    }
+
+    /**
+     * Drop a node's row; its edges must already have been removed through {@link #edgeRemoved}
+     */
+    public void nodeRemoved(long id) {
+        int row = rowById.remove(id);
+        if (row == LongIntHashMap.MISSING) return;
+        rows[row] = null;
+        if (freeCount == freeRows.length) freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+        freeRows[freeCount++] = row;
+    }
+
+    public int mutualCount(long a, long b) {
+        int row = rowById.get(a);
+        if (row == LongIntHashMap.MISSING) return 0;
+        int count = rows[row].get(b);
+        return count == LongIntHashMap.MISSING ? 0 : count;
+    }
+
+    /**
+     * Best k non-teammates of a person, by mutual friends. When roleWeight is positive,
+     * candidates sharing the person's role score mutualFriends * (1 + roleWeight).
+     */
+    public List<Suggestion> topK(AdjacencyGraph graph, long id, int k, double roleWeight) {
+        int row = rowById.get(id);
+        if (row == LongIntHashMap.MISSING || k <= 0) return List.of();
+        int myRole = graph.roleIdOf(id);
+
+        // Min-heap on score keeps the k best seen so far; never more slots than candidates
+        int slots = Math.min(k, rows[row].size());
+        long[] heapIds = new long[slots];
+        int[] heapMutuals = new int[slots];
+        double[] heapScores = new double[slots];
+        int[] size = new int[1];
+
+        rows[row].forEach((candidate, mutual) -> {
+            if (candidate == id || graph.containsEdge(id, candidate)) return;
+            int role = graph.roleIdOf(candidate);
+            double score = roleWeight > 0 && role >= 0 && role == myRole ? mutual * (1 + roleWeight) : mutual;
+            if (size[0] < slots) {
+                int i = size[0]++;
+                heapIds[i] = candidate;
+                heapMutuals[i] = mutual;
+                heapScores[i] = score;
+                siftUp(heapIds, heapMutuals, heapScores, i);
+            } else if (better(score, candidate, heapScores[0], heapIds[0])) {
+                heapIds[0] = candidate;
+                heapMutuals[0] = mutual;
+                heapScores[0] = score;
+                siftDown(heapIds, heapMutuals, heapScores, size[0]);
+            }
+        });
+
+        // Drain the heap worst-first into a best-first list
+        Suggestion[] ordered = new Suggestion[size[0]];
+        for (int n = size[0]; n > 0; n--) {
+            ordered[n - 1] = new Suggestion(heapIds[0], graph.nameOf(heapIds[0]), heapMutuals[0], heapScores[0]);
+            heapIds[0] = heapIds[n - 1];
+            heapMutuals[0] = heapMutuals[n - 1];
+            heapScores[0] = heapScores[n - 1];
+            siftDown(heapIds, heapMutuals, heapScores, n - 1);
+        }
+        return new ArrayList<>(Arrays.asList(ordered));
+    }
+
+    // Internals
+
+    private void adjustAround(AdjacencyGraph graph, long a, long b, int delta) {
+        for (long y : graph.neighborIds(a)) {
+            if (y != b) increment(b, y, delta);
+        }
+        for (long z : graph.neighborIds(b)) {
+            if (z != a) increment(a, z, delta);
+        }
+    }
+
+    private void increment(long a, long b, int delta) {
+        bump(a, b, delta);
+        bump(b, a, delta);
+    }
+
+    private void bump(long owner, long other, int delta) {
+        int row = rowById.get(owner);
+        if (row == LongIntHashMap.MISSING) {
+            if (delta < 0) return;
+            row = allocateRow();
+            rowById.put(owner, row);
+        }
+        LongIntHashMap counts = rows[row];
+        if (counts.addTo(other, delta) <= 0) counts.remove(other);
+    }
+
+    private int allocateRow() {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            if (rowCount == rows.length) rows = Arrays.copyOf(rows, rowCount * 2);
+            row = rowCount++;
+        }
+        rows[row] = new LongIntHashMap(4);
+        return row;
+    }
+
+    // Heap ordering: lower score is "worse"; on equal scores the higher id is worse
+    private static boolean better(double score, long id, double otherScore, long otherId) {
+        return score > otherScore || (score == otherScore && id < otherId);
+    }
+
+    private static void siftUp(long[] ids, int[] mutuals, double[] scores, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores[parent], ids[parent], scores[i], ids[i])) break;
+            swap(ids, mutuals, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(long[] ids, int[] mutuals, double[] scores, int size) {
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) break;
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(scores[left], ids[left], scores[right], ids[right])) worst = right;
+            if (!better(scores[i], ids[i], scores[worst], ids[worst])) break;
+            swap(ids, mutuals, scores, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(long[] ids, int[] mutuals, double[] scores, int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        int mutual = mutuals[a];
+        mutuals[a] = mutuals[b];
+        mutuals[b] = mutual;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
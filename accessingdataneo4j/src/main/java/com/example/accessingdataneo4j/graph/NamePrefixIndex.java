@@ -0,0 +1,160 @@
+package com.example.accessingdataneo4j.graph;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix search over the names and emails in a {@link GraphSnapshot}.
+ *
+ * Every lowercase word of a person's name and email is stored once in a sorted
+ * token array, which acts as a flattened trie: all tokens under a prefix form one
+ * contiguous range, found with two binary searches. A query matches a person when
+ * each query word is a prefix of one of their words. Results are ordered by name,
+ * then id, the same order as the database listing.
+ */
+public final class NamePrefixIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final GraphSnapshot graph;
+    private final String[] tokens;
+    private final int[] nodes;
+    private final int[] nameRank;
+
+    private NamePrefixIndex(GraphSnapshot graph, String[] tokens, int[] nodes, int[] nameRank) {
+        this.graph = graph;
+        this.tokens = tokens;
+        this.nodes = nodes;
+        this.nameRank = nameRank;
+    }
+
+    public static NamePrefixIndex build(GraphSnapshot graph) {
+        int n = graph.nodeCount();
+        String[][] wordsByNode = new String[n][];
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            wordsByNode[i] = words(graph.name(i), graph.email(i));
+            total += wordsByNode[i].length;
+        }
+
+        String[] flatTokens = new String[total];
+        int[] flatNodes = new int[total];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (String word : wordsByNode[i]) {
+                flatTokens[k] = word;
+                flatNodes[k++] = i;
+            }
+        }
+        Integer[] order = new Integer[total];
+        for (int i = 0; i < total; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> {
+            int byToken = flatTokens[a].compareTo(flatTokens[b]);
+            return byToken != 0 ? byToken : Integer.compare(flatNodes[a], flatNodes[b]);
+        });
+        String[] tokens = new String[total];
+        int[] nodes = new int[total];
+        for (int i = 0; i < total; i++) {
+            tokens[i] = flatTokens[order[i]];
+            nodes[i] = flatNodes[order[i]];
+        }
+
+        // Position of each node in (name, id) order; indexes already follow id order
+        Integer[] byName = new Integer[n];
+        for (int i = 0; i < n; i++) byName[i] = i;
+        Arrays.sort(byName, (a, b) -> {
+            String nameA = graph.name(a);
+            String nameB = graph.name(b);
+            if (nameA == null || nameB == null) {
+                if (nameA != nameB) return nameA == null ? 1 : -1;
+            } else {
+                int byText = nameA.compareTo(nameB);
+                if (byText != 0) return byText;
+            }
+            return Integer.compare(a, b);
+        });
+        int[] nameRank = new int[n];
+        for (int i = 0; i < n; i++) nameRank[byName[i]] = i;
+
+        return new NamePrefixIndex(graph, tokens, nodes, nameRank);
+    }
+
+    public GraphSnapshot graph() {
+        return graph;
+    }
+
+    /**
+     * Node indexes of every person matching the query, in (name, id) order
+     */
+    public int[] search(String query) {
+        String[] words = words(query, null);
+        if (words.length == 0) return new int[0];
+
+        // Drive from the query word with the fewest tokens under it
+        int from = 0;
+        int to = tokens.length;
+        for (String word : words) {
+            int lo = lowerBound(word);
+            int hi = lowerBound(word + Character.MAX_VALUE);
+            if (hi - lo < to - from) {
+                from = lo;
+                to = hi;
+            }
+        }
+
+        int[] matches = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            int node = nodes[i];
+            if (words.length == 1 || matchesAll(node, words)) matches[count++] = node;
+        }
+
+        // Different tokens of one person can share the driving prefix ("ann annabel")
+        Integer[] ranked = new Integer[count];
+        for (int i = 0; i < count; i++) ranked[i] = matches[i];
+        Arrays.sort(ranked, (a, b) -> Integer.compare(nameRank[a], nameRank[b]));
+        int[] result = new int[count];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || result[unique - 1] != ranked[i]) result[unique++] = ranked[i];
+        }
+        return Arrays.copyOf(result, unique);
+    }
+
+    // Internals
+
+    private boolean matchesAll(int node, String[] words) {
+        String[] own = words(graph.name(node), graph.email(node));
+        for (String word : words) {
+            boolean found = false;
+            for (String token : own) {
+                if (token.startsWith(word)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) return false;
+        }
+        return true;
+    }
+
+    private int lowerBound(String key) {
+        int lo = 0;
+        int hi = tokens.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tokens[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static String[] words(String name, String email) {
+        String text = (name != null ? name : "") + " " + (email != null ? email : "");
+        return Arrays.stream(SEPARATORS.split(text.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.accessingdataneo4j.model;
+
+/**
+ * Read model: a person and their number of teammates, aggregated in Cypher
+ */
+public record ConnectionCount(Long id, String name, long connections) {
+}
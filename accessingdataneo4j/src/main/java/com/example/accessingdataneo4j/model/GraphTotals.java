@@ -0,0 +1,7 @@
+package com.example.accessingdataneo4j.model;
+
+/**
+ * Read model: headline graph counts, fetched as one scalar row
+ */
+public record GraphTotals(long people, long relationships, long peopleWithNoTeammates) {
+}
@@ -0,0 +1,7 @@
+package com.example.accessingdataneo4j.model;
+
+/**
+ * Read model: one row of the people directory, with its teammate count instead of the teammates
+ */
+public record PersonRow(Long id, String name, String email, String role, long teammates) {
+}
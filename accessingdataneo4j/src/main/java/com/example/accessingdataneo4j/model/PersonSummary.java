@@ -0,0 +1,16 @@
+package com.example.accessingdataneo4j.model;
+
+/**
+ * Read model: a person's own properties, without relationships
+ */
+public record PersonSummary(Long id, String name, String email, String role) {
+
+    /**
+     * Detached Person with these properties and no teammates
+     */
+    public Person toPerson() {
+        Person person = new Person(name, email, role);
+        person.setId(id);
+        return person;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.accessingdataneo4j.model;
+
+/**
+ * Read model: number of people holding a role, aggregated in Cypher
+ */
+public record RoleCount(String role, long count) {
+}
@@ -0,0 +1,112 @@
+package com.example.accessingdataneo4j.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes for the Person/TEAMMATE graph.
+ *
+ * Each call sends one batch as a list parameter and lets Cypher UNWIND it, so a
+ * batch costs one round trip and touches only the relationships it names, instead
+ * of SDN re-saving every relationship of both endpoints per edge.
+ * Callers control batch size and transaction boundaries.
+ */
+@Repository
+public class BulkGraphRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    @Autowired
+    public BulkGraphRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * Create people from rows with name/email/role keys; returns their ids in row order
+     */
+    public List<Long> createPeople(List<Map<String, Object>> rows) {
+        return List.copyOf(neo4jClient.query(
+                "UNWIND $rows AS row " +
+                "CREATE (p:Person) SET p.name = row.name, p.email = row.email, p.role = row.role " +
+                "RETURN id(p) AS id")
+            .bind(rows).to("rows")
+            .fetchAs(Long.class)
+            .mappedBy((typeSystem, record) -> record.get("id").asLong())
+            .all());
+    }
+
+    /**
+     * Idempotently link each (from, to) pair in both directions; returns the number of pairs matched
+     */
+    public long mergeTeammates(List<Map<String, Object>> pairs) {
+        return neo4jClient.query(
+                "UNWIND $pairs AS pair " +
+                "MATCH (p:Person) WHERE id(p) = pair.from " +
+                "MATCH (t:Person) WHERE id(t) = pair.to AND t <> p " +
+                "MERGE (p)-[:TEAMMATE]->(t) " +
+                "MERGE (t)-[:TEAMMATE]->(p) " +
+                "RETURN count(*) AS matched")
+            .bind(pairs).to("pairs")
+            .fetchAs(Long.class)
+            .mappedBy((typeSystem, record) -> record.get("matched").asLong())
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Link pairs without checking for existing relationships; only for pairs known to be new
+     */
+    public long createTeammates(List<Map<String, Object>> pairs) {
+        return neo4jClient.query(
+                "UNWIND $pairs AS pair " +
+                "MATCH (p:Person) WHERE id(p) = pair.from " +
+                "MATCH (t:Person) WHERE id(t) = pair.to " +
+                "CREATE (p)-[:TEAMMATE]->(t), (t)-[:TEAMMATE]->(p) " +
+                "RETURN count(*) AS created")
+            .bind(pairs).to("pairs")
+            .fetchAs(Long.class)
+            .mappedBy((typeSystem, record) -> record.get("created").asLong())
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Unlink each (from, to) pair in both directions; returns the number of relationships deleted
+     */
+    public long deleteTeammates(List<Map<String, Object>> pairs) {
+        return neo4jClient.query(
+                "UNWIND $pairs AS pair " +
+                "MATCH (p:Person)-[r:TEAMMATE]-(t:Person) " +
+                "WHERE id(p) = pair.from AND id(t) = pair.to " +
+                "DELETE r " +
+                "RETURN count(*) AS deleted")
+            .bind(pairs).to("pairs")
+            .fetchAs(Long.class)
+            .mappedBy((typeSystem, record) -> record.get("deleted").asLong())
+            .one()
+            .orElse(0L);
+    }
+
+    /**
+     * Detach-delete up to limit people; call repeatedly (one transaction each) to clear a large graph
+     */
+    public long deletePeopleBatch(int limit) {
+        return neo4jClient.query(
+                "MATCH (p:Person) WITH p LIMIT $limit " +
+                "DETACH DELETE p " +
+                "RETURN count(*) AS deleted")
+            .bind(limit).to("limit")
+            .fetchAs(Long.class)
+            .mappedBy((typeSystem, record) -> record.get("deleted").asLong())
+            .one()
+            .orElse(0L);
+    }
+
+    public static Map<String, Object> pair(long from, long to) {
+        return Map.of("from", from, "to", to);
+    }
+}
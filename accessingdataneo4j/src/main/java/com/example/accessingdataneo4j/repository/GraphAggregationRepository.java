@@ -0,0 +1,80 @@
+package com.example.accessingdataneo4j.repository;
+
+import com.example.accessingdataneo4j.model.ConnectionCount;
+import com.example.accessingdataneo4j.model.GraphTotals;
+import com.example.accessingdataneo4j.model.RoleCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Graph aggregations executed entirely in Cypher.
+ *
+ * Uses Neo4jClient with explicit record mappers, since SDN repository methods
+ * cannot map multi-column rows that are not entities. Every query returns a
+ * bounded number of scalar rows, so client memory does not grow with the graph.
+ */
+@Repository
+public class GraphAggregationRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    @Autowired
+    public GraphAggregationRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * People, relationship and lonely-people counts in one round trip
+     */
+    public GraphTotals totals() {
+        return neo4jClient.query(
+                "CALL { MATCH (p:Person) RETURN count(p) AS people } " +
+                "CALL { MATCH (:Person)-[r:TEAMMATE]->(:Person) RETURN count(r) / 2 AS relationships } " +
+                "CALL { MATCH (p:Person) WHERE NOT (p)-[:TEAMMATE]-() RETURN count(p) AS lonely } " +
+                "RETURN people, relationships, lonely")
+            .fetchAs(GraphTotals.class)
+            .mappedBy((typeSystem, record) -> new GraphTotals(
+                record.get("people").asLong(),
+                record.get("relationships").asLong(),
+                record.get("lonely").asLong()))
+            .one()
+            .orElse(new GraphTotals(0, 0, 0));
+    }
+
+    /**
+     * Most connected people, ranked by teammate count
+     */
+    public List<ConnectionCount> topConnectionCounts(int limit) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (p:Person) " +
+                "WITH p, COUNT { (p)-[:TEAMMATE]->() } AS connections " +
+                "RETURN id(p) AS id, p.name AS name, connections " +
+                "ORDER BY connections DESC, name " +
+                "LIMIT $limit")
+            .bind(limit).to("limit")
+            .fetchAs(ConnectionCount.class)
+            .mappedBy((typeSystem, record) -> new ConnectionCount(
+                record.get("id").asLong(),
+                record.get("name").asString(null),
+                record.get("connections").asLong()))
+            .all());
+    }
+
+    /**
+     * Head count per role, largest first; people without a role are skipped
+     */
+    public List<RoleCount> roleDistribution() {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (p:Person) WHERE p.role IS NOT NULL AND p.role <> '' " +
+                "RETURN p.role AS role, count(*) AS count " +
+                "ORDER BY count DESC, role")
+            .fetchAs(RoleCount.class)
+            .mappedBy((typeSystem, record) -> new RoleCount(
+                record.get("role").asString(),
+                record.get("count").asLong()))
+            .all());
+    }
+}
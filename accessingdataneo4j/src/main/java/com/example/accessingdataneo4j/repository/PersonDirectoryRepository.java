@@ -0,0 +1,102 @@
+package com.example.accessingdataneo4j.repository;
+
+import com.example.accessingdataneo4j.model.PersonRow;
+import org.neo4j.driver.Record;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Paged reads for the people directory.
+ *
+ * Rows are projected in Cypher rather than loaded as Person entities: an entity
+ * brings its TEAMMATE set (and theirs) along, so a page of 50 could hydrate most
+ * of the graph. Listing is keyset-paged on (name, id) over a range index, and
+ * search goes through a fulltext index; neither reads more rows than it returns.
+ */
+@Repository
+public class PersonDirectoryRepository {
+
+    public static final String NAME_INDEX = "person_name";
+    public static final String FULLTEXT_INDEX = "person_name_fulltext";
+
+    private static final String ROW =
+            "RETURN id(p) AS id, p.name AS name, p.email AS email, p.role AS role, " +
+            "COUNT { (p)-[:TEAMMATE]->() } AS teammates";
+
+    private final Neo4jClient neo4jClient;
+
+    @Autowired
+    public PersonDirectoryRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * Create the name range index and the name/email fulltext index if missing
+     */
+    public void ensureIndexes() {
+        neo4jClient.query("CREATE INDEX " + NAME_INDEX + " IF NOT EXISTS FOR (p:Person) ON (p.name)").run();
+        neo4jClient.query("CREATE FULLTEXT INDEX " + FULLTEXT_INDEX + " IF NOT EXISTS " +
+                "FOR (p:Person) ON EACH [p.name, p.email]").run();
+    }
+
+    /**
+     * People ordered by (name, id) strictly after the given key; pass "" and -1 for the
+     * first page. People without a name are not listed.
+     */
+    public List<PersonRow> pageAfter(String afterName, long afterId, int limit) {
+        return List.copyOf(neo4jClient.query(
+                "MATCH (p:Person) " +
+                "WHERE p.name >= $afterName AND (p.name > $afterName OR id(p) > $afterId) " +
+                "WITH p ORDER BY p.name, id(p) LIMIT $limit " +
+                ROW)
+            .bind(afterName).to("afterName")
+            .bind(afterId).to("afterId")
+            .bind(limit).to("limit")
+            .fetchAs(PersonRow.class)
+            .mappedBy((typeSystem, record) -> toRow(record))
+            .all());
+    }
+
+    /**
+     * Fulltext matches for a Lucene query, best first
+     */
+    public List<PersonRow> search(String luceneQuery, long skip, int limit) {
+        return List.copyOf(neo4jClient.query(
+                "CALL db.index.fulltext.queryNodes($index, $query) YIELD node AS p, score " +
+                "WITH p, score ORDER BY score DESC, p.name, id(p) SKIP $skip LIMIT $limit " +
+                ROW)
+            .bind(FULLTEXT_INDEX).to("index")
+            .bind(luceneQuery).to("query")
+            .bind(skip).to("skip")
+            .bind(limit).to("limit")
+            .fetchAs(PersonRow.class)
+            .mappedBy((typeSystem, record) -> toRow(record))
+            .all());
+    }
+
+    /**
+     * Number of fulltext matches, without returning them
+     */
+    public long countSearch(String luceneQuery) {
+        return neo4jClient.query(
+                "CALL db.index.fulltext.queryNodes($index, $query) YIELD node " +
+                "RETURN count(node)")
+            .bind(FULLTEXT_INDEX).to("index")
+            .bind(luceneQuery).to("query")
+            .fetchAs(Long.class)
+            .one()
+            .orElse(0L);
+    }
+
+    private static PersonRow toRow(Record record) {
+        return new PersonRow(
+            record.get("id").asLong(),
+            record.get("name").asString(null),
+            record.get("email").asString(null),
+            record.get("role").asString(null),
+            record.get("teammates").asLong());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.accessingdataneo4j.repository;
+
+import com.example.accessingdataneo4j.model.PersonSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shallow person lookups for the person cache.
+ *
+ * Loading a Person entity also loads its TEAMMATE set, recursively, so these
+ * queries read only a node's own properties or its neighbor ids.
+ */
+@Repository
+public class PersonLookupRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    @Autowired
+    public PersonLookupRepository(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    /**
+     * Properties of the given people keyed by id; unknown ids are absent
+     */
+    public Map<Long, PersonSummary> findSummaries(Collection<? extends Long> ids) {
+        Map<Long, PersonSummary> result = new HashMap<>();
+        neo4jClient.query(
+                "MATCH (p:Person) WHERE id(p) IN $ids " +
+                "RETURN id(p) AS id, p.name AS name, p.email AS email, p.role AS role")
+            .bind(ids).to("ids")
+            .fetchAs(PersonSummary.class)
+            .mappedBy((typeSystem, record) -> new PersonSummary(
+                record.get("id").asLong(),
+                record.get("name").asString(null),
+                record.get("email").asString(null),
+                record.get("role").asString(null)))
+            .all()
+            .forEach(summary -> result.put(summary.id(), summary));
+        return result;
+    }
+
+    /**
+     * Ids of a person's teammates, in ascending order
+     */
+    public long[] findTeammateIds(long personId) {
+        return neo4jClient.query(
+                "MATCH (p:Person)-[:TEAMMATE]->(t:Person) WHERE id(p) = $personId " +
+                "RETURN id(t) AS id ORDER BY id")
+            .bind(personId).to("personId")
+            .fetchAs(Long.class)
+            .all()
+            .stream()
+            .mapToLong(Long::longValue)
+            .toArray();
+    }
+}
@@ -59,6 +59,18 @@ public interface PersonRepository extends Neo4jRepository<Person, Long> {
     @Query("MATCH (p:Person) RETURN count(p)")
     Long countAllPeople();
 
+    /**
+     * Custom query: Count teammate relationships (stored once per direction)
+     */
+    @Query("MATCH (:Person)-[r:TEAMMATE]->(:Person) RETURN count(r) / 2")
+    Long countTeammateRelationships();
+
+    /**
+     * Custom query: Count people with no teammates without loading them
+     */
+    @Query("MATCH (p:Person) WHERE NOT (p)-[:TEAMMATE]-() RETURN count(p)")
+    Long countPeopleWithNoTeammates();
+
     /**
      * Custom query: Find people with no teammates
      */
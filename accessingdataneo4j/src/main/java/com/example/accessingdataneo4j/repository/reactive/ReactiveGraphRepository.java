@@ -0,0 +1,83 @@
+package com.example.accessingdataneo4j.repository.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Graph reads as reactive streams.
+ *
+ * Records are pulled from the driver in batches as the subscriber requests them,
+ * so a slow client slows the query down instead of buffering the graph in memory.
+ */
+@Repository
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveGraphRepository {
+
+    private final ReactiveNeo4jClient neo4jClient;
+
+    @Autowired
+    public ReactiveGraphRepository(ReactiveNeo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    public record GraphNode(long id, String label, String role) {
+    }
+
+    public record GraphEdge(long from, long to) {
+    }
+
+    public record Suggestion(long id, String name, long mutualFriends) {
+    }
+
+    /**
+     * Every person as a vis.js node
+     */
+    public Flux<GraphNode> nodes() {
+        return neo4jClient.query(
+                "MATCH (p:Person) " +
+                "RETURN id(p) AS id, p.name AS name, p.role AS role")
+            .fetchAs(GraphNode.class)
+            .mappedBy((typeSystem, record) -> new GraphNode(
+                record.get("id").asLong(),
+                record.get("name").asString(null),
+                record.get("role").asString("Unknown")))
+            .all();
+    }
+
+    /**
+     * Every TEAMMATE pair once, from the lower id to the higher
+     */
+    public Flux<GraphEdge> edges() {
+        return neo4jClient.query(
+                "MATCH (a:Person)-[:TEAMMATE]->(b:Person) WHERE id(a) < id(b) " +
+                "RETURN id(a) AS from, id(b) AS to")
+            .fetchAs(GraphEdge.class)
+            .mappedBy((typeSystem, record) -> new GraphEdge(
+                record.get("from").asLong(),
+                record.get("to").asLong()))
+            .all();
+    }
+
+    /**
+     * Non-teammates sharing the most teammates with a person, best first
+     */
+    public Flux<Suggestion> suggestions(long personId, int limit) {
+        return neo4jClient.query(
+                "MATCH (p:Person)-[:TEAMMATE]-(f:Person)-[:TEAMMATE]-(c:Person) " +
+                "WHERE id(p) = $personId AND c <> p AND NOT (p)-[:TEAMMATE]-(c) " +
+                "WITH c, count(DISTINCT f) AS mutualFriends " +
+                "ORDER BY mutualFriends DESC, id(c) LIMIT $limit " +
+                "RETURN id(c) AS id, c.name AS name, mutualFriends")
+            .bind(personId).to("personId")
+            .bind(limit).to("limit")
+            .fetchAs(Suggestion.class)
+            .mappedBy((typeSystem, record) -> new Suggestion(
+                record.get("id").asLong(),
+                record.get("name").asString(null),
+                record.get("mutualFriends").asLong()))
+            .all();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.accessingdataneo4j.repository.reactive;
+
+import com.example.accessingdataneo4j.model.Person;
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive repository for Person entities, available when app.reactive.enabled=true.
+ * Kept in its own package so the blocking repository scan does not pick it up.
+ */
+@Repository
+public interface ReactivePersonRepository extends ReactiveNeo4jRepository<Person, Long> {
+}
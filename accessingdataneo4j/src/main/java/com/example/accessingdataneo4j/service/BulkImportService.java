@@ -0,0 +1,298 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.repository.BulkGraphRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Batched graph writes: bulk teammate changes, streaming people import and the
+ * building blocks used to seed large synthetic graphs.
+ *
+ * Every batch runs in its own transaction so memory and lock footprint stay bounded
+ * by app.bulk.batch-size regardless of input size.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    private final BulkGraphRepository bulkGraphRepository;
+    private final PersonGraphService personGraphService;
+    private final PersonCacheService personCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    @Autowired
+    public BulkImportService(BulkGraphRepository bulkGraphRepository,
+                             PersonGraphService personGraphService,
+                             PersonCacheService personCacheService,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${app.bulk.batch-size:10000}") int batchSize) {
+        this.bulkGraphRepository = bulkGraphRepository;
+        this.personGraphService = personGraphService;
+        this.personCacheService = personCacheService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public enum ImportFormat { CSV, NDJSON }
+
+    public record TeammateResult(long added, long removed, int batches) {
+    }
+
+    public record ImportResult(long imported, long skipped, int batches, long millis) {
+    }
+
+    // TEAMMATES
+
+    /**
+     * Add and remove teammate pairs in batches; pairs with unknown ids are ignored
+     */
+    public TeammateResult updateTeammates(long[] addFrom, long[] addTo, long[] removeFrom, long[] removeTo) {
+        long added = 0;
+        long removed = 0;
+        int batches = 0;
+        for (int start = 0; start < addFrom.length; start += batchSize) {
+            int end = Math.min(addFrom.length, start + batchSize);
+            long[] from = Arrays.copyOfRange(addFrom, start, end);
+            long[] to = Arrays.copyOfRange(addTo, start, end);
+            added += inTransaction(() -> {
+                long matched = bulkGraphRepository.mergeTeammates(pairs(from, to));
+                personGraphService.teammatesAdded(from, to);
+                personCacheService.evict(endpoints(from, to));
+                return matched;
+            });
+            batches++;
+        }
+        for (int start = 0; start < removeFrom.length; start += batchSize) {
+            int end = Math.min(removeFrom.length, start + batchSize);
+            long[] from = Arrays.copyOfRange(removeFrom, start, end);
+            long[] to = Arrays.copyOfRange(removeTo, start, end);
+            removed += inTransaction(() -> {
+                long deleted = bulkGraphRepository.deleteTeammates(pairs(from, to));
+                personGraphService.teammatesRemoved(from, to);
+                personCacheService.evict(endpoints(from, to));
+                return deleted;
+            });
+            batches++;
+        }
+        log.info("Bulk teammates: {} pairs added, {} relationships removed in {} batches", added, removed, batches);
+        return new TeammateResult(added, removed, batches);
+    }
+
+    /**
+     * Create relationships for pairs known to be new (no MERGE check); used by seeding
+     */
+    public long createNewTeammates(long[] fromIds, long[] toIds, int count) {
+        long created = 0;
+        for (int start = 0; start < count; start += batchSize) {
+            int end = Math.min(count, start + batchSize);
+            List<Map<String, Object>> batch = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                batch.add(BulkGraphRepository.pair(fromIds[i], toIds[i]));
+            }
+            created += inTransaction(() -> bulkGraphRepository.createTeammates(batch));
+        }
+        return created;
+    }
+
+    // PEOPLE
+
+    /**
+     * Stream people from CSV (header with name,email,role) or NDJSON and create them in batches
+     */
+    public ImportResult importPeople(InputStream input, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        long[] counts = new long[3]; // imported, skipped, batches
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+
+        RowSink sink = row -> {
+            Object name = row.get("name");
+            if (name == null || name.toString().isBlank()) {
+                counts[1]++;
+                return;
+            }
+            batch.add(row);
+            if (batch.size() == batchSize) {
+                counts[0] += flushPeople(batch);
+                counts[2]++;
+            }
+        };
+
+        // Batches commit one by one, so a failure part-way still leaves new people behind
+        try {
+            if (format == ImportFormat.NDJSON) {
+                readNdjson(input, sink);
+            } else {
+                readCsv(input, sink);
+            }
+            if (!batch.isEmpty()) {
+                counts[0] += flushPeople(batch);
+                counts[2]++;
+            }
+        } finally {
+            personGraphService.invalidate();
+            personCacheService.evictAll();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Imported {} people ({} skipped) in {} batches, {} ms", counts[0], counts[1], counts[2], millis);
+        return new ImportResult(counts[0], counts[1], (int) counts[2], millis);
+    }
+
+    /**
+     * Create people in batches and return their ids in input order
+     */
+    public long[] createPeople(List<Map<String, Object>> rows) {
+        long[] ids = new long[rows.size()];
+        int filled = 0;
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            List<Map<String, Object>> batch = rows.subList(start, Math.min(rows.size(), start + batchSize));
+            List<Long> created = inTransaction(() -> bulkGraphRepository.createPeople(batch));
+            for (Long id : created) ids[filled++] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Delete every person and relationship, one batch per transaction
+     */
+    public long clearGraph() {
+        long total = 0;
+        long deleted;
+        try {
+            do {
+                deleted = inTransaction(() -> bulkGraphRepository.deletePeopleBatch(batchSize));
+                total += deleted;
+            } while (deleted > 0);
+        } finally {
+            personGraphService.invalidate();
+            personCacheService.evictAll();
+        }
+        return total;
+    }
+
+    // Internals
+
+    @FunctionalInterface
+    private interface RowSink {
+        void accept(Map<String, Object> row);
+    }
+
+    private long flushPeople(List<Map<String, Object>> batch) {
+        long created = inTransaction(() -> bulkGraphRepository.createPeople(batch)).size();
+        batch.clear();
+        return created;
+    }
+
+    private void readCsv(InputStream input, RowSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) return;
+        List<String> columns = splitCsv(header).stream().map(c -> c.trim().toLowerCase()).toList();
+        int nameCol = columns.indexOf("name");
+        int emailCol = columns.indexOf("email");
+        int roleCol = columns.indexOf("role");
+        if (nameCol < 0) {
+            throw new IllegalArgumentException("CSV header must contain a 'name' column");
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) continue;
+            List<String> fields = splitCsv(line);
+            Map<String, Object> row = new HashMap<>(4);
+            row.put("name", field(fields, nameCol));
+            row.put("email", field(fields, emailCol));
+            row.put("role", field(fields, roleCol));
+            sink.accept(row);
+        }
+    }
+
+    private void readNdjson(InputStream input, RowSink sink) throws IOException {
+        try (MappingIterator<Map<String, Object>> rows = objectMapper.readerForMapOf(Object.class).readValues(input)) {
+            while (rows.hasNext()) {
+                Map<String, Object> json = rows.next();
+                Map<String, Object> row = new HashMap<>(4);
+                row.put("name", json.get("name"));
+                row.put("email", json.get("email"));
+                row.put("role", json.get("role"));
+                sink.accept(row);
+            }
+        }
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) return null;
+        String value = fields.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Minimal RFC 4180 splitting: quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static List<Map<String, Object>> pairs(long[] fromIds, long[] toIds) {
+        List<Map<String, Object>> pairs = new ArrayList<>(fromIds.length);
+        for (int i = 0; i < fromIds.length; i++) {
+            pairs.add(BulkGraphRepository.pair(fromIds[i], toIds[i]));
+        }
+        return pairs;
+    }
+
+    private static long[] endpoints(long[] fromIds, long[] toIds) {
+        long[] ids = Arrays.copyOf(fromIds, fromIds.length + toIds.length);
+        System.arraycopy(toIds, 0, ids, fromIds.length, toIds.length);
+        return ids;
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
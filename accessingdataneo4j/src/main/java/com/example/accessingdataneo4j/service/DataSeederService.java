@@ -1,23 +1,41 @@
 package com.example.accessingdataneo4j.service;
 
+import com.example.accessingdataneo4j.graph.LongIntHashMap;
 import com.example.accessingdataneo4j.model.Person;
 import com.example.accessingdataneo4j.repository.PersonRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
 @Service
 @Transactional
 public class DataSeederService {
 
     private static final Logger log = LoggerFactory.getLogger(DataSeederService.class);
+    private static final String[] SYNTHETIC_ROLES = {"Developer", "Developer", "Developer", "Designer", "QA", "DevOps", "Manager"};
     private final PersonRepository personRepository;
+    private final PersonGraphService personGraphService;
+    private final PersonCacheService personCacheService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public DataSeederService(PersonRepository personRepository) {
+    public DataSeederService(PersonRepository personRepository,
+                             PersonGraphService personGraphService,
+                             PersonCacheService personCacheService,
+                             BulkImportService bulkImportService) {
         this.personRepository = personRepository;
+        this.personGraphService = personGraphService;
+        this.personCacheService = personCacheService;
+        this.bulkImportService = bulkImportService;
     }
 
     public boolean isDatabaseEmpty() {
@@ -89,7 +107,60 @@ public class DataSeederService {
         personRepository.save(henry);
         personRepository.save(iris);
         personRepository.save(jack);
+        personGraphService.invalidate();
+        personCacheService.evictAll();
 
         log.info("Demo data seeded: 10 people with team relationships");
     }
+
+    /**
+     * Replace all data with a random graph of the given size.
+     * Runs outside the class-level transaction: BulkImportService commits one batch at a time.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void seedSyntheticGraph(int peopleCount, int edgeCount, long seed) {
+        if (peopleCount < 2 && edgeCount > 0) {
+            throw new IllegalArgumentException("At least two people are needed to create relationships");
+        }
+        long maxEdges = (long) peopleCount * (peopleCount - 1) / 2;
+        if (edgeCount > maxEdges) {
+            throw new IllegalArgumentException("At most " + maxEdges + " relationships fit between " + peopleCount + " people");
+        }
+
+        long start = System.nanoTime();
+        log.info("Seeding synthetic graph: {} people, {} relationships", peopleCount, edgeCount);
+        bulkImportService.clearGraph();
+
+        List<Map<String, Object>> rows = new ArrayList<>(peopleCount);
+        for (int i = 0; i < peopleCount; i++) {
+            Map<String, Object> row = new HashMap<>(4);
+            row.put("name", "Person " + i);
+            row.put("email", "person" + i + "@company.com");
+            row.put("role", SYNTHETIC_ROLES[i % SYNTHETIC_ROLES.length]);
+            rows.add(row);
+        }
+        long[] ids = bulkImportService.createPeople(rows);
+
+        // Draw distinct undirected pairs; the packed (lower, higher) index pair is the dedup key
+        Random random = new Random(seed);
+        LongIntHashMap seen = new LongIntHashMap(edgeCount);
+        long[] fromIds = new long[edgeCount];
+        long[] toIds = new long[edgeCount];
+        int drawn = 0;
+        while (drawn < edgeCount) {
+            int a = random.nextInt(peopleCount);
+            int b = random.nextInt(peopleCount);
+            if (a == b) continue;
+            long key = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            if (seen.put(key, 1) != LongIntHashMap.MISSING) continue;
+            fromIds[drawn] = ids[a];
+            toIds[drawn] = ids[b];
+            drawn++;
+        }
+        bulkImportService.createNewTeammates(fromIds, toIds, edgeCount);
+        personGraphService.invalidate();
+        personCacheService.evictAll();
+
+        log.info("Synthetic graph seeded in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
 }
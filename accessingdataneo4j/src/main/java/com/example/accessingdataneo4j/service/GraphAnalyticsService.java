@@ -0,0 +1,146 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.graph.GraphAlgorithms;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs whole-graph analytics (betweenness, PageRank, components, communities) in the
+ * background and caches the latest result together with the snapshot version it was
+ * computed from.
+ *
+ * Requests never wait for a computation: they read the cached result, which may be
+ * stale, and {@link #refreshIfStale()} starts at most one job at a time on a dedicated
+ * fork-join pool, so the common pool used by request-side parallel work is not starved.
+ * The running job is claimed with a compare-and-set and staleness is checked against
+ * {@link PersonGraphService#version()}, so callers never block on a monitor or on a
+ * snapshot reload.
+ */
+@Service
+public class GraphAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphAnalyticsService.class);
+    private static final double DAMPING = 0.85;
+    private static final int PAGE_RANK_ITERATIONS = 50;
+    private static final double PAGE_RANK_TOLERANCE = 1e-9;
+    private static final int LABEL_PROPAGATION_ITERATIONS = 20;
+    private static final long SAMPLE_SEED = 42;
+
+    private final PersonGraphService personGraphService;
+    private final int betweennessSamples;
+    private final ForkJoinPool pool;
+
+    private volatile AnalyticsResult latest;
+    private final AtomicReference<CompletableFuture<AnalyticsResult>> running = new AtomicReference<>();
+
+    public record AnalyticsResult(GraphSnapshot graph, double[] betweenness, boolean betweennessExact,
+                                  double[] pageRank, int[] components, int[] communities,
+                                  long computedAt, long millis) {
+
+        public long version() {
+            return graph.version();
+        }
+    }
+
+    @Autowired
+    public GraphAnalyticsService(PersonGraphService personGraphService,
+                                 @Value("${app.analytics.betweenness-samples:256}") int betweennessSamples,
+                                 @Value("${app.analytics.parallelism:0}") int parallelism) {
+        this.personGraphService = personGraphService;
+        this.betweennessSamples = betweennessSamples;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // READ
+
+    /**
+     * Latest finished result, possibly computed from an older snapshot
+     */
+    public Optional<AnalyticsResult> latest() {
+        return Optional.ofNullable(latest);
+    }
+
+    public boolean isCurrent(AnalyticsResult result) {
+        return result.version() == personGraphService.version();
+    }
+
+    public boolean isRunning() {
+        CompletableFuture<AnalyticsResult> job = running.get();
+        return job != null && !job.isDone();
+    }
+
+    // COMPUTE
+
+    /**
+     * Start a job unless the cached result matches the current snapshot or one is already running
+     */
+    public CompletableFuture<AnalyticsResult> refreshIfStale() {
+        CompletableFuture<AnalyticsResult> job = running.get();
+        if (job != null && !job.isDone()) return job;
+        AnalyticsResult current = latest;
+        if (current != null && isCurrent(current)) return CompletableFuture.completedFuture(current);
+        return refresh();
+    }
+
+    /**
+     * Start a job even if the cached result is current; joins a job that is already running
+     */
+    public CompletableFuture<AnalyticsResult> refresh() {
+        while (true) {
+            CompletableFuture<AnalyticsResult> job = running.get();
+            if (job != null && !job.isDone()) return job;
+            CompletableFuture<AnalyticsResult> next = new CompletableFuture<>();
+            if (!running.compareAndSet(job, next)) continue;
+            try {
+                CompletableFuture.supplyAsync(this::compute, pool).whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("Graph analytics failed", error);
+                        next.completeExceptionally(error);
+                    } else {
+                        latest = result;
+                        next.complete(result);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                next.completeExceptionally(e);
+            }
+            return next;
+        }
+    }
+
+    private AnalyticsResult compute() {
+        long start = System.nanoTime();
+        GraphSnapshot graph = personGraphService.snapshot();
+        int[] sources = GraphAlgorithms.sampleSources(graph, betweennessSamples, SAMPLE_SEED);
+        boolean exact = sources.length == graph.nodeCount();
+
+        // Each algorithm parallelizes internally on this pool; running them one after
+        // another keeps peak memory at one set of per-worker buffers
+        double[] betweenness = GraphAlgorithms.betweenness(graph, sources);
+        double[] pageRank = GraphAlgorithms.pageRank(graph, DAMPING, PAGE_RANK_ITERATIONS, PAGE_RANK_TOLERANCE);
+        int[] components = GraphAlgorithms.connectedComponents(graph);
+        int[] communities = GraphAlgorithms.labelPropagation(graph, LABEL_PROPAGATION_ITERATIONS);
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Graph analytics for version {} ({} nodes, {} edges, {} betweenness sources) took {} ms",
+                graph.version(), graph.nodeCount(), graph.edgeCount(), sources.length, millis);
+        return new AnalyticsResult(graph, betweenness, exact, pageRank, components, communities,
+                System.currentTimeMillis(), millis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
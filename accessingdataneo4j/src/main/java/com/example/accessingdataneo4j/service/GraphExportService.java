@@ -0,0 +1,255 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.graph.EgoNetwork;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.graph.LongIntHashMap;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Streams the team graph as vis.js-shaped JSON straight from the graph snapshot.
+ *
+ * Nodes and edges are written one at a time with a JsonGenerator, so no per-node
+ * maps or edge-key strings are built. Three modes are offered:
+ * - paged: nodes ordered by id, resumed from a cursor (the last id of the previous page);
+ *   each edge is written once, on the page of its lower-id endpoint
+ * - level-of-detail: people below a degree threshold are collapsed into one cluster
+ *   node per role, with collapsed edges merged and weighted
+ * - ego: the depth-bounded neighborhood of one person, nodes nearest first
+ */
+@Service
+public class GraphExportService {
+
+    private static final int FLUSH_EVERY = 1024;
+    private static final String NO_ROLE = "Unknown";
+
+    private final PersonGraphService personGraphService;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public GraphExportService(PersonGraphService personGraphService, ObjectMapper objectMapper) {
+        this.personGraphService = personGraphService;
+        this.objectMapper = objectMapper;
+    }
+
+    public GraphSnapshot snapshot() {
+        return personGraphService.snapshot();
+    }
+
+    /**
+     * Write one page of nodes (ids greater than cursor) and the edges they own
+     */
+    public void writePage(GraphSnapshot graph, Long cursor, int limit, OutputStream out) throws IOException {
+        int n = graph.nodeCount();
+        int start = 0;
+        if (cursor != null) {
+            int found = Arrays.binarySearch(graph.ids(), cursor);
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+        int end = (int) Math.min(n, (long) start + limit);
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+
+        try (JsonGenerator json = open(out)) {
+            json.writeStartObject();
+            json.writeNumberField("totalNodes", n);
+            json.writeNumberField("totalEdges", graph.edgeCount());
+
+            json.writeArrayFieldStart("nodes");
+            for (int i = start; i < end; i++) {
+                writeNode(json, graph, i);
+                if ((i - start) % FLUSH_EVERY == FLUSH_EVERY - 1) json.flush();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("edges");
+            int written = 0;
+            for (int i = start; i < end; i++) {
+                // Rows are sorted, so the neighbors with a higher index form a suffix
+                int from = Arrays.binarySearch(neighbors, offsets[i], offsets[i + 1], i + 1);
+                if (from < 0) from = -from - 1;
+                for (int e = from; e < offsets[i + 1]; e++) {
+                    writeEdge(json, graph.id(i), graph.id(neighbors[e]));
+                    if (++written % FLUSH_EVERY == 0) json.flush();
+                }
+            }
+            json.writeEndArray();
+
+            if (end < n) {
+                json.writeNumberField("nextCursor", graph.id(end - 1));
+            } else {
+                json.writeNullField("nextCursor");
+            }
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Write an overview where people with fewer than minDegree teammates are folded into role clusters
+     */
+    public void writeLevelOfDetail(GraphSnapshot graph, int minDegree, OutputStream out) throws IOException {
+        int n = graph.nodeCount();
+        int noRoleCluster = graph.roleCount();
+        int[] offsets = graph.offsets();
+        int[] neighbors = graph.neighbors();
+
+        // Map every person to a display vertex: itself (0..n-1) or a cluster (n + role code)
+        int[] vertexOf = new int[n];
+        int[] clusterSize = new int[noRoleCluster + 1];
+        for (int i = 0; i < n; i++) {
+            if (graph.degree(i) >= minDegree) {
+                vertexOf[i] = i;
+            } else {
+                int cluster = graph.roleId(i) >= 0 ? graph.roleId(i) : noRoleCluster;
+                clusterSize[cluster]++;
+                vertexOf[i] = n + cluster;
+            }
+        }
+
+        // Merge edges between display vertices, keyed by the packed (lower, higher) vertex pair
+        LongIntHashMap edgeWeights = new LongIntHashMap();
+        for (int i = 0; i < n; i++) {
+            for (int e = offsets[i]; e < offsets[i + 1]; e++) {
+                int j = neighbors[e];
+                if (j <= i) continue;
+                int a = vertexOf[i];
+                int b = vertexOf[j];
+                if (a == b) continue;
+                edgeWeights.addTo(((long) Math.min(a, b) << 32) | Math.max(a, b), 1);
+            }
+        }
+
+        try (JsonGenerator json = open(out)) {
+            json.writeStartObject();
+            json.writeBooleanField("lod", true);
+            json.writeNumberField("minDegree", minDegree);
+            json.writeNumberField("totalNodes", n);
+            json.writeNumberField("totalEdges", graph.edgeCount());
+
+            json.writeArrayFieldStart("nodes");
+            for (int i = 0; i < n; i++) {
+                if (vertexOf[i] == i) writeNode(json, graph, i);
+            }
+            for (int cluster = 0; cluster <= noRoleCluster; cluster++) {
+                if (clusterSize[cluster] == 0) continue;
+                String role = cluster < noRoleCluster ? graph.roleName(cluster) : NO_ROLE;
+                json.writeStartObject();
+                json.writeStringField("id", clusterId(graph, cluster));
+                json.writeStringField("label", role + " (" + clusterSize[cluster] + ")");
+                json.writeStringField("role", role);
+                json.writeBooleanField("cluster", true);
+                json.writeNumberField("memberCount", clusterSize[cluster]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("edges");
+            IOException[] failure = new IOException[1];
+            edgeWeights.forEach((pair, weight) -> {
+                if (failure[0] != null) return;
+                try {
+                    json.writeStartObject();
+                    writeVertexRef(json, "from", graph, (int) (pair >>> 32), n);
+                    writeVertexRef(json, "to", graph, (int) pair, n);
+                    json.writeNumberField("value", weight);
+                    json.writeEndObject();
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+            json.writeEndArray();
+
+            json.writeNullField("nextCursor");
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeNode(JsonGenerator json, GraphSnapshot graph, int index) throws IOException {
+        json.writeStartObject();
+        writeNodeFields(json, graph, index);
+        json.writeEndObject();
+    }
+
+    private static void writeNodeFields(JsonGenerator json, GraphSnapshot graph, int index) throws IOException {
+        String role = graph.role(index);
+        String email = graph.email(index);
+        json.writeNumberField("id", graph.id(index));
+        json.writeStringField("label", graph.name(index));
+        json.writeStringField("role", role != null ? role : NO_ROLE);
+        json.writeStringField("email", email != null ? email : "");
+        json.writeNumberField("teammateCount", graph.degree(index));
+    }
+
+    /**
+     * Write a person's neighborhood; hubs (more than hubDegree teammates) are marked and were not expanded
+     */
+    public void writeEgo(GraphSnapshot graph, EgoNetwork.Neighborhood neighborhood, int depth, int hubDegree,
+                         OutputStream out) throws IOException {
+        int[] nodes = neighborhood.nodes();
+        int[] depths = neighborhood.depths();
+        int[] edges = neighborhood.edges();
+
+        try (JsonGenerator json = open(out)) {
+            json.writeStartObject();
+            json.writeNumberField("center", graph.id(nodes[0]));
+            json.writeNumberField("depth", depth);
+            json.writeNumberField("hubDegree", hubDegree);
+            json.writeNumberField("totalNodes", graph.nodeCount());
+            json.writeNumberField("totalEdges", graph.edgeCount());
+
+            json.writeArrayFieldStart("nodes");
+            for (int p = 0; p < nodes.length; p++) {
+                json.writeStartObject();
+                writeNodeFields(json, graph, nodes[p]);
+                json.writeNumberField("depth", depths[p]);
+                if (p > 0 && graph.degree(nodes[p]) > hubDegree) json.writeBooleanField("hub", true);
+                json.writeEndObject();
+                if (p % FLUSH_EVERY == FLUSH_EVERY - 1) json.flush();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("edges");
+            for (int k = 0; k < edges.length; k += 2) {
+                writeEdge(json, graph.id(nodes[edges[k]]), graph.id(nodes[edges[k + 1]]));
+                if ((k / 2) % FLUSH_EVERY == FLUSH_EVERY - 1) json.flush();
+            }
+            json.writeEndArray();
+
+            json.writeBooleanField("truncated", neighborhood.truncated());
+            json.writeNumberField("prunedHubs", neighborhood.prunedHubs());
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeEdge(JsonGenerator json, long from, long to) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("from", from);
+        json.writeNumberField("to", to);
+        json.writeEndObject();
+    }
+
+    private static void writeVertexRef(JsonGenerator json, String field, GraphSnapshot graph,
+                                       int vertex, int n) throws IOException {
+        if (vertex < n) {
+            json.writeNumberField(field, graph.id(vertex));
+        } else {
+            json.writeStringField(field, clusterId(graph, vertex - n));
+        }
+    }
+
+    private static String clusterId(GraphSnapshot graph, int cluster) {
+        return cluster < graph.roleCount() ? "role:" + graph.roleName(cluster) : "role-unassigned";
+    }
+
+    private JsonGenerator open(OutputStream out) throws IOException {
+        // The servlet container owns the response stream
+        return objectMapper.getFactory().createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+}
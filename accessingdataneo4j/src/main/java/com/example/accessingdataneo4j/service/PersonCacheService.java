@@ -0,0 +1,156 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.model.PersonSummary;
+import com.example.accessingdataneo4j.repository.PersonLookupRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Second-level cache for person pages: each person's own properties, and their
+ * teammate ids, in two Caffeine caches.
+ *
+ * Entries are evicted after the writing transaction commits, and only for the people
+ * a write touches: both endpoints of a teammate change, or a deleted person and their
+ * former teammates. Bulk rewrites clear everything. The TTL only bounds staleness from
+ * writes made outside this application. Hit, miss and eviction counts are published to
+ * Micrometer as cache.* metrics tagged cache=person.entity / person.teammates.
+ *
+ * Teammate lists load per key through Cache.get, which Caffeine makes atomic with
+ * invalidation of that key. People are loaded in bulk outside the cache, so every
+ * eviction bumps a generation counter: a bulk load that overlaps an eviction drops
+ * what it stored rather than keep data read before the evicting commit.
+ */
+@Service
+public class PersonCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonCacheService.class);
+    private final PersonLookupRepository personLookupRepository;
+    private final Cache<Long, PersonSummary> people;
+    private final Cache<Long, long[]> teammateIds;
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public PersonCacheService(PersonLookupRepository personLookupRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.cache.people.max-size:100000}") long maxSize,
+                              @Value("${app.cache.people.ttl:10m}") Duration ttl) {
+        this.personLookupRepository = personLookupRepository;
+        this.people = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.teammateIds = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, people, "person.entity");
+        CaffeineCacheMetrics.monitor(meterRegistry, teammateIds, "person.teammates");
+    }
+
+    // READ
+
+    public Optional<PersonSummary> person(long id) {
+        return Optional.ofNullable(people(List.of(id)).get(id));
+    }
+
+    /**
+     * Cached properties of several people; misses are loaded in one query
+     */
+    public Map<Long, PersonSummary> people(Iterable<Long> ids) {
+        Map<Long, PersonSummary> found = new HashMap<>(people.getAllPresent(ids));
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            if (!found.containsKey(id)) missing.add(id);
+        }
+        if (missing.isEmpty()) return found;
+
+        long loadedAt = generation.get();
+        Map<Long, PersonSummary> loaded = personLookupRepository.findSummaries(missing);
+        people.putAll(loaded);
+        // An eviction that ran after the read may have missed what was just stored:
+        // drop it again. One that runs after this check removes it itself.
+        if (generation.get() != loadedAt) people.invalidateAll(loaded.keySet());
+        found.putAll(loaded);
+        return found;
+    }
+
+    public long[] teammateIds(long id) {
+        return teammateIds.get(id, personLookupRepository::findTeammateIds);
+    }
+
+    /**
+     * A detached Person with its teammates filled in (teammates of teammates are not)
+     */
+    public Optional<Person> personWithTeammates(long id) {
+        return person(id).map(summary -> {
+            Person person = summary.toPerson();
+            person.getTeammates().addAll(teammates(id));
+            return person;
+        });
+    }
+
+    public List<Person> teammates(long id) {
+        long[] ids = teammateIds(id);
+        Map<Long, PersonSummary> found = people(Arrays.stream(ids).boxed().toList());
+        List<Person> result = new ArrayList<>(found.size());
+        for (long teammateId : ids) {
+            PersonSummary summary = found.get(teammateId);
+            if (summary != null) result.add(summary.toPerson());
+        }
+        return result;
+    }
+
+    // EVICTION (applied after commit)
+
+    /**
+     * Forget the given people and their teammate lists
+     */
+    public void evict(long... ids) {
+        List<Long> keys = Arrays.stream(ids).boxed().toList();
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            people.invalidateAll(keys);
+            teammateIds.invalidateAll(keys);
+        });
+    }
+
+    /**
+     * Forget a person who is being deleted, and the teammate lists they appear in
+     */
+    public void evictWithTeammates(long id) {
+        long[] neighbors = teammateIds(id);
+        long[] ids = Arrays.copyOf(neighbors, neighbors.length + 1);
+        ids[neighbors.length] = id;
+        evict(ids);
+    }
+
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            log.debug("Clearing person caches");
+            generation.incrementAndGet();
+            people.invalidateAll();
+            teammateIds.invalidateAll();
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.graph.NamePrefixIndex;
+import com.example.accessingdataneo4j.model.PersonRow;
+import com.example.accessingdataneo4j.repository.PersonDirectoryRepository;
+import com.example.accessingdataneo4j.repository.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Paged listing and search for the people directory.
+ *
+ * Listing is keyset-paged in Neo4j. Search uses the Neo4j fulltext index and falls
+ * back to an in-memory {@link NamePrefixIndex} over the graph snapshot when the
+ * index is missing or still populating. Counts never materialize the matching rows.
+ */
+@Service
+public class PersonDirectoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonDirectoryService.class);
+    private static final String LUCENE_SPECIAL = "+-&|!(){}[]^\"~*?:\\/";
+    private final PersonDirectoryRepository directoryRepository;
+    private final PersonRepository personRepository;
+    private final PersonGraphService personGraphService;
+
+    private volatile NamePrefixIndex prefixIndex;
+
+    /**
+     * One search page and how it was answered ("fulltext" or "prefix")
+     */
+    public record SearchResult(Slice<PersonRow> rows, long totalCount, String mode) {
+    }
+
+    @Autowired
+    public PersonDirectoryService(PersonDirectoryRepository directoryRepository,
+                                  PersonRepository personRepository,
+                                  PersonGraphService personGraphService) {
+        this.directoryRepository = directoryRepository;
+        this.personRepository = personRepository;
+        this.personGraphService = personGraphService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        try {
+            directoryRepository.ensureIndexes();
+            log.info("Person name indexes are in place");
+        } catch (Exception e) {
+            log.warn("Could not create person name indexes (is Neo4j running?): {}", e.getMessage());
+        }
+    }
+
+    // LIST
+
+    /**
+     * Page of people after the given (name, id) key, in name order; null key for the first page
+     */
+    public Slice<PersonRow> listPage(String afterName, Long afterId, int size) {
+        String name = afterName != null ? afterName : "";
+        long id = afterId != null ? afterId : -1L;
+        List<PersonRow> rows = directoryRepository.pageAfter(name, id, size + 1);
+        return toSlice(rows, 0, size);
+    }
+
+    /**
+     * Total number of people, from the label count store
+     */
+    public long countPeople() {
+        Long count = personRepository.countAllPeople();
+        return count != null ? count : 0;
+    }
+
+    // SEARCH
+
+    /**
+     * Page of people whose name or email words start with the query words
+     */
+    public SearchResult search(String query, int page, int size) {
+        String lucene = toLuceneQuery(query);
+        if (lucene.isEmpty()) {
+            return new SearchResult(toSlice(List.of(), page, size), 0, "fulltext");
+        }
+        try {
+            List<PersonRow> rows = directoryRepository.search(lucene, (long) page * size, size + 1);
+            long total = directoryRepository.countSearch(lucene);
+            return new SearchResult(toSlice(rows, page, size), total, "fulltext");
+        } catch (DataAccessException e) {
+            log.warn("Fulltext search unavailable, using in-memory prefix index: {}", e.getMessage());
+        }
+        return searchPrefixIndex(query, page, size);
+    }
+
+    private SearchResult searchPrefixIndex(String query, int page, int size) {
+        NamePrefixIndex index = prefixIndex();
+        GraphSnapshot graph = index.graph();
+        int[] matches = index.search(query);
+        int from = (int) Math.min((long) page * size, matches.length);
+        int to = Math.min(from + size + 1, matches.length);
+
+        List<PersonRow> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int node = matches[i];
+            rows.add(new PersonRow(graph.id(node), graph.name(node), graph.email(node),
+                    graph.role(node), graph.degree(node)));
+        }
+        return new SearchResult(toSlice(rows, page, size), matches.length, "prefix");
+    }
+
+    private NamePrefixIndex prefixIndex() {
+        GraphSnapshot graph = personGraphService.snapshot();
+        NamePrefixIndex current = prefixIndex;
+        if (current != null && current.graph().version() == graph.version()) return current;
+        synchronized (this) {
+            if (prefixIndex == null || prefixIndex.graph().version() != graph.version()) {
+                long start = System.nanoTime();
+                prefixIndex = NamePrefixIndex.build(graph);
+                log.info("Built name prefix index for {} people in {} ms",
+                        graph.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return prefixIndex;
+        }
+    }
+
+    // Helpers
+
+    /**
+     * Each word becomes an escaped, lowercase prefix term, and all of them must match
+     */
+    static String toLuceneQuery(String query) {
+        if (query == null) return "";
+        return Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> escape(word) + "*")
+                .collect(Collectors.joining(" AND "));
+    }
+
+    private static String escape(String word) {
+        StringBuilder escaped = new StringBuilder(word.length());
+        for (char c : word.toCharArray()) {
+            if (LUCENE_SPECIAL.indexOf(c) >= 0) escaped.append('\\');
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static Slice<PersonRow> toSlice(List<PersonRow> rows, int page, int size) {
+        boolean hasNext = rows.size() > size;
+        List<PersonRow> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(page, size), hasNext);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.graph.AdjacencyGraph;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.graph.MutualFriendIndex;
+import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.repository.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps an in-memory adjacency snapshot of the Person/TEAMMATE graph.
+ *
+ * The graph is loaded from Neo4j once, on first read, and then kept current by
+ * PersonService writes, which are applied after their transaction commits.
+ * Readers get an immutable {@link GraphSnapshot} that is re-frozen lazily after writes.
+ * A {@link MutualFriendIndex} for suggestions is built on first use and then
+ * maintained by the same writes.
+ */
+@Service
+public class PersonGraphService {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonGraphService.class);
+    private final PersonRepository personRepository;
+    private final AdjacencyGraph graph = new AdjacencyGraph();
+    private final MutualFriendIndex mutualFriends = new MutualFriendIndex();
+    // A lock rather than synchronized: the first load does I/O, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private boolean loaded;
+    private boolean mutualFriendsBuilt;
+    private volatile GraphSnapshot snapshot;
+    // Version of the graph as of the last load or applied write, readable without the lock
+    private volatile long version;
+
+    @Autowired
+    public PersonGraphService(PersonRepository personRepository) {
+        this.personRepository = personRepository;
+    }
+
+    // READ
+
+    /**
+     * Get the current graph snapshot, loading it from Neo4j on first use
+     */
+    public GraphSnapshot snapshot() {
+        GraphSnapshot current = snapshot;
+        if (current != null) return current;
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                if (!loaded) load();
+                snapshot = graph.freeze();
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Version the next snapshot will carry. Unlike {@link #snapshot()} this never loads or
+     * freezes, so callers can cheaply check whether a result is still current.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Top-k people sharing the most teammates with a person, from the mutual-friend index
+     */
+    public List<MutualFriendIndex.Suggestion> suggestions(long personId, int k, double roleWeight) {
+        lock.lock();
+        try {
+            if (!loaded) load();
+            if (!mutualFriendsBuilt) {
+                long start = System.nanoTime();
+                mutualFriends.build(graph);
+                mutualFriendsBuilt = true;
+                log.info("Built mutual-friend index in {} ms", (System.nanoTime() - start) / 1_000_000);
+            }
+            return mutualFriends.topK(graph, personId, k, roleWeight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // WRITE notifications (applied after commit)
+
+    public void personSaved(Person person) {
+        long id = person.getId();
+        String name = person.getName();
+        String email = person.getEmail();
+        String role = person.getRole();
+        long[] teammateIds = teammateIds(person.getTeammates());
+        afterCommit(() -> {
+            graph.putNode(id, name, email, role);
+            replaceNeighbors(id, teammateIds);
+        });
+    }
+
+    public void personDeleted(Long id) {
+        afterCommit(() -> removeNode(id));
+    }
+
+    public void teammateAdded(Long personId, Long teammateId) {
+        afterCommit(() -> addEdge(personId, teammateId));
+    }
+
+    public void teammateRemoved(Long personId, Long teammateId) {
+        afterCommit(() -> removeEdge(personId, teammateId));
+    }
+
+    public void teammatesAdded(long[] personIds, long[] teammateIds) {
+        afterCommit(() -> {
+            for (int i = 0; i < personIds.length; i++) addEdge(personIds[i], teammateIds[i]);
+        });
+    }
+
+    public void teammatesRemoved(long[] personIds, long[] teammateIds) {
+        afterCommit(() -> {
+            for (int i = 0; i < personIds.length; i++) removeEdge(personIds[i], teammateIds[i]);
+        });
+    }
+
+    /**
+     * Drop the snapshot so the next read reloads it from Neo4j (used after bulk rewrites)
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            log.info("Invalidating graph snapshot");
+            graph.clear();
+            mutualFriends.clear();
+            loaded = false;
+            mutualFriendsBuilt = false;
+        });
+    }
+
+    // Internals
+
+    private void load() {
+        long start = System.nanoTime();
+        List<Person> all = personRepository.findAll();
+        for (Person p : all) {
+            graph.putNode(p.getId(), p.getName(), p.getEmail(), p.getRole());
+        }
+        int edges = 0;
+        for (Person p : all) edges += p.getTeammates().size();
+        long[] from = new long[edges];
+        long[] to = new long[edges];
+        int count = 0;
+        for (Person p : all) {
+            for (Person t : p.getTeammates()) {
+                if (t.getId() == null) continue;
+                from[count] = p.getId();
+                to[count++] = t.getId();
+            }
+        }
+        // Each TEAMMATE comes back from both ends; addEdges dedupes rows once instead of per edge
+        graph.addEdges(from, to, count);
+        loaded = true;
+        version = graph.version();
+        log.info("Loaded graph snapshot: {} people, {} relationships in {} ms",
+                graph.nodeCount(), graph.edgeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Graph mutations that keep the mutual-friend index in step once it exists
+
+    private void addEdge(long a, long b) {
+        if (graph.addEdge(a, b) && mutualFriendsBuilt) mutualFriends.edgeAdded(graph, a, b);
+    }
+
+    private void removeEdge(long a, long b) {
+        if (graph.removeEdge(a, b) && mutualFriendsBuilt) mutualFriends.edgeRemoved(graph, a, b);
+    }
+
+    private void removeNode(long id) {
+        if (mutualFriendsBuilt) {
+            for (long neighbor : graph.neighborIds(id)) removeEdge(id, neighbor);
+            mutualFriends.nodeRemoved(id);
+        }
+        graph.removeNode(id);
+    }
+
+    private void replaceNeighbors(long id, long[] neighborIds) {
+        if (!mutualFriendsBuilt) {
+            graph.replaceNeighbors(id, neighborIds);
+            return;
+        }
+        for (long neighbor : graph.neighborIds(id)) removeEdge(id, neighbor);
+        for (long neighbor : neighborIds) addEdge(id, neighbor);
+    }
+
+    private void afterCommit(Runnable mutation) {
+        AfterCommit.run(() -> {
+            lock.lock();
+            try {
+                // Nothing to patch until the first load; it will read committed state
+                if (!loaded) return;
+                mutation.run();
+                snapshot = null;
+                version = graph.version();
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static long[] teammateIds(Set<Person> teammates) {
+        return teammates.stream()
+                .map(Person::getId)
+                .filter(id -> id != null)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.accessingdataneo4j.service;
 
+import com.example.accessingdataneo4j.graph.BidirectionalBfs;
+import com.example.accessingdataneo4j.graph.GraphSnapshot;
+import com.example.accessingdataneo4j.model.ConnectionCount;
+import com.example.accessingdataneo4j.model.GraphTotals;
 import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.model.RoleCount;
+import com.example.accessingdataneo4j.repository.GraphAggregationRepository;
 import com.example.accessingdataneo4j.repository.PersonRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,12 +14,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.stream.IntStream;
 
 /**
  * Service layer for Person business logic
@@ -25,10 +31,19 @@ public class PersonService {
 
     private static final Logger log = LoggerFactory.getLogger(PersonService.class);
     private final PersonRepository personRepository;
+    private final GraphAggregationRepository graphAggregationRepository;
+    private final PersonGraphService personGraphService;
+    private final PersonCacheService personCacheService;
 
     @Autowired
-    public PersonService(PersonRepository personRepository) {
+    public PersonService(PersonRepository personRepository,
+                         GraphAggregationRepository graphAggregationRepository,
+                         PersonGraphService personGraphService,
+                         PersonCacheService personCacheService) {
         this.personRepository = personRepository;
+        this.graphAggregationRepository = graphAggregationRepository;
+        this.personGraphService = personGraphService;
+        this.personCacheService = personCacheService;
     }
 
     // READ Operations
@@ -42,11 +57,12 @@ public class PersonService {
     }
 
     /**
-     * Get a person by their ID
+     * Get a person by their ID, from the person cache.
+     * The result is detached: teammates are populated, teammates of teammates are not.
      */
     public Optional<Person> getPersonById(Long id) {
         log.debug("Fetching person with id: {}", id);
-        return personRepository.findById(id);
+        return personCacheService.personWithTeammates(id);
     }
 
     /**
@@ -78,9 +94,31 @@ public class PersonService {
      */
     public List<Person> getTeammates(Long personId) {
         log.debug("Fetching teammates for person id: {}", personId);
-        Person person = personRepository.findById(personId)
-                .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        return person.getTeammates().stream().toList();
+        if (personCacheService.person(personId).isEmpty()) {
+            throw new PersonNotFoundException("Person not found with id: " + personId);
+        }
+        return personCacheService.teammates(personId);
+    }
+
+    /**
+     * Everyone who could be added as a teammate (not the person, not already a teammate),
+     * as detached Person objects built from the snapshot
+     */
+    public List<Person> getAvailableTeammates(Long personId) {
+        GraphSnapshot graph = personGraphService.snapshot();
+        boolean[] excluded = new boolean[graph.nodeCount()];
+        int self = graph.indexOf(personId);
+        if (self >= 0) {
+            excluded[self] = true;
+            int[] offsets = graph.offsets();
+            int[] neighbors = graph.neighbors();
+            for (int e = offsets[self]; e < offsets[self + 1]; e++) excluded[neighbors[e]] = true;
+        }
+        List<Person> people = new ArrayList<>();
+        for (int v = 0; v < excluded.length; v++) {
+            if (!excluded[v]) people.add(toPerson(graph, v));
+        }
+        return people;
     }
 
     // CREATE Operation
@@ -90,7 +128,14 @@ public class PersonService {
      */
     public Person savePerson(Person person) {
         log.info("Saving person: {}", person.getName());
-        return personRepository.save(person);
+        if (person.getId() != null) {
+            // Saving replaces the teammate set, so former teammates' lists change too
+            personCacheService.evictWithTeammates(person.getId());
+        }
+        Person saved = personRepository.save(person);
+        personGraphService.personSaved(saved);
+        personCacheService.evict(saved.getTeammates().stream().mapToLong(Person::getId).toArray());
+        return saved;
     }
 
     // UPDATE Operation
@@ -108,7 +153,10 @@ public class PersonService {
         person.setEmail(personDetails.getEmail());
         person.setRole(personDetails.getRole());
         
-        return personRepository.save(person);
+        Person saved = personRepository.save(person);
+        personGraphService.personSaved(saved);
+        personCacheService.evict(id);
+        return saved;
     }
 
     // DELETE Operation
@@ -123,7 +171,10 @@ public class PersonService {
             throw new PersonNotFoundException("Person not found with id: " + id);
         }
         
+        // Neighbors are read before the delete; their teammate lists lose this person
+        personCacheService.evictWithTeammates(id);
         personRepository.deleteById(id);
+        personGraphService.personDeleted(id);
     }
 
     // RELATIONSHIP Operations
@@ -138,17 +189,13 @@ public class PersonService {
             throw new IllegalArgumentException("A person cannot be their own teammate");
         }
         
-        Person person = personRepository.findById(personId)
-                .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person teammate = personRepository.findById(teammateId)
-                .orElseThrow(() -> new PersonNotFoundException("Teammate not found with id: " + teammateId));
-        
-        // Add bidirectional relationship
-        person.worksWith(teammate);
-        teammate.worksWith(person);
+        requireExists(personId, "Person");
+        requireExists(teammateId, "Teammate");
         
-        personRepository.save(person);
-        personRepository.save(teammate);
+        // Single MERGE of both directions; avoids re-saving every relationship of both nodes
+        personRepository.addTeammateRelationship(personId, teammateId);
+        personGraphService.teammateAdded(personId, teammateId);
+        personCacheService.evict(personId, teammateId);
     }
 
     /**
@@ -157,21 +204,23 @@ public class PersonService {
     public void removeTeammate(Long personId, Long teammateId) {
         log.info("Removing teammate relationship: {} <-> {}", personId, teammateId);
         
-        Person person = personRepository.findById(personId)
-                .orElseThrow(() -> new PersonNotFoundException("Person not found with id: " + personId));
-        Person teammate = personRepository.findById(teammateId)
-                .orElseThrow(() -> new PersonNotFoundException("Teammate not found with id: " + teammateId));
+        requireExists(personId, "Person");
+        requireExists(teammateId, "Teammate");
         
-        // Remove bidirectional relationship
-        person.removeTeammate(teammate);
-        teammate.removeTeammate(person);
-        
-        personRepository.save(person);
-        personRepository.save(teammate);
+        // Deletes the relationship in both directions
+        personRepository.removeTeammateRelationship(personId, teammateId);
+        personGraphService.teammateRemoved(personId, teammateId);
+        personCacheService.evict(personId, teammateId);
     }
 
     // UTILITY Methods
 
+    private void requireExists(Long id, String label) {
+        if (!personRepository.existsById(id)) {
+            throw new PersonNotFoundException(label + " not found with id: " + id);
+        }
+    }
+
     /**
      * Count total number of people
      */
@@ -186,128 +235,97 @@ public class PersonService {
         return personRepository.existsById(id);
     }
 
-    // DASHBOARD Stats (computed in Java to avoid SDN multi-column mapping issues)
+    // DASHBOARD Stats (aggregated in Cypher; only scalar rows reach the JVM)
+
+    public GraphTotals getGraphTotals() {
+        return graphAggregationRepository.totals();
+    }
 
     public long countRelationships() {
-        List<Person> all = personRepository.findAll();
-        long total = 0;
-        for (Person p : all) {
-            total += p.getTeammates().size();
-        }
-        return total / 2;
+        return personRepository.countTeammateRelationships();
     }
 
     public List<Person> getPeopleWithNoTeammates() {
         return personRepository.findPeopleWithNoTeammates();
     }
 
-    public List<Map<String, Object>> getConnectionCounts() {
-        List<Person> all = personRepository.findAll();
-        return all.stream()
-            .map(p -> Map.<String, Object>of(
-                "name", p.getName(),
-                "connections", (long) p.getTeammates().size()
-            ))
-            .sorted((a, b) -> Long.compare((Long) b.get("connections"), (Long) a.get("connections")))
-            .toList();
+    public long countPeopleWithNoTeammates() {
+        return personRepository.countPeopleWithNoTeammates();
     }
 
-    public List<Map<String, Object>> getRoleDistribution() {
-        List<Person> all = personRepository.findAll();
-        LinkedHashMap<String, Long> roleCounts = new LinkedHashMap<>();
-        for (Person p : all) {
-            String role = p.getRole();
-            if (role != null && !role.isEmpty()) {
-                roleCounts.merge(role, 1L, Long::sum);
-            }
-        }
-        return roleCounts.entrySet().stream()
-            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-            .map(e -> Map.<String, Object>of("role", e.getKey(), "count", e.getValue()))
-            .toList();
+    public List<ConnectionCount> getConnectionCounts(int limit) {
+        return graphAggregationRepository.topConnectionCounts(limit);
+    }
+
+    public List<RoleCount> getRoleDistribution() {
+        return graphAggregationRepository.roleDistribution();
     }
 
     // GRAPH Queries
 
+    /**
+     * Shortest teammate path, as detached Person objects built from the snapshot
+     * (teammates are not populated)
+     */
     public List<Person> getShortestPath(Long fromId, Long toId) {
-        // BFS in Java — more reliable than SDN Cypher mapping for path queries
-        List<Person> all = personRepository.findAll();
-        Map<Long, Person> peopleMap = new LinkedHashMap<>();
-        for (Person p : all) { peopleMap.put(p.getId(), p); }
-
-        if (!peopleMap.containsKey(fromId) || !peopleMap.containsKey(toId)) return List.of();
-
-        // BFS
-        Map<Long, Long> parentMap = new LinkedHashMap<>();
-        java.util.Queue<Long> queue = new java.util.LinkedList<>();
-        Set<Long> visited = new HashSet<>();
-        queue.add(fromId);
-        visited.add(fromId);
-        parentMap.put(fromId, null);
-
-        while (!queue.isEmpty()) {
-            Long current = queue.poll();
-            if (current.equals(toId)) break;
-            Person p = peopleMap.get(current);
-            if (p == null) continue;
-            for (Person t : p.getTeammates()) {
-                if (!visited.contains(t.getId()) && peopleMap.containsKey(t.getId())) {
-                    visited.add(t.getId());
-                    parentMap.put(t.getId(), current);
-                    queue.add(t.getId());
-                }
-            }
-        }
-
-        if (!parentMap.containsKey(toId)) return List.of();
-
-        // Reconstruct path
-        java.util.LinkedList<Person> path = new java.util.LinkedList<>();
-        Long step = toId;
-        while (step != null) {
-            path.addFirst(peopleMap.get(step));
-            step = parentMap.get(step);
-        }
-        return path;
+        BidirectionalBfs bfs = new BidirectionalBfs(personGraphService.snapshot());
+        return toPeople(bfs.graph(), bfs.shortestPathByIds(fromId, toId));
     }
 
-    public Integer getDegreesOfSeparation(Long fromId, Long toId) {
-        List<Person> path = getShortestPath(fromId, toId);
-        return path.isEmpty() ? null : path.size() - 1;
+    /**
+     * Answer many shortest-path queries against one snapshot, in parallel.
+     * Results are in request order; unreachable pairs yield an empty list.
+     */
+    public List<List<Person>> getShortestPaths(long[] fromIds, long[] toIds) {
+        GraphSnapshot graph = personGraphService.snapshot();
+        int count = fromIds.length;
+        @SuppressWarnings("unchecked")
+        List<Person>[] results = new List[count];
+
+        // Each chunk reuses one BFS instance so scratch arrays are allocated per chunk, not per pair
+        int chunkSize = Math.max(64, count / (Runtime.getRuntime().availableProcessors() * 4) + 1);
+        int chunks = (count + chunkSize - 1) / chunkSize;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            BidirectionalBfs bfs = new BidirectionalBfs(graph);
+            int end = Math.min(count, (chunk + 1) * chunkSize);
+            for (int i = chunk * chunkSize; i < end; i++) {
+                results[i] = toPeople(graph, bfs.shortestPathByIds(fromIds[i], toIds[i]));
+            }
+        });
+        return Arrays.asList(results);
     }
 
     public List<Map<String, Object>> getSuggestedConnections(Long personId) {
-        Person person = personRepository.findById(personId).orElse(null);
-        if (person == null) return List.of();
+        return getSuggestedConnections(personId, 5, 0.0);
+    }
 
-        Set<Long> myTeammateIds = new HashSet<>();
-        for (Person t : person.getTeammates()) {
-            myTeammateIds.add(t.getId());
-        }
+    /**
+     * Friend-of-friend suggestions from the incrementally maintained mutual-friend index.
+     * roleWeight > 0 boosts candidates who share the person's role.
+     */
+    public List<Map<String, Object>> getSuggestedConnections(Long personId, int limit, double roleWeight) {
+        return personGraphService.suggestions(personId, limit, roleWeight).stream()
+            .map(s -> Map.<String, Object>of(
+                "id", s.id(),
+                "name", s.name(),
+                "mutualFriends", (long) s.mutualFriends(),
+                "score", s.score()
+            ))
+            .toList();
+    }
 
-        // Friends-of-friends: people connected to my teammates but not to me
-        LinkedHashMap<Long, Map.Entry<Person, Long>> suggestions = new LinkedHashMap<>();
-        for (Person teammate : person.getTeammates()) {
-            // Reload to get their teammates
-            Person fullTeammate = personRepository.findById(teammate.getId()).orElse(null);
-            if (fullTeammate == null) continue;
-            for (Person fof : fullTeammate.getTeammates()) {
-                if (fof.getId().equals(personId) || myTeammateIds.contains(fof.getId())) continue;
-                suggestions.merge(fof.getId(),
-                    Map.entry(fof, 1L),
-                    (old, v) -> Map.entry(old.getKey(), old.getValue() + 1));
-            }
+    private static List<Person> toPeople(GraphSnapshot graph, int[] indexes) {
+        List<Person> people = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            people.add(toPerson(graph, index));
         }
+        return people;
+    }
 
-        return suggestions.values().stream()
-            .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
-            .limit(5)
-            .map(e -> Map.<String, Object>of(
-                "id", e.getKey().getId(),
-                "name", e.getKey().getName(),
-                "mutualFriends", e.getValue()
-            ))
-            .toList();
+    private static Person toPerson(GraphSnapshot graph, int index) {
+        Person person = new Person(graph.name(index), graph.email(index), graph.role(index));
+        person.setId(graph.id(index));
+        return person;
     }
 
     /**
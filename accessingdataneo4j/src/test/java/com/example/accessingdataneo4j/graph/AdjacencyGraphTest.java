@@ -0,0 +1,100 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdjacencyGraphTest {
+
+    private AdjacencyGraph graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new AdjacencyGraph();
+        graph.putNode(30, "Carol", "carol@company.com", "Developer");
+        graph.putNode(10, "Alice", "alice@company.com", "Manager");
+        graph.putNode(20, "Bob", "bob@company.com", "Developer");
+        graph.addEdge(10, 20);
+        graph.addEdge(10, 30);
+    }
+
+    @Test
+    void freezeShouldOrderNodesById() {
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.ids()).containsExactly(10L, 20L, 30L);
+        assertThat(snapshot.indexOf(20)).isEqualTo(1);
+        assertThat(snapshot.indexOf(99)).isEqualTo(-1);
+    }
+
+    @Test
+    void freezeShouldBuildSymmetricCsrRows() {
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.edgeCount()).isEqualTo(2);
+        assertThat(snapshot.degree(0)).isEqualTo(2);
+        assertThat(snapshot.degree(1)).isEqualTo(1);
+        assertThat(snapshot.offsets()).containsExactly(0, 2, 3, 4);
+        assertThat(snapshot.neighbors()).containsExactly(1, 2, 0, 0);
+    }
+
+    @Test
+    void rolesShouldBeInterned() {
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.roleCount()).isEqualTo(2);
+        assertThat(snapshot.roleId(1)).isEqualTo(snapshot.roleId(2));
+        assertThat(snapshot.role(0)).isEqualTo("Manager");
+    }
+
+    @Test
+    void duplicateAndDanglingEdgesShouldBeIgnored() {
+        assertThat(graph.addEdge(20, 10)).isFalse();
+        assertThat(graph.addEdge(10, 99)).isFalse();
+        assertThat(graph.edgeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void removeEdgeShouldUpdateBothEndpoints() {
+        assertThat(graph.removeEdge(20, 10)).isTrue();
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.edgeCount()).isEqualTo(1);
+        assertThat(snapshot.degree(snapshot.indexOf(20))).isZero();
+    }
+
+    @Test
+    void removeNodeShouldDropItsEdgesAndReuseSlot() {
+        assertThat(graph.removeNode(10)).isTrue();
+        graph.putNode(40, "Dave", null, null);
+        graph.addEdge(40, 20);
+
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.ids()).containsExactly(20L, 30L, 40L);
+        assertThat(snapshot.edgeCount()).isEqualTo(1);
+        assertThat(snapshot.role(2)).isNull();
+    }
+
+    @Test
+    void versionShouldAdvanceOnMutation() {
+        long before = graph.freeze().version();
+        graph.addEdge(20, 30);
+        assertThat(graph.freeze().version()).isGreaterThan(before);
+    }
+
+    @Test
+    void addEdgesShouldCollapseDuplicateAndReversedEdges() {
+        graph.putNode(40, "Dave", null, null);
+        long before = graph.freeze().version();
+        graph.addEdges(new long[] {20, 40, 20, 30, 99, 40},
+                new long[] {40, 20, 40, 20, 10, 40}, 6);
+
+        GraphSnapshot snapshot = graph.freeze();
+        assertThat(snapshot.edgeCount()).isEqualTo(4);
+        assertThat(graph.neighborIds(20)).containsExactlyInAnyOrder(10L, 30L, 40L);
+        assertThat(graph.neighborIds(40)).containsExactly(20L);
+        assertThat(graph.containsEdge(10, 20)).isTrue();
+        assertThat(snapshot.version()).isGreaterThan(before);
+
+        graph.addEdge(40, 30);
+        assertThat(graph.addEdge(30, 40)).isFalse();
+        assertThat(graph.freeze().edgeCount()).isEqualTo(5);
+    }
+}
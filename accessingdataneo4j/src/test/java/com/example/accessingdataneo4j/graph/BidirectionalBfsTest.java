@@ -0,0 +1,57 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BidirectionalBfsTest {
+
+    private GraphSnapshot snapshot;
+    private BidirectionalBfs bfs;
+
+    @BeforeEach
+    void setUp() {
+        // 1 - 2 - 3 - 4 - 5, with a shortcut 2 - 4 and an isolated node 6
+        AdjacencyGraph graph = new AdjacencyGraph();
+        for (long id = 1; id <= 6; id++) {
+            graph.putNode(id, "P" + id, null, null);
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 5);
+        graph.addEdge(2, 4);
+        snapshot = graph.freeze();
+        bfs = new BidirectionalBfs(snapshot);
+    }
+
+    @Test
+    void shouldFindShortestPathByIds() {
+        int[] path = bfs.shortestPathByIds(1, 5);
+        assertThat(path).hasSize(4);
+        assertThat(snapshot.id(path[0])).isEqualTo(1);
+        assertThat(snapshot.id(path[1])).isEqualTo(2);
+        assertThat(snapshot.id(path[2])).isEqualTo(4);
+        assertThat(snapshot.id(path[3])).isEqualTo(5);
+    }
+
+    @Test
+    void pathToSelfShouldBeSingleNode() {
+        assertThat(bfs.shortestPathByIds(3, 3)).hasSize(1);
+    }
+
+    @Test
+    void unreachableOrUnknownShouldBeEmpty() {
+        assertThat(bfs.shortestPathByIds(1, 6)).isEmpty();
+        assertThat(bfs.shortestPathByIds(1, 42)).isEmpty();
+    }
+
+    @Test
+    void instanceShouldBeReusableAcrossQueries() {
+        assertThat(bfs.shortestPathByIds(1, 6)).isEmpty();
+        assertThat(bfs.shortestPathByIds(5, 1)).hasSize(4);
+        assertThat(bfs.shortestPathByIds(1, 3)).hasSize(3);
+        assertThat(bfs.shortestPathByIds(3, 5)).hasSize(3);
+    }
+}
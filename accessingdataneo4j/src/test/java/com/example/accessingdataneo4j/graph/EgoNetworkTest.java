@@ -0,0 +1,96 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EgoNetworkTest {
+
+    private GraphSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // Chain 1 - 2 - 3 - 4; hubs 10 and 11 know each other and 20..29; 1 - 10 and 1 - 11
+        AdjacencyGraph graph = new AdjacencyGraph();
+        for (long id : new long[] {1, 2, 3, 4, 10, 11}) {
+            graph.putNode(id, "P" + id, null, null);
+        }
+        for (long id = 20; id < 30; id++) {
+            graph.putNode(id, "P" + id, null, null);
+            graph.addEdge(10, id);
+            graph.addEdge(11, id);
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(1, 10);
+        graph.addEdge(1, 11);
+        graph.addEdge(10, 11);
+        snapshot = graph.freeze();
+    }
+
+    private EgoNetwork.Neighborhood expand(long center, int depth, int limit, int hubDegree) {
+        return EgoNetwork.expand(snapshot, snapshot.indexOf(center), depth, limit, hubDegree);
+    }
+
+    private long[] ids(EgoNetwork.Neighborhood neighborhood) {
+        return Arrays.stream(neighborhood.nodes()).mapToLong(snapshot::id).toArray();
+    }
+
+    private Set<String> edges(EgoNetwork.Neighborhood neighborhood) {
+        Set<String> edges = new HashSet<>();
+        int[] e = neighborhood.edges();
+        for (int k = 0; k < e.length; k += 2) {
+            long a = snapshot.id(neighborhood.nodes()[e[k]]);
+            long b = snapshot.id(neighborhood.nodes()[e[k + 1]]);
+            assertThat(edges.add(Math.min(a, b) + "-" + Math.max(a, b))).as("duplicate edge").isTrue();
+        }
+        return edges;
+    }
+
+    @Test
+    void shouldStopAtDepth() {
+        EgoNetwork.Neighborhood neighborhood = expand(2, 1, 100, 100);
+        assertThat(ids(neighborhood)).containsExactly(2, 1, 3);
+        assertThat(neighborhood.depths()).containsExactly(0, 1, 1);
+        assertThat(edges(neighborhood)).containsExactlyInAnyOrder("1-2", "2-3");
+        assertThat(neighborhood.truncated()).isFalse();
+    }
+
+    @Test
+    void shouldIncludeButNotExpandHubs() {
+        EgoNetwork.Neighborhood neighborhood = expand(1, 2, 100, 5);
+        assertThat(ids(neighborhood)).containsExactlyInAnyOrder(1, 2, 10, 11, 3);
+        assertThat(neighborhood.prunedHubs()).isEqualTo(2);
+        // The hub-to-hub edge is still reported
+        assertThat(edges(neighborhood)).containsExactlyInAnyOrder("1-2", "1-10", "1-11", "10-11", "2-3");
+    }
+
+    @Test
+    void shouldExpandHubCenter() {
+        EgoNetwork.Neighborhood neighborhood = expand(10, 1, 100, 5);
+        assertThat(neighborhood.nodeCount()).isEqualTo(13);
+        // 10's own edges, plus 1 - 11 and 11 - 2x found from the ordinary side
+        assertThat(neighborhood.edgeCount()).isEqualTo(12 + 1 + 10);
+    }
+
+    @Test
+    void shouldTruncateAtLimit() {
+        EgoNetwork.Neighborhood neighborhood = expand(10, 3, 4, 100);
+        assertThat(neighborhood.nodeCount()).isEqualTo(4);
+        assertThat(neighborhood.truncated()).isTrue();
+        assertThat(neighborhood.nodes()[0]).isEqualTo(snapshot.indexOf(10));
+    }
+
+    @Test
+    void fullDepthMatchesWholeComponent() {
+        EgoNetwork.Neighborhood neighborhood = expand(4, 6, 100, 100);
+        assertThat(neighborhood.nodeCount()).isEqualTo(snapshot.nodeCount());
+        assertThat((long) neighborhood.edgeCount()).isEqualTo(snapshot.edgeCount());
+    }
+}
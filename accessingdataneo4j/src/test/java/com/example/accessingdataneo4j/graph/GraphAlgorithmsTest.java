@@ -0,0 +1,97 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GraphAlgorithmsTest {
+
+    private GraphSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        // Triangles 1-2-3 and 5-6-7 joined only through 4; 8 is isolated; 9 - 10 is a separate pair
+        AdjacencyGraph graph = new AdjacencyGraph();
+        for (long id = 1; id <= 10; id++) {
+            graph.putNode(id, "P" + id, null, null);
+        }
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(1, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 5);
+        graph.addEdge(5, 6);
+        graph.addEdge(6, 7);
+        graph.addEdge(5, 7);
+        graph.addEdge(9, 10);
+        snapshot = graph.freeze();
+    }
+
+    @Test
+    void betweennessShouldFindTheBridge() {
+        double[] scores = GraphAlgorithms.betweenness(snapshot, GraphAlgorithms.sampleSources(snapshot, 0, 1));
+        assertThat(scores[snapshot.indexOf(4)]).isCloseTo(9.0, within(1e-9));
+        assertThat(scores[snapshot.indexOf(3)]).isCloseTo(8.0, within(1e-9));
+        assertThat(scores[snapshot.indexOf(1)]).isCloseTo(0.0, within(1e-9));
+        assertThat(snapshot.id(GraphAlgorithms.topIndexes(scores, 1)[0])).isEqualTo(4);
+    }
+
+    @Test
+    void betweennessShouldNotDependOnParallelism() throws Exception {
+        int[] sources = GraphAlgorithms.sampleSources(snapshot, 0, 1);
+        double[] sequential = new ForkJoinPool(1).submit(() -> GraphAlgorithms.betweenness(snapshot, sources)).get();
+        double[] parallel = new ForkJoinPool(4).submit(() -> GraphAlgorithms.betweenness(snapshot, sources)).get();
+        for (int i = 0; i < sequential.length; i++) {
+            assertThat(parallel[i]).isCloseTo(sequential[i], within(1e-9));
+        }
+    }
+
+    @Test
+    void topIndexesShouldBeLargestFirstWithTiesInIndexOrder() {
+        double[] scores = {0.5, 3.0, 1.0, 3.0, 0.0, 2.0};
+        assertThat(GraphAlgorithms.topIndexes(scores, 4)).containsExactly(1, 3, 5, 2);
+        assertThat(GraphAlgorithms.topIndexes(scores, 10)).containsExactly(1, 3, 5, 2, 0, 4);
+        assertThat(GraphAlgorithms.topIndexes(scores, 0)).isEmpty();
+    }
+
+    @Test
+    void sampleSourcesShouldBeDistinctAndBounded() {
+        int[] sources = GraphAlgorithms.sampleSources(snapshot, 4, 7);
+        assertThat(sources).hasSize(4).doesNotHaveDuplicates();
+        assertThat(GraphAlgorithms.sampleSources(snapshot, 100, 7)).hasSize(10);
+    }
+
+    @Test
+    void pageRankShouldSumToOne() {
+        double[] rank = GraphAlgorithms.pageRank(snapshot, 0.85, 100, 1e-12);
+        assertThat(Arrays.stream(rank).sum()).isCloseTo(1.0, within(1e-9));
+        assertThat(rank[snapshot.indexOf(1)]).isCloseTo(rank[snapshot.indexOf(2)], within(1e-12));
+        assertThat(rank[snapshot.indexOf(3)]).isGreaterThan(rank[snapshot.indexOf(1)]);
+    }
+
+    @Test
+    void connectedComponentsShouldBeNumberedByLowestMember() {
+        int[] components = GraphAlgorithms.connectedComponents(snapshot);
+        assertThat(GraphAlgorithms.groupSizes(components)).containsExactly(7, 1, 2);
+        assertThat(components[snapshot.indexOf(7)]).isEqualTo(0);
+        assertThat(components[snapshot.indexOf(10)]).isEqualTo(2);
+    }
+
+    @Test
+    void labelPropagationShouldSeparateTheTriangles() {
+        int[] communities = GraphAlgorithms.labelPropagation(snapshot, 20);
+        int left = communities[snapshot.indexOf(1)];
+        int right = communities[snapshot.indexOf(6)];
+        assertThat(communities[snapshot.indexOf(2)]).isEqualTo(left);
+        assertThat(communities[snapshot.indexOf(3)]).isEqualTo(left);
+        assertThat(communities[snapshot.indexOf(5)]).isEqualTo(right);
+        assertThat(communities[snapshot.indexOf(7)]).isEqualTo(right);
+        assertThat(left).isNotEqualTo(right);
+        assertThat(communities[snapshot.indexOf(9)]).isEqualTo(communities[snapshot.indexOf(10)]);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MutualFriendIndexTest {
+
+    private AdjacencyGraph graph;
+    private MutualFriendIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // Alice(1) knows Bob(2) and Carol(3); Bob and Carol both know Dave(4); Carol knows Erin(5)
+        graph = new AdjacencyGraph();
+        graph.putNode(1, "Alice", null, "Manager");
+        graph.putNode(2, "Bob", null, "Developer");
+        graph.putNode(3, "Carol", null, "Developer");
+        graph.putNode(4, "Dave", null, "Designer");
+        graph.putNode(5, "Erin", null, "Manager");
+        graph.addEdge(1, 2);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 4);
+        graph.addEdge(3, 4);
+        graph.addEdge(3, 5);
+        index = new MutualFriendIndex();
+        index.build(graph);
+    }
+
+    @Test
+    void buildShouldCountSharedTeammates() {
+        assertThat(index.mutualCount(1, 4)).isEqualTo(2);
+        assertThat(index.mutualCount(4, 1)).isEqualTo(2);
+        assertThat(index.mutualCount(1, 5)).isEqualTo(1);
+        assertThat(index.mutualCount(2, 3)).isEqualTo(2);
+    }
+
+    @Test
+    void topKShouldRankNonTeammatesByMutualFriends() {
+        List<MutualFriendIndex.Suggestion> suggestions = index.topK(graph, 1, 5, 0);
+        assertThat(suggestions).extracting(MutualFriendIndex.Suggestion::id).containsExactly(4L, 5L);
+        assertThat(suggestions.get(0).mutualFriends()).isEqualTo(2);
+        assertThat(suggestions.get(0).name()).isEqualTo("Dave");
+    }
+
+    @Test
+    void roleWeightShouldBoostSameRoleCandidates() {
+        List<MutualFriendIndex.Suggestion> suggestions = index.topK(graph, 1, 5, 2.0);
+        assertThat(suggestions).extracting(MutualFriendIndex.Suggestion::id).containsExactly(5L, 4L);
+        assertThat(suggestions.get(0).score()).isEqualTo(3.0);
+    }
+
+    @Test
+    void topKShouldBeBounded() {
+        assertThat(index.topK(graph, 1, 1, 0)).hasSize(1);
+        // The heap is sized by the candidates in the row, not by k
+        assertThat(index.topK(graph, 1, Integer.MAX_VALUE, 0)).hasSize(2);
+    }
+
+    @Test
+    void edgeUpdatesShouldBeIncremental() {
+        graph.addEdge(2, 5);
+        index.edgeAdded(graph, 2, 5);
+        assertThat(index.mutualCount(1, 5)).isEqualTo(2);
+
+        graph.removeEdge(1, 3);
+        index.edgeRemoved(graph, 1, 3);
+        assertThat(index.mutualCount(1, 5)).isEqualTo(1);
+        assertThat(index.mutualCount(1, 4)).isEqualTo(1);
+        // Bob and Carol lost Alice but still share Dave and, through the new edge, Erin
+        assertThat(index.mutualCount(2, 3)).isEqualTo(2);
+
+        MutualFriendIndex rebuilt = new MutualFriendIndex();
+        rebuilt.build(graph);
+        for (long a = 1; a <= 5; a++) {
+            for (long b = 1; b <= 5; b++) {
+                if (a != b) assertThat(index.mutualCount(a, b)).isEqualTo(rebuilt.mutualCount(a, b));
+            }
+        }
+    }
+}
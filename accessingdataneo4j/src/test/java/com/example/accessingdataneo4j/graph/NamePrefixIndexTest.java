@@ -0,0 +1,56 @@
+package com.example.accessingdataneo4j.graph;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NamePrefixIndexTest {
+
+    private NamePrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AdjacencyGraph graph = new AdjacencyGraph();
+        graph.putNode(5, "Ann Annabel", "ann@example.com", null);
+        graph.putNode(2, "Bob Smith", "bob@company.com", null);
+        graph.putNode(3, "Alice Johnson", "alice@company.com", null);
+        graph.putNode(4, "Alice Brown", null, null);
+        graph.putNode(9, null, null, null);
+        index = NamePrefixIndex.build(graph.freeze());
+    }
+
+    private String[] names(String query) {
+        GraphSnapshot graph = index.graph();
+        return Arrays.stream(index.search(query)).mapToObj(graph::name).toArray(String[]::new);
+    }
+
+    @Test
+    void shouldMatchWordPrefixesInNameOrder() {
+        assertThat(names("ali")).containsExactly("Alice Brown", "Alice Johnson");
+        assertThat(names("ALICE")).containsExactly("Alice Brown", "Alice Johnson");
+    }
+
+    @Test
+    void everyQueryWordShouldMatch() {
+        assertThat(names("alice jo")).containsExactly("Alice Johnson");
+    }
+
+    @Test
+    void personShouldBeReturnedOnceWhenSeveralWordsMatch() {
+        assertThat(names("ann")).containsExactly("Ann Annabel");
+    }
+
+    @Test
+    void shouldSearchEmailWords() {
+        assertThat(names("company")).containsExactly("Alice Johnson", "Bob Smith");
+    }
+
+    @Test
+    void blankOrUnknownQueriesShouldMatchNothing() {
+        assertThat(index.search("  ")).isEmpty();
+        assertThat(index.search("zz")).isEmpty();
+    }
+}
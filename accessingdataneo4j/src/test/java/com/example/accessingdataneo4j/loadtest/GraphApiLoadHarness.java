@@ -0,0 +1,159 @@
+package com.example.accessingdataneo4j.loadtest;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for comparing the serving modes of a running app.
+ *
+ * Not a unit test: start the application in one mode, then run for example
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.example.accessingdataneo4j.loadtest.GraphApiLoadHarness \
+ *       -Dexec.args="--api=reactive --clients=500 --seconds=30"
+ *
+ * and repeat with the app started under the default, "virtual" and "reactive" profiles.
+ * Each client is a virtual thread that loops over the graph and suggestion endpoints,
+ * reading every response to the end. --api=blocking targets /api/graph and
+ * /api/suggestions, --api=reactive the NDJSON endpoints under /api/reactive.
+ */
+public class GraphApiLoadHarness {
+
+    private static final Pattern NODE_ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String base = options.getOrDefault("base", "http://localhost:8080");
+        String api = options.getOrDefault("api", "blocking");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int graphLimit = Integer.parseInt(options.getOrDefault("graph-limit", "2000"));
+        double graphShare = Double.parseDouble(options.getOrDefault("graph-share", "0.1"));
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long[] personIds = samplePersonIds(http, base);
+        if (personIds.length == 0) {
+            System.err.println("No people found at " + base + "; seed the graph first");
+            return;
+        }
+
+        boolean reactive = api.equals("reactive");
+        String graphUri = reactive ? base + "/api/reactive/graph" : base + "/api/graph?limit=" + graphLimit;
+        String suggestionsUri = base + (reactive ? "/api/reactive/suggestions/" : "/api/suggestions/");
+
+        System.out.printf("%s API, %d clients, %d s, %d sample people%n", api, clients, seconds, personIds.length);
+        Stats graphStats = new Stats();
+        Stats suggestionStats = new Stats();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        if (random.nextDouble() < graphShare) {
+                            call(http, graphUri, graphStats);
+                        } else {
+                            long id = personIds[random.nextInt(personIds.length)];
+                            call(http, suggestionsUri + id, suggestionStats);
+                        }
+                    }
+                });
+            }
+        }
+
+        graphStats.print("graph", seconds);
+        suggestionStats.print("suggestions", seconds);
+    }
+
+    private static void call(HttpClient http, String uri, Stats stats) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(uri)).timeout(Duration.ofSeconds(60)).build();
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            long bytes;
+            try (InputStream body = response.body()) {
+                bytes = body.transferTo(OutputStream.nullOutputStream());
+            }
+            stats.record(System.nanoTime() - start, bytes, response.statusCode() < 400);
+        } catch (Exception e) {
+            stats.record(System.nanoTime() - start, 0, false);
+        }
+    }
+
+    private static long[] samplePersonIds(HttpClient http, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/graph?limit=200")).build();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = NODE_ID.matcher(body);
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) ids.add(Long.parseLong(matcher.group(1)));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * Latencies in a lock-free queue; sorted once at the end
+     */
+    private static final class Stats {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void record(long nanos, long size, boolean ok) {
+            if (ok) {
+                latencies.add(nanos);
+                bytes.addAndGet(size);
+            } else {
+                errors.incrementAndGet();
+            }
+        }
+
+        void print(String name, int seconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            if (sorted.length == 0) {
+                System.out.printf("%-12s no successful requests, %d errors%n", name, errors.get());
+                return;
+            }
+            System.out.printf(Locale.ROOT,
+                    "%-12s %8d ok %6d err %9.1f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  %6.1f MB%n",
+                    name, sorted.length, errors.get(), (double) sorted.length / seconds,
+                    millis(sorted, 0.50), millis(sorted, 0.99), sorted[sorted.length - 1] / 1e6,
+                    bytes.get() / 1e6);
+        }
+
+        private static double millis(long[] sorted, double quantile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.floor(quantile * sorted.length))] / 1e6;
+        }
+    }
+}
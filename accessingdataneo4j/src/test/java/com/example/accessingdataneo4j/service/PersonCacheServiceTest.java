@@ -0,0 +1,118 @@
+package com.example.accessingdataneo4j.service;
+
+import com.example.accessingdataneo4j.model.Person;
+import com.example.accessingdataneo4j.model.PersonSummary;
+import com.example.accessingdataneo4j.repository.PersonLookupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersonCacheServiceTest {
+
+    private PersonLookupRepository repository;
+    private SimpleMeterRegistry registry;
+    private PersonCacheService cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PersonLookupRepository.class);
+        when(repository.findSummaries(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, PersonSummary> found = new HashMap<>();
+            for (Object id : invocation.getArgument(0, Collection.class)) {
+                long personId = (Long) id;
+                if (personId <= 4) found.put(personId, new PersonSummary(personId, "Person " + personId, null, "Developer"));
+            }
+            return found;
+        });
+        // 1 - 2 - 3, and 4 on their own
+        when(repository.findTeammateIds(anyLong())).thenAnswer(invocation -> switch (invocation.getArgument(0, Long.class).intValue()) {
+            case 1 -> new long[]{2};
+            case 2 -> new long[]{1, 3};
+            case 3 -> new long[]{2};
+            default -> new long[0];
+        });
+        registry = new SimpleMeterRegistry();
+        cache = new PersonCacheService(repository, registry, 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void repeatedReadsAreServedFromCache() {
+        Person first = cache.personWithTeammates(2L).orElseThrow();
+        Person second = cache.personWithTeammates(2L).orElseThrow();
+
+        assertThat(first.getTeammates()).extracting(Person::getId).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(second.getTeammates()).extracting(Person::getId).containsExactlyInAnyOrder(1L, 3L);
+        verify(repository, times(1)).findTeammateIds(2L);
+        // Person 2, then teammates 1 and 3; the second read touches the repository for nothing
+        verify(repository, times(2)).findSummaries(any());
+        assertThat(registry.get("cache.gets").tag("cache", "person.entity").tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    @Test
+    void unknownPersonIsEmpty() {
+        assertThat(cache.personWithTeammates(99L)).isEmpty();
+    }
+
+    @Test
+    void evictTouchesOnlyTheGivenPeople() {
+        cache.teammateIds(1L);
+        cache.teammateIds(2L);
+        cache.teammateIds(3L);
+
+        cache.evict(1L, 2L);
+        cache.teammateIds(1L);
+        cache.teammateIds(2L);
+        cache.teammateIds(3L);
+
+        verify(repository, times(2)).findTeammateIds(1L);
+        verify(repository, times(2)).findTeammateIds(2L);
+        verify(repository, times(1)).findTeammateIds(3L);
+    }
+
+    @Test
+    void evictWithTeammatesIncludesNeighbors() {
+        cache.teammateIds(1L);
+        cache.teammateIds(3L);
+        cache.teammateIds(4L);
+
+        cache.evictWithTeammates(2L);
+        cache.teammateIds(1L);
+        cache.teammateIds(3L);
+        cache.teammateIds(4L);
+
+        verify(repository, times(2)).findTeammateIds(1L);
+        verify(repository, times(2)).findTeammateIds(3L);
+        verify(repository, times(1)).findTeammateIds(4L);
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsNotKept() {
+        when(repository.findSummaries(anyCollection())).thenAnswer(invocation -> {
+            // A write commits and evicts person 1 while this stale read is in flight
+            cache.evict(1L);
+            return Map.of(1L, new PersonSummary(1L, "Stale", null, "Developer"));
+        });
+        assertThat(cache.person(1L)).map(PersonSummary::name).contains("Stale");
+
+        when(repository.findSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new PersonSummary(1L, "Fresh", null, "Developer")));
+        assertThat(cache.person(1L)).map(PersonSummary::name).contains("Fresh");
+        assertThat(cache.person(1L)).map(PersonSummary::name).contains("Fresh");
+        verify(repository, times(2)).findSummaries(any());
+    }
+}
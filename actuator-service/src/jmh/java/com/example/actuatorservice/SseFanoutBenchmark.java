@@ -0,0 +1,87 @@
+package com.example.actuatorservice;
+
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publisher-side cost of fanning one event out to many SSE subscribers: serialization
+ * once, then a queue offer per subscriber. Subscribers are {@link DiscardingEmitter}s,
+ * which accept frames without a connection, so drain tasks finish immediately and the
+ * benchmark measures the broadcaster rather than the network.
+ *
+ * In the application's package rather than bench/ because attaching such emitters goes
+ * through the package-private {@code SseBroadcaster.subscribe(SseEmitter)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SseFanoutBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int subscribers;
+
+    @Param({"DROP_OLDEST", "COALESCE_LATEST"})
+    public SseBroadcaster.Policy policy;
+
+    private SseBroadcaster broadcaster;
+    private final LongAdder bytesSent = new LongAdder();
+    private MetricSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broadcaster = new SseBroadcaster(JsonMapper.builder().findAndAddModules().build(), 64, 30_000);
+        for (int i = 0; i < subscribers; i++) {
+            broadcaster.subscribe(new DiscardingEmitter(bytesSent));
+        }
+        snapshot = new MetricSnapshot(Instant.now(), 100_000_000L, 512_000_000L, 200_000_000L,
+                40, 20, 45, 12.5, 30.0, 12_345L);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void publish() {
+        broadcaster.publish("metrics", snapshot, policy);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void publish8Threads() {
+        broadcaster.publish("metrics", snapshot, policy);
+    }
+
+    /**
+     * Synthetic subscriber: counts frame bytes instead of writing to a response
+     */
+    static final class DiscardingEmitter extends SseEmitter {
+
+        private final LongAdder bytes;
+
+        DiscardingEmitter(LongAdder bytes) {
+            super(0L);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            for (DataWithMediaType item : items) {
+                bytes.add(item.getData().toString().length());
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.actuatorservice.bench;
+
+import com.example.actuatorservice.Greeting;
+import com.example.actuatorservice.GreetingService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GreetingService under contention: greet at 1, 8 and 64 threads, getStats alone, and a
+ * mixed group of writers with a stats reader polling like the dashboard.
+ *
+ * {@link CacheEvictingGreetings} reproduces the previous design (a deque trimmed on every
+ * write, name counts sorted on every stats read, and stats/history caches evicted by each
+ * greet) so the same workloads show what the ring buffer and Space-Saving counter save.
+ * Run with the gc profiler (the jmh profile's default) to see bytes allocated per greeting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GreetingBenchmark {
+
+    @Param({"10", "10000"})
+    public int distinctNames;
+
+    @Param({"current", "cache-evict"})
+    public String implementation;
+
+    private String[] names;
+    private GreetingService service;
+    private CacheEvictingGreetings legacy;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        names = new String[distinctNames];
+        for (int i = 0; i < distinctNames; i++) {
+            names[i] = "name-" + i;
+        }
+        service = new GreetingService();
+        legacy = new CacheEvictingGreetings();
+        // Stats over a realistic spread of names rather than an empty service
+        for (int i = 0; i < 100_000; i++) {
+            greet(names[i % distinctNames]);
+        }
+    }
+
+    private String nextName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+
+    private Object greet(String name) {
+        return implementation.equals("current") ? service.greet(name) : legacy.greet(name);
+    }
+
+    private Map<String, Object> readStats() {
+        return implementation.equals("current") ? service.getStats() : legacy.getStats();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object greetSingleThread() {
+        return greet(nextName());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Object greet8Threads() {
+        return greet(nextName());
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Object greet64Threads() {
+        return greet(nextName());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<String, Object> stats() {
+        return readStats();
+    }
+
+    @Benchmark
+    @Group("dashboard")
+    @GroupThreads(15)
+    public Object dashboardWriters() {
+        return greet(nextName());
+    }
+
+    @Benchmark
+    @Group("dashboard")
+    @GroupThreads(1)
+    public Map<String, Object> dashboardStatsReader() {
+        return readStats();
+    }
+
+    /**
+     * The GreetingService implementation before the ring buffer, with its Spring caches
+     * modelled as maps cleared on each greet
+     */
+    static final class CacheEvictingGreetings {
+
+        private final AtomicLong counter = new AtomicLong();
+        private final ConcurrentLinkedDeque<Map<String, Object>> history = new ConcurrentLinkedDeque<>();
+        private final ConcurrentHashMap<String, AtomicLong> nameCounts = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Object> statsCache = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, Object> historyCache = new ConcurrentHashMap<>();
+
+        Greeting greet(String name) {
+            statsCache.clear();
+            historyCache.clear();
+            long id = counter.incrementAndGet();
+            Greeting greeting = new Greeting(id, String.format("Hello, %s!", name));
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", id);
+            entry.put("name", name);
+            entry.put("content", greeting.getContent());
+            entry.put("timestamp", java.time.Instant.now().toString());
+            history.addFirst(entry);
+            while (history.size() > 50) {
+                history.removeLast();
+            }
+            nameCounts.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+            return greeting;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> getStats() {
+            return (Map<String, Object>) statsCache.computeIfAbsent("stats", k -> {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("totalGreetings", counter.get());
+                stats.put("uniqueNames", nameCounts.size());
+                List<Map<String, Object>> topNames = new ArrayList<>();
+                nameCounts.entrySet().stream()
+                        .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                        .limit(5)
+                        .forEach(e -> {
+                            Map<String, Object> top = new LinkedHashMap<>();
+                            top.put("name", e.getKey());
+                            top.put("count", e.getValue().get());
+                            topNames.add(top);
+                        });
+                stats.put("topNames", topNames);
+                return stats;
+            });
+        }
+    }
+}
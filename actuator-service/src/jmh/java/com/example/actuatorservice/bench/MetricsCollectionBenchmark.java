@@ -0,0 +1,53 @@
+package com.example.actuatorservice.bench;
+
+import com.example.actuatorservice.GreetingService;
+import com.example.actuatorservice.MemoryPoolCollector;
+import com.example.actuatorservice.MetricsCollectorService;
+import com.example.actuatorservice.MetricsHistory;
+import com.example.actuatorservice.MetricsSegmentStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one collector tick: the full collectMetrics (MXBean reads, history tiers with
+ * memory columns and event publication to a no-op publisher) and reading the memory pool
+ * breakdown into a row on its own.
+ * The on-disk store is disabled so the numbers do not depend on the file system.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsCollectionBenchmark {
+
+    private MetricsCollectorService collector;
+    private MemoryPoolCollector memoryPools;
+    private long[] memoryRow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memoryPools = new MemoryPoolCollector();
+        memoryRow = new long[memoryPools.layout().width()];
+        MetricsHistory history = new MetricsHistory(memoryPools.layout(),
+                Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofDays(30));
+        MetricsSegmentStore store = new MetricsSegmentStore(false, Path.of("."), Duration.ofHours(48), Duration.ofDays(30));
+        collector = new MetricsCollectorService(history, store, memoryPools, new GreetingService(), event -> {});
+    }
+
+    @Benchmark
+    public void collectMetrics() {
+        collector.collectMetrics();
+    }
+
+    @Benchmark
+    public long[] memoryPools() {
+        memoryPools.collect(Instant.now(), memoryRow);
+        return memoryRow;
+    }
+}
@@ -2,15 +2,12 @@ package com.example.actuatorservice;
 
 import jakarta.servlet.http.HttpServletRequest;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Proxies actuator requests from the main server port to the management port,
@@ -20,123 +17,103 @@ import org.springframework.web.client.RestTemplate;
 @RequestMapping("/api/actuator")
 public class ActuatorProxyController {
 
-    private final String managementBase;
-    private final RestTemplate restTemplate;
+    private final ManagementProxy proxy;
 
-    public ActuatorProxyController(@Value("${management.server.port}") int managementPort) {
-        this.managementBase = "http://127.0.0.1:" + managementPort;
-        this.restTemplate = new RestTemplate();
+    public ActuatorProxyController(ManagementProxy proxy) {
+        this.proxy = proxy;
     }
 
     @GetMapping
-    public ResponseEntity<String> actuatorIndex() {
-        return proxy("/actuator");
+    public ResponseEntity<StreamingResponseBody> actuatorIndex(HttpServletRequest request) {
+        return proxy.forward("/actuator", request);
     }
 
     @GetMapping("/health")
-    public ResponseEntity<String> health() {
-        return proxy("/actuator/health");
+    public ResponseEntity<StreamingResponseBody> health(HttpServletRequest request) {
+        return proxy.forward("/actuator/health", request);
     }
 
     @GetMapping("/info")
-    public ResponseEntity<String> info() {
-        return proxy("/actuator/info");
+    public ResponseEntity<StreamingResponseBody> info(HttpServletRequest request) {
+        return proxy.forward("/actuator/info", request);
     }
 
     @GetMapping("/metrics")
-    public ResponseEntity<String> metrics() {
-        return proxy("/actuator/metrics");
+    public ResponseEntity<StreamingResponseBody> metrics(HttpServletRequest request) {
+        return proxy.forward("/actuator/metrics", request);
     }
 
     @GetMapping("/metrics/{name}")
-    public ResponseEntity<String> metric(@PathVariable String name) {
-        return proxy("/actuator/metrics/" + name);
+    public ResponseEntity<StreamingResponseBody> metric(@PathVariable String name, HttpServletRequest request) {
+        return proxy.forward("/actuator/metrics/" + name, request);
     }
 
     @GetMapping("/env")
-    public ResponseEntity<String> env() {
-        return proxy("/actuator/env");
+    public ResponseEntity<StreamingResponseBody> env(HttpServletRequest request) {
+        return proxy.forward("/actuator/env", request);
     }
 
     @GetMapping("/beans")
-    public ResponseEntity<String> beans() {
-        return proxy("/actuator/beans");
+    public ResponseEntity<StreamingResponseBody> beans(HttpServletRequest request) {
+        return proxy.forward("/actuator/beans", request);
     }
 
     @GetMapping("/mappings")
-    public ResponseEntity<String> mappings() {
-        return proxy("/actuator/mappings");
+    public ResponseEntity<StreamingResponseBody> mappings(HttpServletRequest request) {
+        return proxy.forward("/actuator/mappings", request);
     }
 
     @GetMapping("/configprops")
-    public ResponseEntity<String> configprops() {
-        return proxy("/actuator/configprops");
+    public ResponseEntity<StreamingResponseBody> configprops(HttpServletRequest request) {
+        return proxy.forward("/actuator/configprops", request);
     }
 
     @GetMapping("/loggers")
-    public ResponseEntity<String> loggers() {
-        return proxy("/actuator/loggers");
+    public ResponseEntity<StreamingResponseBody> loggers(HttpServletRequest request) {
+        return proxy.forward("/actuator/loggers", request);
     }
 
     @GetMapping("/threaddump")
-    public ResponseEntity<String> threaddump() {
-        return proxy("/actuator/threaddump");
+    public ResponseEntity<StreamingResponseBody> threaddump(HttpServletRequest request) {
+        return proxy.forward("/actuator/threaddump", request);
     }
 
     @GetMapping("/scheduledtasks")
-    public ResponseEntity<String> scheduledtasks() {
-        return proxy("/actuator/scheduledtasks");
+    public ResponseEntity<StreamingResponseBody> scheduledtasks(HttpServletRequest request) {
+        return proxy.forward("/actuator/scheduledtasks", request);
     }
 
     @GetMapping("/conditions")
-    public ResponseEntity<String> conditions() {
-        return proxy("/actuator/conditions");
+    public ResponseEntity<StreamingResponseBody> conditions(HttpServletRequest request) {
+        return proxy.forward("/actuator/conditions", request);
     }
 
     @GetMapping("/caches")
-    public ResponseEntity<String> caches() {
-        return proxy("/actuator/caches");
+    public ResponseEntity<StreamingResponseBody> caches(HttpServletRequest request) {
+        return proxy.forward("/actuator/caches", request);
     }
 
     @GetMapping("/caches/{cache}")
-    public ResponseEntity<String> cache(@PathVariable String cache) {
-        return proxy("/actuator/caches/" + cache);
+    public ResponseEntity<StreamingResponseBody> cache(@PathVariable String cache, HttpServletRequest request) {
+        return proxy.forward("/actuator/caches/" + cache, request);
     }
 
     @GetMapping("/sbom")
-    public ResponseEntity<String> sbom() {
-        return proxy("/actuator/sbom");
+    public ResponseEntity<StreamingResponseBody> sbom(HttpServletRequest request) {
+        return proxy.forward("/actuator/sbom", request);
     }
 
     @GetMapping("/sbom/{id}")
-    public ResponseEntity<String> sbomById(@PathVariable String id) {
-        return proxy("/actuator/sbom/" + id);
+    public ResponseEntity<StreamingResponseBody> sbomById(@PathVariable String id, HttpServletRequest request) {
+        return proxy.forward("/actuator/sbom/" + id, request);
     }
 
     /** Catch-all: proxies any sub-path like /health/{*path}, /env/{toMatch}, /loggers/{name}, etc. */
     @GetMapping("/{endpoint}/**")
-    public ResponseEntity<String> catchAll(HttpServletRequest request) {
+    public ResponseEntity<StreamingResponseBody> catchAll(HttpServletRequest request) {
         // Strip the /api/actuator prefix to get the actuator path
         String uri = request.getRequestURI();                       // e.g. /api/actuator/loggers/ROOT
         String actuatorPath = uri.replaceFirst("^/api/actuator", "/actuator");
-        return proxy(actuatorPath);
-    }
-
-    private ResponseEntity<String> proxy(String path) {
-        try {
-            ResponseEntity<String> resp = restTemplate.exchange(
-                    managementBase + path, HttpMethod.GET, null, String.class);
-            return ResponseEntity.status(resp.getStatusCode())
-                    .header("Content-Type", "application/json")
-                    .body(resp.getBody());
-        } catch (HttpClientErrorException e) {
-            // Forward 4xx status codes faithfully (e.g. 404 for invalid param)
-            return ResponseEntity.status(e.getStatusCode())
-                    .header("Content-Type", "application/json")
-                    .body(e.getResponseBodyAsString());
-        } catch (Exception e) {
-            return ResponseEntity.status(503)
-                    .body("{\"error\":\"Management endpoint unavailable: " + e.getMessage() + "\"}");
-        }
+        return proxy.forward(actuatorPath, request);
     }
 }
@@ -0,0 +1,60 @@
+package com.example.actuatorservice;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caffeine caches, each with its own size bound, lifetime and statistics (exposed by
+ * Micrometer as cache.gets/cache.puts/cache.evictions tagged with the cache name, from
+ * which /actuator/metrics gives per-cache hit ratios).
+ *
+ * systemInfo and greetingStats are refresh-ahead caches: they load their value themselves,
+ * and a read after the refresh interval returns the current value while a new one is
+ * computed in the background, so readers never wait on recomputation as long as the
+ * entry is read more often than it expires. Any other cache named in a @Cacheable gets
+ * the default bounded spec.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(SystemInfoService systemInfoService,
+                                     GreetingService greetingService,
+                                     @Value("${app.cache.system-info.refresh:3s}") Duration systemInfoRefresh,
+                                     @Value("${app.cache.system-info.expire:1m}") Duration systemInfoExpire,
+                                     @Value("${app.cache.greeting-stats.refresh:1s}") Duration statsRefresh,
+                                     @Value("${app.cache.greeting-stats.expire:1m}") Duration statsExpire,
+                                     @Value("${app.cache.default.max-size:1000}") long defaultMaxSize,
+                                     @Value("${app.cache.default.ttl:5m}") Duration defaultTtl) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(defaultMaxSize)
+                .expireAfterWrite(defaultTtl)
+                .recordStats());
+        manager.registerCustomCache("systemInfo",
+                refreshAhead(systemInfoRefresh, systemInfoExpire, key -> systemInfoService.systemInfo()));
+        manager.registerCustomCache("greetingStats",
+                refreshAhead(statsRefresh, statsExpire, key -> greetingService.getStats()));
+        return manager;
+    }
+
+    // Both caches hold a single entry under the no-argument key
+    private static Cache<Object, Object> refreshAhead(Duration refresh, Duration expire,
+                                                      CacheLoader<Object, Object> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(refresh)
+                .expireAfterWrite(expire)
+                .recordStats()
+                .build(loader);
+    }
+}
@@ -1,8 +1,6 @@
 package com.example.actuatorservice;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 
 import org.springframework.context.event.EventListener;
 import org.springframework.http.MediaType;
@@ -13,39 +11,40 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 @RestController
 public class EventStreamController {
 
-    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final SseBroadcaster broadcaster;
+    private final MetricsHistory history;
+
+    public EventStreamController(SseBroadcaster broadcaster, MetricsHistory history) {
+        this.broadcaster = broadcaster;
+        this.history = history;
+    }
 
     @GetMapping(value = "/api/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     public SseEmitter streamEvents() {
-        SseEmitter emitter = new SseEmitter(0L);
-        emitters.add(emitter);
-        emitter.onCompletion(() -> emitters.remove(emitter));
-        emitter.onTimeout(() -> emitters.remove(emitter));
-        emitter.onError(e -> emitters.remove(emitter));
-        return emitter;
+        return broadcaster.subscribe();
     }
 
+    @GetMapping("/api/events/stats")
+    public Map<String, Object> streamStats() {
+        return broadcaster.stats();
+    }
+
+    // Only the newest metrics snapshot matters to a lagging client; greetings are kept in order
     @EventListener
     public void onMetricSnapshot(MetricSnapshotEvent event) {
-        sendEvent("metrics", event.snapshot());
+        broadcaster.publish("metrics", event.snapshot(), SseBroadcaster.Policy.COALESCE_LATEST);
     }
 
+    // The breakdown is only turned into objects when someone is listening
     @EventListener
-    public void onGreeting(GreetingEvent event) {
-        sendEvent("greeting", event.data());
+    public void onMemorySnapshot(MemorySnapshotEvent event) {
+        if (broadcaster.hasSubscribers()) {
+            broadcaster.publish("memory", history.latestMemory(), SseBroadcaster.Policy.COALESCE_LATEST);
+        }
     }
 
-    private void sendEvent(String eventName, Object data) {
-        List<SseEmitter> dead = new ArrayList<>();
-        for (SseEmitter emitter : emitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name(eventName)
-                        .data(data));
-            } catch (Exception e) {
-                dead.add(emitter);
-            }
-        }
-        emitters.removeAll(dead);
+    @EventListener
+    public void onGreeting(GreetingEvent event) {
+        broadcaster.publish("greeting", event.data(), SseBroadcaster.Policy.DROP_OLDEST);
     }
 }
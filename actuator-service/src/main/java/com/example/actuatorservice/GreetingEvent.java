@@ -1,5 +1,3 @@
 package com.example.actuatorservice;
 
-import java.util.Map;
-
-public record GreetingEvent(Map<String, Object> data) {}
+public record GreetingEvent(GreetingRecord data) {}
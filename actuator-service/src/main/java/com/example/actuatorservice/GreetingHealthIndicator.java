@@ -18,7 +18,7 @@ public class GreetingHealthIndicator implements HealthIndicator {
         long total = greetingService.getTotalCount();
         Health.Builder builder = Health.up()
                 .withDetail("totalGreetings", total)
-                .withDetail("uniqueNames", greetingService.getStats().get("uniqueNames"));
+                .withDetail("uniqueNames", greetingService.getUniqueNameCount());
 
         if (total > 1000) {
             builder.withDetail("warning", "High greeting volume detected");
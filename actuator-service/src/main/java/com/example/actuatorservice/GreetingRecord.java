@@ -0,0 +1,5 @@
+package com.example.actuatorservice;
+
+import java.time.Instant;
+
+public record GreetingRecord(long id, String name, String content, Instant timestamp) {}
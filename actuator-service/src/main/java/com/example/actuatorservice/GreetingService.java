@@ -2,22 +2,42 @@ package com.example.actuatorservice;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
 
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+/**
+ * Greets by name and keeps running statistics without caching or locking on the hot path.
+ *
+ * The last {@link #HISTORY_SIZE} greetings live in a fixed ring of immutable records
+ * indexed by id, so recording one is a single array store. Name frequencies go to a
+ * {@link SpaceSavingCounter}, which bounds memory however many distinct names arrive while
+ * keeping the heavy hitters (exact while there are no more distinct names than counters).
+ * The counter is single-writer: a greeting only enqueues its name on a lock-free queue and
+ * drains the queue into the counter if no other thread is doing so (tryLock), so request
+ * threads never wait on each other. Reading the stats drains whatever is still queued.
+ * The number of distinct names is a {@link HyperLogLog} estimate in 16 KB, exact for a
+ * handful of names and within a few percent for millions.
+ * Stats are read straight from these structures in O(k).
+ */
 @Service
 public class GreetingService {
 
+    static final int HISTORY_SIZE = 50;
+    private static final int TOP_NAMES = 5;
+    private static final int TRACKED_NAMES = 1000;
+
     private static final String template = "Hello, %s!";
     private final AtomicLong counter = new AtomicLong();
-    private final ConcurrentLinkedDeque<Map<String, Object>> history = new ConcurrentLinkedDeque<>();
-    private final ConcurrentHashMap<String, AtomicLong> nameCounts = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<GreetingRecord> history = new AtomicReferenceArray<>(HISTORY_SIZE);
+    private final HyperLogLog names = new HyperLogLog();
+    private final SpaceSavingCounter topNames = new SpaceSavingCounter(TRACKED_NAMES);
+    private final Queue<String> pendingNames = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock drain = new ReentrantLock();
 
     private ApplicationEventPublisher eventPublisher;
 
@@ -33,28 +53,28 @@ public class GreetingService {
         this.eventPublisher = eventPublisher;
     }
 
-    @CacheEvict(cacheNames = {"greetingStats", "greetingHistory"}, allEntries = true)
     public Greeting greet(String name) {
         long id = counter.incrementAndGet();
         Greeting greeting = new Greeting(id, String.format(template, name));
-
-        // Track history (keep last 50)
-        Map<String, Object> entry = new LinkedHashMap<>();
-        entry.put("id", id);
-        entry.put("name", name);
-        entry.put("content", greeting.getContent());
-        entry.put("timestamp", Instant.now().toString());
-        history.addFirst(entry);
-        while (history.size() > 50) {
-            history.removeLast();
+        GreetingRecord record = new GreetingRecord(id, name, greeting.getContent(), Instant.now());
+
+        // A slow writer must not overwrite a newer greeting that has already wrapped into its slot
+        history.accumulateAndGet(slot(id), record,
+                (current, next) -> current == null || current.id() < next.id() ? next : current);
+
+        names.offer(name);
+        pendingNames.offer(name);
+        if (drain.tryLock()) {
+            try {
+                drainNames();
+            } finally {
+                drain.unlock();
+            }
         }
 
-        // Track name frequency
-        nameCounts.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
-
         // Broadcast greeting event via SSE
         if (eventPublisher != null) {
-            eventPublisher.publishEvent(new GreetingEvent(entry));
+            eventPublisher.publishEvent(new GreetingEvent(record));
         }
 
         return greeting;
@@ -64,30 +84,66 @@ public class GreetingService {
         return counter.get();
     }
 
-    @Cacheable("greetingHistory")
+    // Estimated, see HyperLogLog
+    public int getUniqueNameCount() {
+        return (int) Math.min(Integer.MAX_VALUE, names.estimate());
+    }
+
+    // Most recent first
     public List<Map<String, Object>> getHistory() {
-        return new ArrayList<>(history);
+        long newest = counter.get();
+        List<Map<String, Object>> entries = new ArrayList<>(HISTORY_SIZE);
+        for (long id = newest; id > 0 && id > newest - HISTORY_SIZE; id--) {
+            GreetingRecord record = history.get(slot(id));
+            // Skip slots still being written, or already taken by a newer greeting
+            if (record == null || record.id() != id) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", record.id());
+            entry.put("name", record.name());
+            entry.put("content", record.content());
+            entry.put("timestamp", record.timestamp().toString());
+            entries.add(entry);
+        }
+        return entries;
     }
 
-    @Cacheable("greetingStats")
     public Map<String, Object> getStats() {
         Map<String, Object> stats = new LinkedHashMap<>();
         stats.put("totalGreetings", counter.get());
-        stats.put("uniqueNames", nameCounts.size());
+        stats.put("uniqueNames", getUniqueNameCount());
 
         // Top 5 most greeted names
-        List<Map<String, Object>> topNames = new ArrayList<>();
-        nameCounts.entrySet().stream()
-                .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
-                .limit(5)
-                .forEach(e -> {
-                    Map<String, Object> entry = new LinkedHashMap<>();
-                    entry.put("name", e.getKey());
-                    entry.put("count", e.getValue().get());
-                    topNames.add(entry);
-                });
-        stats.put("topNames", topNames);
+        List<Map<String, Object>> top = new ArrayList<>();
+        List<SpaceSavingCounter.Entry> heaviest;
+        drain.lock();
+        try {
+            drainNames();
+            heaviest = topNames.top(TOP_NAMES);
+        } finally {
+            drain.unlock();
+        }
+        for (SpaceSavingCounter.Entry e : heaviest) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", e.item());
+            entry.put("count", e.count());
+            top.add(entry);
+        }
+        stats.put("topNames", top);
 
         return stats;
     }
+
+    // Caller holds the drain lock
+    private void drainNames() {
+        String name;
+        while ((name = pendingNames.poll()) != null) {
+            topNames.offer(name);
+        }
+    }
+
+    private static int slot(long id) {
+        return (int) (id % HISTORY_SIZE);
+    }
 }
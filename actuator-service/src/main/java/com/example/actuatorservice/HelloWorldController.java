@@ -3,6 +3,7 @@ package com.example.actuatorservice;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,7 +28,9 @@ public class HelloWorldController {
         return greetingService.getHistory();
     }
 
+    // Refreshed in the background by the greetingStats cache rather than evicted by greetings
     @GetMapping("/api/greetings/stats")
+    @Cacheable("greetingStats")
     public Map<String, Object> getStats() {
         return greetingService.getStats();
     }
@@ -0,0 +1,74 @@
+package com.example.actuatorservice;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Approximate count of distinct strings in fixed memory (HyperLogLog).
+ *
+ * Each string is hashed to 64 bits; the top precision bits pick one of 2^precision
+ * registers, which keeps the longest run of leading zeros seen in the remaining bits.
+ * The estimate has a standard error of about 1.04 / sqrt(2^precision), 1.6% for the
+ * default 4096 registers (16 KB). Small counts use linear counting over empty registers,
+ * which is close to exact while most registers are still empty.
+ *
+ * Registers only grow, so offers are lock-free max updates and safe from any thread.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+    private final AtomicIntegerArray registers;
+
+    public HyperLogLog() {
+        this(12);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new AtomicIntegerArray(1 << precision);
+    }
+
+    public void offer(String item) {
+        long hash = hash(item);
+        int index = (int) (hash >>> (64 - precision));
+        // Sentinel bit bounds the rank when the remaining bits are all zero
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+        if (registers.get(index) < rank) {
+            registers.accumulateAndGet(index, rank, Math::max);
+        }
+    }
+
+    public long estimate() {
+        int m = registers.length();
+        double sum = 0;
+        int empty = 0;
+        for (int i = 0; i < m; i++) {
+            int rank = registers.get(i);
+            sum += 1.0 / (1L << rank);
+            if (rank == 0) empty++;
+        }
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double raw = alpha * m * m / sum;
+        if (raw <= 2.5 * m && empty > 0) {
+            return Math.round(m * Math.log((double) m / empty));
+        }
+        return Math.round(raw);
+    }
+
+    // FNV-1a over the chars, then the MurmurHash3 finalizer to spread the bits
+    private static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < item.length(); i++) {
+            h ^= item.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.actuatorservice;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process sampling profiler built on JFR event streaming.
+ *
+ * A {@link RecordingStream} delivers execution samples, allocation samples and garbage
+ * collections to this class on the stream's own thread, where they are aggregated into
+ * a time window: samples per method (self, where the method was on top of the stack, and
+ * total, where it was anywhere on it), sampled allocation bytes per class, and GC counts
+ * and pause times. When a window ends it is kept as the previous one, so a profile always
+ * covers between one and two windows of recent activity.
+ *
+ * Allocation samples are throttled by JFR and weighted by the bytes allocated since the
+ * previous sample, so their sum estimates the allocation rate.
+ */
+@Component
+public class JfrProfiler {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrProfiler.class);
+
+    private final boolean enabled;
+    private final Duration samplePeriod;
+    private final long windowMillis;
+    private RecordingStream stream;
+    private Window current = new Window(System.currentTimeMillis());
+    private Window previous;
+
+    public JfrProfiler(@Value("${app.profiling.enabled:true}") boolean enabled,
+                       @Value("${app.profiling.sample-period:20ms}") Duration samplePeriod,
+                       @Value("${app.profiling.window:60s}") Duration window) {
+        this.enabled = enabled;
+        this.samplePeriod = samplePeriod;
+        this.windowMillis = window.toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable("jdk.ExecutionSample").withPeriod(samplePeriod);
+            stream.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+            stream.enable("jdk.GarbageCollection");
+            // Events are consumed as they arrive; nothing needs to stay in the repository
+            stream.setMaxAge(Duration.ofSeconds(10));
+            stream.onEvent("jdk.ExecutionSample", this::onExecutionSample);
+            stream.onEvent("jdk.ObjectAllocationSample", this::onAllocationSample);
+            stream.onEvent("jdk.GarbageCollection", this::onGarbageCollection);
+            stream.startAsync();
+            log.info("JFR profiling started (sample period {}, window {} ms)", samplePeriod, windowMillis);
+        } catch (RuntimeException e) {
+            // JFR may be unavailable (e.g. disabled in this JVM)
+            log.warn("JFR profiling unavailable: {}", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private synchronized Window window() {
+        long now = System.currentTimeMillis();
+        if (now - current.start >= windowMillis) {
+            // After an idle stretch the finished window is no longer recent
+            previous = now - current.start < 2 * windowMillis ? current : null;
+            current = new Window(now);
+        }
+        return current;
+    }
+
+    private void onExecutionSample(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        Set<String> seen = new HashSet<>();
+        String top = null;
+        for (RecordedFrame frame : frames) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String method = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+            if (top == null) {
+                top = method;
+            }
+            seen.add(method);
+        }
+        if (top == null) {
+            return;
+        }
+        synchronized (this) {
+            Window window = window();
+            window.executionSamples++;
+            window.methods.computeIfAbsent(top, k -> new long[2])[0]++;
+            for (String method : seen) {
+                window.methods.computeIfAbsent(method, k -> new long[2])[1]++;
+            }
+        }
+    }
+
+    private void onAllocationSample(RecordedEvent event) {
+        long weight = event.getLong("weight");
+        RecordedClass type = event.getClass("objectClass");
+        String name = type != null ? type.getName() : "unknown";
+        synchronized (this) {
+            Window window = window();
+            window.allocatedBytes += weight;
+            window.allocations.merge(name, weight, Long::sum);
+        }
+    }
+
+    private void onGarbageCollection(RecordedEvent event) {
+        long pauseNanos = event.getDuration("sumOfPauses").toNanos();
+        String collector = event.getString("name");
+        synchronized (this) {
+            Window window = window();
+            window.gcPauseNanos += pauseNanos;
+            window.gcMaxPauseNanos = Math.max(window.gcMaxPauseNanos, pauseNanos);
+            window.collections.merge(collector, 1L, Long::sum);
+        }
+    }
+
+    // Hot methods by self samples, top allocating classes, and GC activity
+    public Map<String, Object> profile(int top) {
+        Window merged;
+        long start;
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            window();
+            merged = new Window(0);
+            merged.add(current);
+            if (previous != null) {
+                merged.add(previous);
+            }
+            start = previous != null ? previous.start : current.start;
+        }
+        double seconds = Math.max(1, now - start) / 1000.0;
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("running", isRunning());
+        profile.put("windowSeconds", seconds);
+        profile.put("executionSamples", merged.executionSamples);
+
+        List<Map<String, Object>> hotMethods = new ArrayList<>();
+        merged.methods.entrySet().stream()
+                .filter(e -> e.getValue()[0] > 0)
+                .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                .limit(top)
+                .forEach(e -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("method", e.getKey());
+                    entry.put("self", e.getValue()[0]);
+                    entry.put("total", e.getValue()[1]);
+                    entry.put("selfPercent", percent(e.getValue()[0], merged.executionSamples));
+                    entry.put("totalPercent", percent(e.getValue()[1], merged.executionSamples));
+                    hotMethods.add(entry);
+                });
+        profile.put("hotMethods", hotMethods);
+
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("bytesPerSecond", Math.round(merged.allocatedBytes / seconds));
+        List<Map<String, Object>> topClasses = new ArrayList<>();
+        merged.allocations.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+                .limit(top)
+                .forEach(e -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("class", e.getKey());
+                    entry.put("bytes", e.getValue());
+                    entry.put("percent", percent(e.getValue(), merged.allocatedBytes));
+                    topClasses.add(entry);
+                });
+        allocation.put("topClasses", topClasses);
+        profile.put("allocation", allocation);
+
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("collections", merged.collections);
+        gc.put("pauseMillis", merged.gcPauseNanos / 1e6);
+        gc.put("maxPauseMillis", merged.gcMaxPauseNanos / 1e6);
+        gc.put("pausePercent", percent(merged.gcPauseNanos, (long) (seconds * 1e9)));
+        profile.put("gc", gc);
+        return profile;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0.0 : Math.round(10_000.0 * part / whole) / 100.0;
+    }
+
+    private static final class Window {
+
+        final long start;
+        long executionSamples;
+        // method -> {self, total}
+        final Map<String, long[]> methods = new HashMap<>();
+        long allocatedBytes;
+        final Map<String, Long> allocations = new HashMap<>();
+        long gcPauseNanos;
+        long gcMaxPauseNanos;
+        final Map<String, Long> collections = new HashMap<>();
+
+        Window(long start) {
+            this.start = start;
+        }
+
+        void add(Window other) {
+            executionSamples += other.executionSamples;
+            other.methods.forEach((method, counts) -> {
+                long[] mine = methods.computeIfAbsent(method, k -> new long[2]);
+                mine[0] += counts[0];
+                mine[1] += counts[1];
+            });
+            allocatedBytes += other.allocatedBytes;
+            other.allocations.forEach((type, bytes) -> allocations.merge(type, bytes, Long::sum));
+            gcPauseNanos += other.gcPauseNanos;
+            gcMaxPauseNanos = Math.max(gcMaxPauseNanos, other.gcMaxPauseNanos);
+            other.collections.forEach((name, count) -> collections.merge(name, count, Long::sum));
+        }
+    }
+}
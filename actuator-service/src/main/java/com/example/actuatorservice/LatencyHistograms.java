@@ -0,0 +1,111 @@
+package com.example.actuatorservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-endpoint request latency as HDR histograms (3 significant digits, in nanoseconds).
+ *
+ * Request threads record into a {@link Recorder}, which is wait-free for writers. Readers
+ * drain the recorder into the current interval of a small ring; the ring advances on a
+ * schedule, so percentiles cover a sliding window of the last intervals rather than the
+ * whole lifetime, where old traffic would hide a recent regression.
+ */
+@Component
+public class LatencyHistograms {
+
+    private static final int DIGITS = 3;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final int intervals;
+
+    public LatencyHistograms(@Value("${app.latency.intervals:6}") int intervals) {
+        this.intervals = Math.max(1, intervals);
+    }
+
+    public void record(String endpoint, long nanos) {
+        endpoints.computeIfAbsent(endpoint, k -> new Endpoint(intervals)).recorder.recordValue(Math.max(0, nanos));
+    }
+
+    @Scheduled(fixedRateString = "${app.latency.interval-millis:10000}")
+    public void advance() {
+        endpoints.values().forEach(Endpoint::advance);
+    }
+
+    // Endpoints sorted by name, latencies in milliseconds
+    public Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> snapshot = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> snapshot.put(name, endpoint.summary()));
+        return snapshot;
+    }
+
+    Histogram window(String endpoint) {
+        Endpoint e = endpoints.get(endpoint);
+        return e != null ? e.window() : new Histogram(DIGITS);
+    }
+
+    private static final class Endpoint {
+
+        private final Recorder recorder = new Recorder(DIGITS);
+        private final Histogram[] ring;
+        private Histogram spare;
+        private int current;
+        private long lifetimeCount;
+
+        Endpoint(int intervals) {
+            ring = new Histogram[intervals];
+            for (int i = 0; i < intervals; i++) {
+                ring[i] = new Histogram(DIGITS);
+            }
+        }
+
+        private void drain() {
+            spare = recorder.getIntervalHistogram(spare);
+            ring[current].add(spare);
+            lifetimeCount += spare.getTotalCount();
+        }
+
+        synchronized void advance() {
+            drain();
+            current = (current + 1) % ring.length;
+            ring[current].reset();
+        }
+
+        synchronized Histogram window() {
+            drain();
+            Histogram window = new Histogram(DIGITS);
+            for (Histogram interval : ring) {
+                window.add(interval);
+            }
+            return window;
+        }
+
+        Map<String, Object> summary() {
+            Histogram window = window();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", window.getTotalCount());
+            synchronized (this) {
+                summary.put("lifetimeCount", lifetimeCount);
+            }
+            summary.put("meanMs", window.getTotalCount() == 0 ? 0.0 : window.getMean() / 1e6);
+            summary.put("p50Ms", millis(window, 50.0));
+            summary.put("p90Ms", millis(window, 90.0));
+            summary.put("p99Ms", millis(window, 99.0));
+            summary.put("p999Ms", millis(window, 99.9));
+            summary.put("maxMs", window.getMaxValue() / 1e6);
+            return summary;
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
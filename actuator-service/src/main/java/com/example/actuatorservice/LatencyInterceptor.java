@@ -0,0 +1,68 @@
+package com.example.actuatorservice;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records the latency of every controller request in {@link LatencyHistograms}, keyed by
+ * method and mapping pattern (e.g. "GET /hello-world").
+ *
+ * For async handlers (the SSE stream, streamed proxy responses) the recorded time ends
+ * when the handler returns and concurrent handling starts, i.e. time to first byte; the
+ * lifetime of a stream is not a latency.
+ */
+@Component
+public class LatencyInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private static final String START = LatencyInterceptor.class.getName() + ".start";
+
+    private final LatencyHistograms histograms;
+
+    public LatencyInterceptor(LatencyHistograms histograms) {
+        this.histograms = histograms;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch back after async processing was already recorded when it started
+        if (handler instanceof HandlerMethod && request.getDispatcherType() != DispatcherType.ASYNC) {
+            request.setAttribute(START, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        if (!(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+        request.removeAttribute(START);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        histograms.record(endpoint, System.nanoTime() - start);
+    }
+}
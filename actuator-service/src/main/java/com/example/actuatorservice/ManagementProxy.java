@@ -0,0 +1,189 @@
+package com.example.actuatorservice;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Forwards GET requests to the management port.
+ *
+ * A single {@link HttpClient} keeps connections to the management server alive across
+ * requests. Upstream bodies are streamed to the browser as they arrive instead of being
+ * buffered, and are passed through byte for byte: the browser's Accept-Encoding is
+ * forwarded, so a gzip response stays compressed, and upstream headers other than
+ * hop-by-hop ones are copied.
+ *
+ * Responses from the endpoints listed in app.actuator-proxy.cached-paths are buffered
+ * and reused for a short TTL instead, so dashboard polling of large, slowly changing
+ * documents like /beans reaches the management server at most once per TTL. Concurrent
+ * misses for the same entry share a single upstream request.
+ */
+@Component
+public class ManagementProxy {
+
+    private static final Set<String> HOP_BY_HOP = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade");
+
+    private record CachedResponse(int status, HttpHeaders headers, byte[] body, long expiresAt) {}
+
+    private final ObjectMapper objectMapper;
+    private final String managementBase;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final long cacheTtlMillis;
+    private final Set<String> cachedPaths;
+    private final Map<String, CompletableFuture<CachedResponse>> cache = new ConcurrentHashMap<>();
+
+    public ManagementProxy(ObjectMapper objectMapper,
+                           @Value("${management.server.port}") int managementPort,
+                           @Value("${app.actuator-proxy.connect-timeout:2s}") Duration connectTimeout,
+                           @Value("${app.actuator-proxy.request-timeout:30s}") Duration requestTimeout,
+                           @Value("${app.actuator-proxy.cache-ttl:5s}") Duration cacheTtl,
+                           @Value("${app.actuator-proxy.cached-paths:/actuator/env,/actuator/beans,/actuator/mappings}")
+                           Set<String> cachedPaths) {
+        this.objectMapper = objectMapper;
+        this.managementBase = "http://127.0.0.1:" + managementPort;
+        // HTTP/1.1 avoids an h2c upgrade attempt on every new connection to the plain-text port
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.cacheTtlMillis = cacheTtl.toMillis();
+        this.cachedPaths = cachedPaths;
+    }
+
+    @PreDestroy
+    public void close() {
+        // Shuts down the client's selector thread and pooled connections
+        client.close();
+    }
+
+    public ResponseEntity<StreamingResponseBody> forward(String path, HttpServletRequest request) {
+        boolean gzip = acceptsGzip(request);
+        if (cacheTtlMillis > 0 && cachedPaths.contains(path)) {
+            return cached(path, gzip);
+        }
+        HttpResponse<InputStream> response;
+        try {
+            response = send(path, gzip, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            return unavailable(e);
+        }
+        InputStream body = response.body();
+        return ResponseEntity.status(response.statusCode())
+                .headers(copyHeaders(response))
+                .body(out -> {
+                    try (body) {
+                        body.transferTo(out);
+                    }
+                });
+    }
+
+    private ResponseEntity<StreamingResponseBody> cached(String path, boolean gzip) {
+        // Compressed and identity bodies are different entries
+        String key = gzip ? path + "#gzip" : path;
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> entry = cache.compute(key,
+                (k, current) -> current == null || isExpired(current) ? mine : current);
+        if (entry == mine) {
+            try {
+                HttpResponse<byte[]> response = send(path, gzip, HttpResponse.BodyHandlers.ofByteArray());
+                // Only successful responses are reused
+                long expiresAt = response.statusCode() == 200 ? System.currentTimeMillis() + cacheTtlMillis : 0;
+                mine.complete(new CachedResponse(response.statusCode(), copyHeaders(response), response.body(), expiresAt));
+            } catch (IOException | RuntimeException e) {
+                cache.remove(key, mine);
+                mine.completeExceptionally(e);
+            }
+        }
+        CachedResponse response;
+        try {
+            response = entry.join();
+        } catch (CompletionException e) {
+            return unavailable(e.getCause());
+        }
+        byte[] body = response.body();
+        return ResponseEntity.status(response.status())
+                .headers(response.headers())
+                .body(out -> out.write(body));
+    }
+
+    private static boolean isExpired(CompletableFuture<CachedResponse> entry) {
+        // An entry still being fetched is shared, not replaced
+        return entry.isDone() && (entry.isCompletedExceptionally()
+                || entry.join().expiresAt() <= System.currentTimeMillis());
+    }
+
+    private <T> HttpResponse<T> send(String path, boolean gzip, HttpResponse.BodyHandler<T> handler)
+            throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(managementBase + path))
+                .timeout(requestTimeout)
+                .GET();
+        if (gzip) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        }
+        try {
+            return client.send(request.build(), handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while proxying " + path);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accepted = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return accepted != null && accepted.toLowerCase().contains("gzip");
+    }
+
+    private static HttpHeaders copyHeaders(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            String name = header.getKey();
+            if (!name.startsWith(":") && !HOP_BY_HOP.contains(name.toLowerCase())) {
+                headers.addAll(name, header.getValue());
+            }
+        }
+        return headers;
+    }
+
+    ResponseEntity<StreamingResponseBody> unavailable(Throwable e) {
+        String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        byte[] body;
+        try {
+            // The message may hold quotes or non-ASCII text, so let Jackson escape and encode it
+            body = objectMapper.writeValueAsBytes(Map.of("error", "Management endpoint unavailable: " + reason));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return ResponseEntity.status(503)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(body));
+    }
+}
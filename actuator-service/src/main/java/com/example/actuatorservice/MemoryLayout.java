@@ -0,0 +1,142 @@
+package com.example.actuatorservice;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.actuatorservice.MemoryPoolCollector.BufferPool;
+import com.example.actuatorservice.MemoryPoolCollector.Collector;
+import com.example.actuatorservice.MemoryPoolCollector.MemorySnapshot;
+import com.example.actuatorservice.MemoryPoolCollector.Pool;
+
+/**
+ * Column layout of one memory sample as stored in the metric history: for each memory
+ * pool its used, committed and max bytes; for each garbage collector its count and time
+ * and their change since the previous sample; for each buffer pool its count, used and
+ * capacity; then the allocated bytes and the allocation rate in bytes per second.
+ *
+ * The names are fixed for the life of the JVM, so a sample is a row of longs and the
+ * {@link MemorySnapshot} objects are only built when a sample is read. The fingerprint
+ * identifies the layout in segment files, so rows written by a JVM with other pools (a
+ * different collector, say) are not decoded with the wrong names.
+ */
+public final class MemoryLayout {
+
+    static final int POOL_FIELDS = 3;
+    static final int COLLECTOR_FIELDS = 4;
+    static final int BUFFER_FIELDS = 3;
+
+    // How a column is combined into a rollup
+    static final byte AVERAGE = 0;
+    static final byte MAX = 1;
+    static final byte SUM = 2;
+    static final byte LAST = 3;
+
+    private final String[] poolNames;
+    private final String[] poolTypes;
+    private final String[] collectorNames;
+    private final String[] bufferNames;
+    private final int width;
+    private final byte[] aggregation;
+    private final long fingerprint;
+
+    public MemoryLayout(String[] poolNames, String[] poolTypes, String[] collectorNames, String[] bufferNames) {
+        this.poolNames = poolNames.clone();
+        this.poolTypes = poolTypes.clone();
+        this.collectorNames = collectorNames.clone();
+        this.bufferNames = bufferNames.clone();
+        this.width = poolNames.length * POOL_FIELDS + collectorNames.length * COLLECTOR_FIELDS
+                + bufferNames.length * BUFFER_FIELDS + 2;
+
+        this.aggregation = new byte[width];
+        for (int i = 0; i < poolNames.length; i++) {
+            aggregation[pool(i) + 2] = MAX;
+        }
+        for (int i = 0; i < collectorNames.length; i++) {
+            aggregation[collector(i)] = LAST;
+            aggregation[collector(i) + 1] = LAST;
+            aggregation[collector(i) + 2] = SUM;
+            aggregation[collector(i) + 3] = SUM;
+        }
+        aggregation[allocated()] = LAST;
+
+        // FNV-1a over the names
+        long hash = 0xcbf29ce484222325L;
+        for (String[] names : new String[][] {poolNames, poolTypes, collectorNames, bufferNames}) {
+            for (String name : names) {
+                for (int i = 0; i < name.length(); i++) {
+                    hash = (hash ^ name.charAt(i)) * 0x100000001b3L;
+                }
+                hash = (hash ^ 0xff) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0xfe) * 0x100000001b3L;
+        }
+        this.fingerprint = hash;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public int poolCount() {
+        return poolNames.length;
+    }
+
+    public int collectorCount() {
+        return collectorNames.length;
+    }
+
+    public int bufferCount() {
+        return bufferNames.length;
+    }
+
+    // First column of pool i: used, committed, max
+    public int pool(int i) {
+        return i * POOL_FIELDS;
+    }
+
+    // First column of collector i: count, timeMillis, countDelta, timeMillisDelta
+    public int collector(int i) {
+        return poolNames.length * POOL_FIELDS + i * COLLECTOR_FIELDS;
+    }
+
+    // First column of buffer pool i: count, used, capacity
+    public int buffer(int i) {
+        return poolNames.length * POOL_FIELDS + collectorNames.length * COLLECTOR_FIELDS + i * BUFFER_FIELDS;
+    }
+
+    public int allocated() {
+        return width - 2;
+    }
+
+    public int allocationRate() {
+        return width - 1;
+    }
+
+    byte aggregation(int column) {
+        return aggregation[column];
+    }
+
+    public MemorySnapshot snapshot(Instant timestamp, long[] row) {
+        List<Pool> pools = new ArrayList<>(poolNames.length);
+        for (int i = 0; i < poolNames.length; i++) {
+            int c = pool(i);
+            pools.add(new Pool(poolNames[i], poolTypes[i], row[c], row[c + 1], row[c + 2]));
+        }
+        List<Collector> collectors = new ArrayList<>(collectorNames.length);
+        for (int i = 0; i < collectorNames.length; i++) {
+            int c = collector(i);
+            collectors.add(new Collector(collectorNames[i], row[c], row[c + 1], row[c + 2], row[c + 3]));
+        }
+        List<BufferPool> buffers = new ArrayList<>(bufferNames.length);
+        for (int i = 0; i < bufferNames.length; i++) {
+            int c = buffer(i);
+            buffers.add(new BufferPool(bufferNames[i], row[c], row[c + 1], row[c + 2]));
+        }
+        return new MemorySnapshot(timestamp, pools, collectors, buffers, row[allocated()], row[allocationRate()]);
+    }
+}
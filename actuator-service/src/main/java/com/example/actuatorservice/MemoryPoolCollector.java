@@ -0,0 +1,214 @@
+package com.example.actuatorservice;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * Breaks memory down by pool (Eden, Survivor, Old, Metaspace, CodeCache...), garbage
+ * collector and buffer pool (direct, mapped), and derives the allocation rate.
+ *
+ * The MXBeans are looked up once and every tick reads them into a row of longs laid out
+ * by {@link #layout()}, which the caller owns and {@link MetricsHistory} stores column by
+ * column next to the other metrics; apart from the MemoryUsage objects the pool MXBeans
+ * return, collection allocates nothing. A {@link MemorySnapshot} is only built when a
+ * row is read back.
+ *
+ * Allocated bytes come from the JVM's per-thread allocation counters
+ * (com.sun.management.ThreadMXBean#getTotalThreadAllocatedBytes) when they are enabled.
+ * Otherwise they are measured on the young (Eden) pools: between collections the growth
+ * of Eden is allocation, and at each collection a GC notification adds the Eden occupancy
+ * before the collection minus what was left after the previous one. A notification that
+ * arrives after the tick that already saw Eden shrink would make that estimate step back,
+ * so the reported total never decreases and the rate is never negative. The listeners
+ * are removed when the bean is destroyed.
+ */
+@Component
+public class MemoryPoolCollector {
+
+    public record Pool(String name, String type, long used, long committed, long max) {}
+
+    public record Collector(String name, long count, long timeMillis, long countDelta, long timeMillisDelta) {}
+
+    public record BufferPool(String name, long count, long used, long capacity) {}
+
+    public record MemorySnapshot(Instant timestamp, List<Pool> pools, List<Collector> collectors,
+                                 List<BufferPool> bufferPools, long allocatedBytes, double allocationRate) {}
+
+    private final MemoryPoolMXBean[] pools;
+    private final MemoryLayout layout;
+    private final GarbageCollectorMXBean[] collectors;
+    private final BufferPoolMXBean[] bufferPools;
+    private final MemoryPoolMXBean[] edenPools;
+    // Null when per-thread allocation counters are unavailable and Eden accounting is used
+    private final com.sun.management.ThreadMXBean threads;
+    private final List<NotificationEmitter> emitters = new ArrayList<>();
+    private final NotificationListener gcListener = (notification, handback) -> {
+        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            onGarbageCollection(GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData()));
+        }
+    };
+
+    // Collection totals at the previous tick, for the per-tick deltas
+    private final long[] previousGcCount;
+    private final long[] previousGcTime;
+
+    // Eden accounting, updated by GC notifications and read by the collecting thread
+    private long allocatedBeforeLastGc;
+    private long edenAfterLastGc;
+    private long previousAllocated = -1;
+    private long previousMillis;
+
+    @Autowired
+    public MemoryPoolCollector() {
+        this(true);
+    }
+
+    MemoryPoolCollector(boolean useThreadAllocation) {
+        List<MemoryPoolMXBean> allPools = ManagementFactory.getMemoryPoolMXBeans();
+        this.pools = allPools.toArray(new MemoryPoolMXBean[0]);
+        this.collectors = ManagementFactory.getGarbageCollectorMXBeans().toArray(new GarbageCollectorMXBean[0]);
+        this.bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).toArray(new BufferPoolMXBean[0]);
+        this.edenPools = allPools.stream()
+                .filter(p -> p.getName().contains("Eden"))
+                .toArray(MemoryPoolMXBean[]::new);
+        this.layout = new MemoryLayout(
+                Arrays.stream(pools).map(MemoryPoolMXBean::getName).toArray(String[]::new),
+                Arrays.stream(pools).map(p -> p.getType().name().toLowerCase()).toArray(String[]::new),
+                Arrays.stream(collectors).map(GarbageCollectorMXBean::getName).toArray(String[]::new),
+                Arrays.stream(bufferPools).map(BufferPoolMXBean::getName).toArray(String[]::new));
+
+        this.previousGcCount = new long[collectors.length];
+        this.previousGcTime = new long[collectors.length];
+        for (int i = 0; i < collectors.length; i++) {
+            previousGcCount[i] = collectors[i].getCollectionCount();
+            previousGcTime[i] = collectors[i].getCollectionTime();
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        this.threads = useThreadAllocation
+                && threadBean instanceof com.sun.management.ThreadMXBean t
+                && t.isThreadAllocatedMemorySupported() && t.isThreadAllocatedMemoryEnabled() ? t : null;
+
+        edenAfterLastGc = edenUsed();
+        if (threads == null) {
+            for (GarbageCollectorMXBean collector : collectors) {
+                if (collector instanceof NotificationEmitter emitter) {
+                    emitter.addNotificationListener(gcListener, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+    }
+
+    public MemoryLayout layout() {
+        return layout;
+    }
+
+    @PreDestroy
+    public void close() {
+        for (NotificationEmitter emitter : emitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException e) {
+                // Already removed
+            }
+        }
+        emitters.clear();
+    }
+
+    private long edenUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : edenPools) {
+            used += pool.getUsage().getUsed();
+        }
+        return used;
+    }
+
+    private void onGarbageCollection(GarbageCollectionNotificationInfo info) {
+        Map<String, MemoryUsage> before = info.getGcInfo().getMemoryUsageBeforeGc();
+        Map<String, MemoryUsage> after = info.getGcInfo().getMemoryUsageAfterGc();
+        long edenBefore = 0;
+        long edenAfter = 0;
+        for (MemoryPoolMXBean pool : edenPools) {
+            MemoryUsage b = before.get(pool.getName());
+            MemoryUsage a = after.get(pool.getName());
+            edenBefore += b != null ? b.getUsed() : 0;
+            edenAfter += a != null ? a.getUsed() : 0;
+        }
+        synchronized (this) {
+            allocatedBeforeLastGc += Math.max(0, edenBefore - edenAfterLastGc);
+            edenAfterLastGc = edenAfter;
+        }
+    }
+
+    /**
+     * Read the MXBeans into row, which has {@link MemoryLayout#width()} columns; called from
+     * one thread at a time
+     */
+    public void collect(Instant timestamp, long[] row) {
+        for (int i = 0; i < pools.length; i++) {
+            MemoryUsage usage = pools[i].getUsage();
+            int c = layout.pool(i);
+            row[c] = usage.getUsed();
+            row[c + 1] = usage.getCommitted();
+            row[c + 2] = usage.getMax();
+        }
+        for (int i = 0; i < collectors.length; i++) {
+            long count = collectors[i].getCollectionCount();
+            long time = collectors[i].getCollectionTime();
+            int c = layout.collector(i);
+            row[c] = count;
+            row[c + 1] = time;
+            row[c + 2] = count - previousGcCount[i];
+            row[c + 3] = time - previousGcTime[i];
+            previousGcCount[i] = count;
+            previousGcTime[i] = time;
+        }
+        for (int i = 0; i < bufferPools.length; i++) {
+            int c = layout.buffer(i);
+            row[c] = bufferPools[i].getCount();
+            row[c + 1] = bufferPools[i].getMemoryUsed();
+            row[c + 2] = bufferPools[i].getTotalCapacity();
+        }
+
+        long measured = threads != null ? threads.getTotalThreadAllocatedBytes() : edenAllocated();
+        long allocated = Math.max(previousAllocated, measured);
+        long millis = timestamp.toEpochMilli();
+        long rate = 0;
+        if (previousAllocated >= 0 && millis > previousMillis) {
+            rate = Math.round((allocated - previousAllocated) * 1000.0 / (millis - previousMillis));
+        }
+        previousAllocated = allocated;
+        previousMillis = millis;
+        row[layout.allocated()] = allocated;
+        row[layout.allocationRate()] = rate;
+    }
+
+    private long edenAllocated() {
+        long eden = edenUsed();
+        synchronized (this) {
+            return allocatedBeforeLastGc + Math.max(0, eden - edenAfterLastGc);
+        }
+    }
+}
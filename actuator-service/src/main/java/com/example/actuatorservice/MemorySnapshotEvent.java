@@ -0,0 +1,6 @@
+package com.example.actuatorservice;
+
+import java.time.Instant;
+
+// The sample itself is in MetricsHistory; listeners read it only if they need it
+public record MemorySnapshotEvent(Instant timestamp) {}
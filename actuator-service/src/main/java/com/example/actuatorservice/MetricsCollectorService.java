@@ -1,13 +1,18 @@
 package com.example.actuatorservice;
 
+import java.io.UncheckedIOException;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.lang.management.ThreadMXBean;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
 
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -15,19 +20,54 @@ import org.springframework.stereotype.Service;
 @Service
 public class MetricsCollectorService {
 
-    private static final int MAX_SNAPSHOTS = 300;
+    static final long INTERVAL_MILLIS = 2000;
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsCollectorService.class);
+    private static final Duration RESTORE_WINDOW = Duration.ofHours(24);
+    private static final long MINUTE = Duration.ofMinutes(1).toMillis();
 
-    private final ConcurrentLinkedDeque<MetricSnapshot> snapshots = new ConcurrentLinkedDeque<>();
+    private final MetricsHistory history;
+    private final MetricsSegmentStore store;
+    private final MemoryPoolCollector memoryPools;
     private final GreetingService greetingService;
     private final ApplicationEventPublisher eventPublisher;
-
-    public MetricsCollectorService(GreetingService greetingService,
+    private final AtomicLong storeFailures = new AtomicLong();
+    // Memory columns of the current tick, refilled every tick
+    private final long[] memoryRow;
+
+    public MetricsCollectorService(MetricsHistory history,
+                                   MetricsSegmentStore store,
+                                   MemoryPoolCollector memoryPools,
+                                   GreetingService greetingService,
                                    ApplicationEventPublisher eventPublisher) {
+        this.history = history;
+        this.store = store;
+        this.memoryPools = memoryPools;
         this.greetingService = greetingService;
         this.eventPublisher = eventPublisher;
+        this.memoryRow = new long[memoryPools.layout().width()];
+    }
+
+    // Rebuild the in-memory tiers from disk before collection starts: minute rollups for
+    // everything older than a day feed the hourly tier, then the last day's raw samples
+    @PostConstruct
+    public void restoreHistory() {
+        long now = System.currentTimeMillis();
+        long rawFrom = now - RESTORE_WINDOW.toMillis();
+        rawFrom -= Math.floorMod(rawFrom, MINUTE);
+        List<MetricsSegmentStore.Row> minutes = store.rows(MetricsHistory.Resolution.MINUTE,
+                Instant.EPOCH, Instant.ofEpochMilli(rawFrom), Integer.MAX_VALUE, true);
+        for (int i = minutes.size() - 1; i >= 0; i--) {
+            history.recordMinute(minutes.get(i).metrics(), minutes.get(i).memory());
+        }
+        List<MetricsSegmentStore.Row> stored = store.rows(MetricsHistory.Resolution.RAW,
+                Instant.ofEpochMilli(rawFrom), Instant.ofEpochMilli(now + 1), Integer.MAX_VALUE, true);
+        for (int i = stored.size() - 1; i >= 0; i--) {
+            history.record(stored.get(i).metrics(), stored.get(i).memory());
+        }
     }
 
-    @Scheduled(fixedRate = 2000)
+    @Scheduled(fixedRate = INTERVAL_MILLIS)
     public void collectMetrics() {
         MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
         ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
@@ -51,34 +91,44 @@ public class MetricsCollectorService {
         } catch (Exception ignored) {
         }
 
+        Instant now = Instant.now();
         MetricSnapshot snapshot = new MetricSnapshot(
-                Instant.now(),
+                now,
                 heapUsed, heapMax, heapCommitted,
                 threadCount, daemonThreadCount, peakThreadCount,
                 cpuUsage, systemCpuUsage,
                 greetingService.getTotalCount()
         );
 
-        snapshots.addFirst(snapshot);
-        while (snapshots.size() > MAX_SNAPSHOTS) {
-            snapshots.removeLast();
+        memoryPools.collect(now, memoryRow);
+        history.record(snapshot, memoryRow);
+        // A disk problem loses the sample on disk only; live metrics keep flowing
+        try {
+            store.append(snapshot, memoryRow);
+        } catch (UncheckedIOException e) {
+            log.warn("Failed to store metric sample ({} failures so far): {}",
+                    storeFailures.incrementAndGet(), e.getMessage());
         }
 
         eventPublisher.publishEvent(new MetricSnapshotEvent(snapshot));
+        eventPublisher.publishEvent(new MemorySnapshotEvent(now));
     }
 
     public List<MetricSnapshot> getSnapshots() {
-        return new ArrayList<>(snapshots);
+        return history.recent(MetricsHistory.Resolution.RAW, Integer.MAX_VALUE);
     }
 
     public List<MetricSnapshot> getRecentSnapshots(int count) {
-        List<MetricSnapshot> all = new ArrayList<>(snapshots);
-        if (all.size() <= count) return all;
-        return all.subList(0, count);
+        return history.recent(MetricsHistory.Resolution.RAW, count);
     }
 
     public MetricSnapshot getLatest() {
-        return snapshots.peekFirst();
+        return history.latest();
+    }
+
+    // Samples that could not be written to the on-disk store since startup
+    public long getStoreFailures() {
+        return storeFailures.get();
     }
 
     public record MetricSnapshot(
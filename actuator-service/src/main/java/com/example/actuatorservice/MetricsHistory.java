@@ -0,0 +1,264 @@
+package com.example.actuatorservice;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.actuatorservice.MemoryPoolCollector.MemorySnapshot;
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+/**
+ * Metric history in three tiers: raw samples, 1-minute rollups and 1-hour rollups, each
+ * in its own {@link MetricsRingBuffer} sized from its retention. Rollups average the
+ * gauges (heap, threads, CPU), take the maximum of heapMax and peakThreadCount and the
+ * last greeting total, so every tier has the same shape. A rollup is published once its
+ * period has ended.
+ *
+ * The memory pool breakdown of each sample is stored in the same slots, laid out by the
+ * {@link MemoryLayout}, and rolled up with it: pool and buffer gauges and the allocation
+ * rate are averaged, pool max is the maximum, collection counts and times and the
+ * allocated total are the last value and the per-sample collection deltas are summed.
+ *
+ * Written only from the collector's scheduler thread; read from any thread.
+ */
+@Component
+public class MetricsHistory {
+
+    public enum Resolution {
+        RAW, MINUTE, HOUR;
+
+        public static Resolution parse(String value) {
+            return switch (value.toLowerCase()) {
+                case "raw", "2s" -> RAW;
+                case "1m", "minute" -> MINUTE;
+                case "1h", "hour" -> HOUR;
+                default -> throw new IllegalArgumentException("Unknown resolution: " + value + " (raw, 1m, 1h)");
+            };
+        }
+    }
+
+    private final MemoryLayout memoryLayout;
+    private final MetricsRingBuffer raw;
+    private final MetricsRingBuffer minutes;
+    private final MetricsRingBuffer hours;
+    private final Rollup minuteRollup;
+    private final Rollup hourRollup;
+
+    @Autowired
+    public MetricsHistory(MemoryPoolCollector memoryPools,
+                          @Value("${app.metrics.retention.raw:10m}") Duration rawRetention,
+                          @Value("${app.metrics.retention.minute:24h}") Duration minuteRetention,
+                          @Value("${app.metrics.retention.hour:30d}") Duration hourRetention) {
+        this(memoryPools.layout(), rawRetention, minuteRetention, hourRetention);
+    }
+
+    // Without memory columns
+    public MetricsHistory(Duration rawRetention, Duration minuteRetention, Duration hourRetention) {
+        this((MemoryLayout) null, rawRetention, minuteRetention, hourRetention);
+    }
+
+    public MetricsHistory(MemoryLayout memoryLayout, Duration rawRetention, Duration minuteRetention,
+                          Duration hourRetention) {
+        Duration interval = Duration.ofMillis(MetricsCollectorService.INTERVAL_MILLIS);
+        this.memoryLayout = memoryLayout;
+        this.raw = new MetricsRingBuffer(slots(rawRetention, interval), memoryLayout);
+        this.minutes = new MetricsRingBuffer(slots(minuteRetention, Duration.ofMinutes(1)), memoryLayout);
+        this.hours = new MetricsRingBuffer(slots(hourRetention, Duration.ofHours(1)), memoryLayout);
+        this.minuteRollup = new Rollup(Duration.ofMinutes(1).toMillis(), memoryLayout);
+        this.hourRollup = new Rollup(Duration.ofHours(1).toMillis(), memoryLayout);
+    }
+
+    private static int slots(Duration retention, Duration period) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 1, retention.toMillis() / period.toMillis()));
+    }
+
+    // Null when the history keeps no memory columns
+    public MemoryLayout memoryLayout() {
+        return memoryLayout;
+    }
+
+    public void record(MetricSnapshot snapshot) {
+        record(snapshot, null);
+    }
+
+    // memory is a row laid out by memoryLayout(), or null if the sample has none; it is copied
+    public void record(MetricSnapshot snapshot, long[] memory) {
+        raw.append(snapshot, memory);
+        MetricSnapshot minute = minuteRollup.add(snapshot, memory);
+        if (minute != null) {
+            recordMinute(minute, minuteRollup.memory());
+        }
+    }
+
+    /**
+     * Add a finished 1-minute rollup, e.g. one read back from disk for a period whose raw
+     * samples are no longer replayed; it must be older than any sample recorded since
+     */
+    public void recordMinute(MetricSnapshot minute, long[] memory) {
+        minutes.append(minute, memory);
+        MetricSnapshot hour = hourRollup.add(minute, memory);
+        if (hour != null) {
+            hours.append(hour, hourRollup.memory());
+        }
+    }
+
+    public MetricSnapshot latest() {
+        return raw.latest();
+    }
+
+    public MemorySnapshot latestMemory() {
+        return raw.latestMemory();
+    }
+
+    // Most recent first
+    public List<MemorySnapshot> recentMemory(Resolution resolution, int count) {
+        return tier(resolution).recentMemory(count);
+    }
+
+    public List<MemorySnapshot> memoryBetween(Resolution resolution, Instant from, Instant to, int count) {
+        return tier(resolution).memoryBetween(from, to, count);
+    }
+
+    // Most recent first
+    public List<MetricSnapshot> recent(Resolution resolution, int count) {
+        return tier(resolution).recent(count);
+    }
+
+    public List<MetricSnapshot> between(Resolution resolution, Instant from, Instant to, int count) {
+        return tier(resolution).between(from, to, count);
+    }
+
+    public MetricsRingBuffer tier(Resolution resolution) {
+        return switch (resolution) {
+            case RAW -> raw;
+            case MINUTE -> minutes;
+            case HOUR -> hours;
+        };
+    }
+
+    /**
+     * Accumulates samples for one period; adding the first sample of a later period
+     * returns the finished rollup and starts the next one. With a memory layout the memory
+     * columns are accumulated into arrays allocated once; {@link #memory()} holds the
+     * memory row of the rollup last returned.
+     */
+    static final class Rollup {
+
+        private final long periodMillis;
+        private long periodStart = -1;
+        private int samples;
+        private double heapUsed;
+        private long heapMax;
+        private double heapCommitted;
+        private double threadCount;
+        private double daemonThreadCount;
+        private int peakThreadCount;
+        private double cpuUsage;
+        private double systemCpuUsage;
+        private long totalGreetings;
+        private final MemoryLayout memoryLayout;
+        private final double[] memorySums;
+        private final long[] memoryResult;
+        private int memorySamples;
+        private boolean memoryReady;
+
+        Rollup(long periodMillis) {
+            this(periodMillis, null);
+        }
+
+        Rollup(long periodMillis, MemoryLayout memoryLayout) {
+            this.periodMillis = periodMillis;
+            this.memoryLayout = memoryLayout;
+            int width = memoryLayout != null ? memoryLayout.width() : 0;
+            this.memorySums = new double[width];
+            this.memoryResult = new long[width];
+        }
+
+        MetricSnapshot add(MetricSnapshot sample) {
+            return add(sample, null);
+        }
+
+        MetricSnapshot add(MetricSnapshot sample, long[] memory) {
+            long millis = sample.timestamp().toEpochMilli();
+            long start = millis - Math.floorMod(millis, periodMillis);
+            MetricSnapshot finished = null;
+            if (samples > 0 && start != periodStart) {
+                finished = result();
+                samples = 0;
+            }
+            if (samples == 0) {
+                periodStart = start;
+                heapUsed = heapCommitted = threadCount = daemonThreadCount = cpuUsage = systemCpuUsage = 0;
+                heapMax = 0;
+                peakThreadCount = 0;
+                memorySamples = 0;
+            }
+            samples++;
+            heapUsed += sample.heapUsed();
+            heapMax = Math.max(heapMax, sample.heapMax());
+            heapCommitted += sample.heapCommitted();
+            threadCount += sample.threadCount();
+            daemonThreadCount += sample.daemonThreadCount();
+            peakThreadCount = Math.max(peakThreadCount, sample.peakThreadCount());
+            cpuUsage += sample.cpuUsage();
+            systemCpuUsage += sample.systemCpuUsage();
+            totalGreetings = sample.totalGreetings();
+            if (memory != null && memorySums.length > 0 && memory.length == memorySums.length) {
+                addMemory(memory);
+            }
+            return finished;
+        }
+
+        private void addMemory(long[] memory) {
+            for (int c = 0; c < memorySums.length; c++) {
+                double value = memory[c];
+                if (memorySamples == 0) {
+                    memorySums[c] = value;
+                    continue;
+                }
+                switch (memoryLayout.aggregation(c)) {
+                    case MemoryLayout.MAX -> memorySums[c] = Math.max(memorySums[c], value);
+                    case MemoryLayout.LAST -> memorySums[c] = value;
+                    default -> memorySums[c] += value;
+                }
+            }
+            memorySamples++;
+        }
+
+        // Memory row of the rollup last returned by add or flush, or null if it had none
+        long[] memory() {
+            return memoryReady ? memoryResult : null;
+        }
+
+        // The rollup of the period in progress, if any; the next sample starts a new period
+        MetricSnapshot flush() {
+            if (samples == 0) {
+                return null;
+            }
+            MetricSnapshot finished = result();
+            samples = 0;
+            return finished;
+        }
+
+        private MetricSnapshot result() {
+            memoryReady = memorySamples > 0;
+            for (int c = 0; memoryReady && c < memoryResult.length; c++) {
+                double value = memorySums[c];
+                memoryResult[c] = memoryLayout.aggregation(c) == MemoryLayout.AVERAGE
+                        ? Math.round(value / memorySamples) : (long) value;
+            }
+            return new MetricSnapshot(
+                    Instant.ofEpochMilli(periodStart),
+                    Math.round(heapUsed / samples), heapMax, Math.round(heapCommitted / samples),
+                    (int) Math.round(threadCount / samples), (int) Math.round(daemonThreadCount / samples),
+                    peakThreadCount,
+                    cpuUsage / samples, systemCpuUsage / samples,
+                    totalGreetings
+            );
+        }
+    }
+}
@@ -1,27 +1,57 @@
 package com.example.actuatorservice;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/metrics")
 public class MetricsHistoryController {
 
+    private static final int MAX_COUNT = 10_000;
+
     private final MetricsCollectorService metricsCollector;
+    private final MetricsHistory history;
+    private final MetricsSegmentStore store;
 
-    public MetricsHistoryController(MetricsCollectorService metricsCollector) {
+    public MetricsHistoryController(MetricsCollectorService metricsCollector, MetricsHistory history,
+                                    MetricsSegmentStore store) {
         this.metricsCollector = metricsCollector;
+        this.history = history;
+        this.store = store;
     }
 
+    // Most recent first; resolution is raw (2s), 1m or 1h; from/to are ISO-8601 instants.
+    // Raw and 1m ranges are read from the on-disk segments when the store is enabled.
     @GetMapping("/history")
     public List<MetricsCollectorService.MetricSnapshot> getHistory(
-            @RequestParam(defaultValue = "150") int count) {
-        return metricsCollector.getRecentSnapshots(count);
+            @RequestParam(defaultValue = "150") int count,
+            @RequestParam(defaultValue = "raw") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (count <= 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_COUNT);
+        }
+        MetricsHistory.Resolution tier = MetricsHistory.Resolution.parse(resolution);
+        if (from == null && to == null) {
+            return history.recent(tier, count);
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (store.isEnabled() && tier != MetricsHistory.Resolution.HOUR) {
+            return store.range(tier, start, end, count);
+        }
+        return history.between(tier, start, end, count);
     }
 
     @GetMapping("/latest")
@@ -32,4 +62,33 @@ public class MetricsHistoryController {
         }
         return latest;
     }
+
+    // Per-pool, per-collector and buffer pool breakdown, most recent first; the same tiers,
+    // ranges and on-disk lookups as /history
+    @GetMapping("/memory")
+    public List<MemoryPoolCollector.MemorySnapshot> getMemory(
+            @RequestParam(defaultValue = "1") int count,
+            @RequestParam(defaultValue = "raw") String resolution,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        if (count <= 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("count must be between 1 and " + MAX_COUNT);
+        }
+        MetricsHistory.Resolution tier = MetricsHistory.Resolution.parse(resolution);
+        if (from == null && to == null) {
+            return history.recentMemory(tier, count);
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (store.isEnabled() && tier != MetricsHistory.Resolution.HOUR) {
+            return store.memoryRange(tier, start, end, count);
+        }
+        return history.memoryBetween(tier, start, end, count);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> badRequest(IllegalArgumentException e) {
+        return Collections.singletonMap("error", e.getMessage());
+    }
 }
@@ -0,0 +1,219 @@
+package com.example.actuatorservice;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.actuatorservice.MemoryPoolCollector.MemorySnapshot;
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+/**
+ * Fixed-capacity ring of metric samples stored column by column in primitive arrays.
+ *
+ * There is one writer (the collector's scheduler thread). It fills a slot and then
+ * publishes it by advancing {@code written} with release semantics; readers take no lock.
+ * A reader that races with the writer re-reads {@code written} afterwards and drops any
+ * rows that may have been overwritten meanwhile, which can only be the oldest ones.
+ * Reads allocate only the rows they return.
+ *
+ * Given a {@link MemoryLayout}, each slot also holds a memory sample: its columns are
+ * stored in one preallocated array, layout.width() longs per slot, so appending copies
+ * primitives and a {@link MemorySnapshot} is only built for the rows a reader asks for.
+ * A sample appended without memory columns (e.g. restored from an older segment) is
+ * skipped by the memory reads.
+ */
+public class MetricsRingBuffer {
+
+    private final int capacity;
+    private final int slots;
+    private final long[] timestamps;
+    private final long[] heapUsed;
+    private final long[] heapMax;
+    private final long[] heapCommitted;
+    private final int[] threadCount;
+    private final int[] daemonThreadCount;
+    private final int[] peakThreadCount;
+    private final double[] cpuUsage;
+    private final double[] systemCpuUsage;
+    private final long[] totalGreetings;
+    private final MemoryLayout memoryLayout;
+    private final int memoryWidth;
+    private final long[] memory;
+    private final boolean[] hasMemory;
+    private final AtomicLong written = new AtomicLong();
+
+    public MetricsRingBuffer(int capacity) {
+        this(capacity, null);
+    }
+
+    // A null layout keeps no memory columns
+    public MetricsRingBuffer(int capacity, MemoryLayout memoryLayout) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        // One spare slot: the one the writer may be filling while readers see the full window
+        this.slots = capacity + 1;
+        this.timestamps = new long[slots];
+        this.heapUsed = new long[slots];
+        this.heapMax = new long[slots];
+        this.heapCommitted = new long[slots];
+        this.threadCount = new int[slots];
+        this.daemonThreadCount = new int[slots];
+        this.peakThreadCount = new int[slots];
+        this.cpuUsage = new double[slots];
+        this.systemCpuUsage = new double[slots];
+        this.totalGreetings = new long[slots];
+        this.memoryLayout = memoryLayout;
+        this.memoryWidth = memoryLayout != null ? memoryLayout.width() : 0;
+        this.memory = new long[Math.multiplyExact(slots, memoryWidth)];
+        this.hasMemory = new boolean[memoryWidth > 0 ? slots : 0];
+    }
+
+    public void append(MetricSnapshot snapshot) {
+        append(snapshot, null);
+    }
+
+    // Single writer only; memoryRow may be null, and is ignored unless laid out by this ring's layout
+    public void append(MetricSnapshot snapshot, long[] memoryRow) {
+        long seq = written.get();
+        int slot = (int) (seq % slots);
+        // The previous publication must be visible before this slot is overwritten
+        VarHandle.storeStoreFence();
+        timestamps[slot] = snapshot.timestamp().toEpochMilli();
+        heapUsed[slot] = snapshot.heapUsed();
+        heapMax[slot] = snapshot.heapMax();
+        heapCommitted[slot] = snapshot.heapCommitted();
+        threadCount[slot] = snapshot.threadCount();
+        daemonThreadCount[slot] = snapshot.daemonThreadCount();
+        peakThreadCount[slot] = snapshot.peakThreadCount();
+        cpuUsage[slot] = snapshot.cpuUsage();
+        systemCpuUsage[slot] = snapshot.systemCpuUsage();
+        totalGreetings[slot] = snapshot.totalGreetings();
+        if (memoryWidth > 0) {
+            hasMemory[slot] = memoryRow != null && memoryRow.length == memoryWidth;
+            if (hasMemory[slot]) {
+                System.arraycopy(memoryRow, 0, memory, slot * memoryWidth, memoryWidth);
+            }
+        }
+        written.setRelease(seq + 1);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return (int) Math.min(written.getAcquire(), capacity);
+    }
+
+    public MetricSnapshot latest() {
+        List<MetricSnapshot> latest = recent(1);
+        return latest.isEmpty() ? null : latest.get(0);
+    }
+
+    public MemorySnapshot latestMemory() {
+        List<MemorySnapshot> latest = recentMemory(1);
+        return latest.isEmpty() ? null : latest.get(0);
+    }
+
+    // Most recent first
+    public List<MetricSnapshot> recent(int count) {
+        long end = written.getAcquire();
+        long start = Math.max(Math.max(0, end - capacity), end - Math.max(0, count));
+        return read(start, end);
+    }
+
+    // Memory samples of the last count slots, most recent first
+    public List<MemorySnapshot> recentMemory(int count) {
+        long end = written.getAcquire();
+        long start = Math.max(Math.max(0, end - capacity), end - Math.max(0, count));
+        return readMemory(start, end);
+    }
+
+    // Samples with from <= timestamp < to, most recent first, at most count of them
+    public List<MetricSnapshot> between(Instant from, Instant to, int count) {
+        long end = written.getAcquire();
+        long oldest = Math.max(0, end - capacity);
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        // Timestamps increase with the sequence number, so both bounds are binary searches
+        long stop = firstAtOrAfter(oldest, end, toMillis);
+        long start = Math.max(firstAtOrAfter(oldest, stop, fromMillis), stop - Math.max(0, count));
+        return read(start, stop);
+    }
+
+    // Memory samples with from <= timestamp < to, most recent first, at most count of them
+    public List<MemorySnapshot> memoryBetween(Instant from, Instant to, int count) {
+        long end = written.getAcquire();
+        long oldest = Math.max(0, end - capacity);
+        long stop = firstAtOrAfter(oldest, end, to.toEpochMilli());
+        long start = Math.max(firstAtOrAfter(oldest, stop, from.toEpochMilli()), stop - Math.max(0, count));
+        return readMemory(start, stop);
+    }
+
+    private long firstAtOrAfter(long low, long high, long millis) {
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (timestamps[(int) (mid % slots)] < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<MetricSnapshot> read(long start, long end) {
+        List<MetricSnapshot> rows = new ArrayList<>((int) Math.max(0, end - start));
+        for (long seq = end - 1; seq >= start; seq--) {
+            rows.add(row((int) (seq % slots)));
+        }
+        // Rows older than the current window may have been overwritten while we read them
+        VarHandle.loadLoadFence();
+        long valid = written.getAcquire() - capacity;
+        int keep = (int) Math.min(rows.size(), end - Math.max(start, valid));
+        return keep < rows.size() ? new ArrayList<>(rows.subList(0, Math.max(0, keep))) : rows;
+    }
+
+    private List<MemorySnapshot> readMemory(long start, long end) {
+        if (memoryWidth == 0) {
+            return new ArrayList<>();
+        }
+        // Copy the columns first and build snapshots only for rows that were not overwritten
+        int n = (int) Math.max(0, end - start);
+        long[] timestamps = new long[n];
+        long[] rows = new long[n * memoryWidth];
+        boolean[] present = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            int slot = (int) ((end - 1 - i) % slots);
+            timestamps[i] = this.timestamps[slot];
+            present[i] = hasMemory[slot];
+            System.arraycopy(memory, slot * memoryWidth, rows, i * memoryWidth, memoryWidth);
+        }
+        VarHandle.loadLoadFence();
+        long valid = written.getAcquire() - capacity;
+        int keep = (int) Math.min(n, end - Math.max(start, valid));
+        List<MemorySnapshot> result = new ArrayList<>(Math.max(0, keep));
+        long[] row = new long[memoryWidth];
+        for (int i = 0; i < keep; i++) {
+            if (present[i]) {
+                System.arraycopy(rows, i * memoryWidth, row, 0, memoryWidth);
+                result.add(memoryLayout.snapshot(Instant.ofEpochMilli(timestamps[i]), row));
+            }
+        }
+        return result;
+    }
+
+    private MetricSnapshot row(int slot) {
+        return new MetricSnapshot(
+                Instant.ofEpochMilli(timestamps[slot]),
+                heapUsed[slot], heapMax[slot], heapCommitted[slot],
+                threadCount[slot], daemonThreadCount[slot], peakThreadCount[slot],
+                cpuUsage[slot], systemCpuUsage[slot],
+                totalGreetings[slot]
+        );
+    }
+}
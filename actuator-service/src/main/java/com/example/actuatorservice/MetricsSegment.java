@@ -0,0 +1,252 @@
+package com.example.actuatorservice;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+/**
+ * One memory-mapped, append-only file of fixed-width metric records covering a fixed
+ * time span (an hour of raw samples, or a day of minute rollups).
+ *
+ * Layout: a 48-byte header (magic, version, record size, capacity, span start, span
+ * length, memory width, memory layout fingerprint) followed by capacity records. A record
+ * is the {@link #RECORD_SIZE} bytes of metric fields followed by the memory columns of
+ * the {@link MemoryLayout} the segment was created with, 8 bytes each; a flag in the
+ * metric part says whether the memory columns were written. Version 1 files, with a
+ * 32-byte header and metric fields only, are still read. A record's
+ * timestamp is written after its other fields and an unused slot has timestamp 0, so
+ * after a restart the record count is recovered by a binary search for the first empty
+ * slot instead of a scan. Timestamps increase within a segment, so range lookups are
+ * binary searches that read only the timestamp of each probed record.
+ *
+ * One thread appends; any thread may read records below {@link #count()}.
+ */
+public final class MetricsSegment {
+
+    static final int RECORD_SIZE = 72;
+    private static final int HEADER_SIZE = 48;
+    private static final int V1_HEADER_SIZE = 32;
+    private static final int MAGIC = 0x4D534547; // "MSEG"
+    private static final int VERSION = 2;
+    private static final int HAS_MEMORY = 1;
+
+    private final Path path;
+    private final long start;
+    private final long span;
+    private final int capacity;
+    private final int headerSize;
+    private final int recordSize;
+    private final int memoryWidth;
+    private final long memoryFingerprint;
+    private final MappedByteBuffer buffer;
+    private volatile int count;
+
+    private MetricsSegment(Path path, long start, long span, int capacity, int headerSize, int memoryWidth,
+                           long memoryFingerprint, MappedByteBuffer buffer) {
+        this.path = path;
+        this.start = start;
+        this.span = span;
+        this.capacity = capacity;
+        this.headerSize = headerSize;
+        this.recordSize = RECORD_SIZE + memoryWidth * Long.BYTES;
+        this.memoryWidth = memoryWidth;
+        this.memoryFingerprint = memoryFingerprint;
+        this.buffer = buffer;
+    }
+
+    public static MetricsSegment create(Path path, long start, long span, int capacity) throws IOException {
+        return create(path, start, span, capacity, null);
+    }
+
+    // A null layout leaves no room for memory columns
+    public static MetricsSegment create(Path path, long start, long span, int capacity, MemoryLayout memoryLayout)
+            throws IOException {
+        int memoryWidth = memoryLayout != null ? memoryLayout.width() : 0;
+        long fingerprint = memoryLayout != null ? memoryLayout.fingerprint() : 0;
+        int recordSize = RECORD_SIZE + memoryWidth * Long.BYTES;
+        MappedByteBuffer buffer = map(path, HEADER_SIZE + (long) capacity * recordSize,
+                StandardOpenOption.CREATE_NEW);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, recordSize);
+        buffer.putInt(12, capacity);
+        buffer.putLong(16, start);
+        buffer.putLong(24, span);
+        buffer.putInt(32, memoryWidth);
+        buffer.putLong(40, fingerprint);
+        return new MetricsSegment(path, start, span, capacity, HEADER_SIZE, memoryWidth, fingerprint, buffer);
+    }
+
+    public static MetricsSegment open(Path path) throws IOException {
+        long size;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+        }
+        if (size < V1_HEADER_SIZE) {
+            throw new IOException("Truncated metric segment: " + path);
+        }
+        MappedByteBuffer buffer = map(path, size);
+        int version = buffer.getInt(4);
+        if (buffer.getInt(0) != MAGIC || (version != 1 && version != VERSION)) {
+            throw new IOException("Not a metric segment: " + path);
+        }
+        int headerSize = version == 1 ? V1_HEADER_SIZE : HEADER_SIZE;
+        int memoryWidth = version == 1 || size < HEADER_SIZE ? 0 : buffer.getInt(32);
+        long fingerprint = version == 1 || size < HEADER_SIZE ? 0 : buffer.getLong(40);
+        if (size < headerSize || memoryWidth < 0
+                || buffer.getInt(8) != RECORD_SIZE + (long) memoryWidth * Long.BYTES) {
+            throw new IOException("Not a metric segment: " + path);
+        }
+        int recordSize = buffer.getInt(8);
+        int capacity = (int) Math.min(buffer.getInt(12), (size - headerSize) / recordSize);
+        MetricsSegment segment = new MetricsSegment(path, buffer.getLong(16), buffer.getLong(24), capacity,
+                headerSize, memoryWidth, fingerprint, buffer);
+        segment.count = segment.recoverCount();
+        return segment;
+    }
+
+    private static MappedByteBuffer map(Path path, long size, StandardOpenOption... extra) throws IOException {
+        StandardOpenOption[] options = new StandardOpenOption[extra.length + 2];
+        options[0] = StandardOpenOption.READ;
+        options[1] = StandardOpenOption.WRITE;
+        System.arraycopy(extra, 0, options, 2, extra.length);
+        // The mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    // Records are a prefix of non-empty slots; a torn last write has no timestamp yet
+    private int recoverCount() {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) != 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    public long end() {
+        return start + span;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean isFull() {
+        return count == capacity;
+    }
+
+    public int memoryWidth() {
+        return memoryWidth;
+    }
+
+    // Of the MemoryLayout the memory columns were written with; 0 if there are none
+    public long memoryFingerprint() {
+        return memoryFingerprint;
+    }
+
+    public boolean append(MetricSnapshot snapshot) {
+        return append(snapshot, null);
+    }
+
+    // memory is written only if it has this segment's memoryWidth() columns
+    public boolean append(MetricSnapshot snapshot, long[] memory) {
+        int index = count;
+        if (index == capacity) {
+            return false;
+        }
+        int offset = offset(index);
+        buffer.putLong(offset + 8, snapshot.heapUsed());
+        buffer.putLong(offset + 16, snapshot.heapMax());
+        buffer.putLong(offset + 24, snapshot.heapCommitted());
+        buffer.putInt(offset + 32, snapshot.threadCount());
+        buffer.putInt(offset + 36, snapshot.daemonThreadCount());
+        buffer.putInt(offset + 40, snapshot.peakThreadCount());
+        buffer.putDouble(offset + 44, snapshot.cpuUsage());
+        buffer.putDouble(offset + 52, snapshot.systemCpuUsage());
+        buffer.putLong(offset + 60, snapshot.totalGreetings());
+        boolean withMemory = memory != null && memoryWidth > 0 && memory.length == memoryWidth;
+        if (withMemory) {
+            for (int c = 0; c < memoryWidth; c++) {
+                buffer.putLong(offset + RECORD_SIZE + c * Long.BYTES, memory[c]);
+            }
+        }
+        buffer.putInt(offset + 68, withMemory ? HAS_MEMORY : 0);
+        buffer.putLong(offset, snapshot.timestamp().toEpochMilli());
+        count = index + 1;
+        return true;
+    }
+
+    public long timestamp(int index) {
+        return buffer.getLong(offset(index));
+    }
+
+    public MetricSnapshot read(int index) {
+        int offset = offset(index);
+        return new MetricSnapshot(
+                Instant.ofEpochMilli(buffer.getLong(offset)),
+                buffer.getLong(offset + 8), buffer.getLong(offset + 16), buffer.getLong(offset + 24),
+                buffer.getInt(offset + 32), buffer.getInt(offset + 36), buffer.getInt(offset + 40),
+                buffer.getDouble(offset + 44), buffer.getDouble(offset + 52),
+                buffer.getLong(offset + 60)
+        );
+    }
+
+    public boolean hasMemory(int index) {
+        return memoryWidth > 0 && (buffer.getInt(offset(index) + 68) & HAS_MEMORY) != 0;
+    }
+
+    // Copies the memory columns of a record into row, which has memoryWidth() elements
+    public void readMemory(int index, long[] row) {
+        int offset = offset(index) + RECORD_SIZE;
+        for (int c = 0; c < memoryWidth; c++) {
+            row[c] = buffer.getLong(offset + c * Long.BYTES);
+        }
+    }
+
+    // Index of the first record with timestamp >= millis, or count() if none
+    public int firstAtOrAfter(long millis) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamp(mid) < millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public void force() {
+        buffer.force();
+    }
+
+    private int offset(int index) {
+        return headerSize + index * recordSize;
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.actuatorservice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.actuatorservice.MemoryPoolCollector.MemorySnapshot;
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+/**
+ * Metric history on disk, so it survives restarts and reaches further back than the
+ * in-memory rings.
+ *
+ * Raw samples go to one {@link MetricsSegment} per hour (raw-{start}.seg). Once a raw
+ * segment is older than the raw retention it is compacted: its samples are rolled up to
+ * one record per minute in that day's minute segment (minute-{start}.seg) and the raw
+ * file is deleted. Minute segments older than their retention are deleted. The segments
+ * are kept in maps keyed by start time, a sparse index that narrows a range query to the
+ * overlapping files before binary searching inside them.
+ *
+ * Appends and compaction both run on the scheduler thread; queries may run on any thread.
+ * A deleted segment is only dropped from its tier: a query may still be reading it, so its
+ * mapping is released when the buffer is garbage collected rather than unmapped eagerly.
+ * Unreadable segment files are renamed to *.corrupt when the store opens, so that the
+ * hour or day they cover starts a fresh segment.
+ *
+ * Each record also carries the memory pool breakdown of its sample, rolled up with it
+ * on compaction. Memory columns are only read back from segments written with the
+ * current {@link MemoryLayout}; after a restart with other memory pools (another
+ * collector, say) the older segments still serve their metrics, without the breakdown.
+ */
+@Component
+public class MetricsSegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsSegmentStore.class);
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+    private static final long DAY = Duration.ofDays(1).toMillis();
+    // Room for twice the nominal sample count, in case the scheduler catches up after a pause
+    private static final int RAW_CAPACITY = (int) (2 * HOUR / MetricsCollectorService.INTERVAL_MILLIS);
+    private static final int MINUTE_CAPACITY = (int) (DAY / Duration.ofMinutes(1).toMillis());
+
+    private final MemoryLayout memoryLayout;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration rawRetention;
+    private final Duration minuteRetention;
+    private final NavigableMap<Long, MetricsSegment> raw = new ConcurrentSkipListMap<>();
+    private final NavigableMap<Long, MetricsSegment> minutes = new ConcurrentSkipListMap<>();
+
+    /**
+     * A stored sample; memory is its row laid out by the store's {@link MemoryLayout}, or
+     * null if it has none
+     */
+    record Row(MetricSnapshot metrics, long[] memory) {}
+
+    @Autowired
+    public MetricsSegmentStore(MemoryPoolCollector memoryPools,
+                               @Value("${app.metrics.store.enabled:true}") boolean enabled,
+                               @Value("${app.metrics.store.directory:data/metrics}") Path directory,
+                               @Value("${app.metrics.store.raw-retention:48h}") Duration rawRetention,
+                               @Value("${app.metrics.store.minute-retention:30d}") Duration minuteRetention) {
+        this(memoryPools.layout(), enabled, directory, rawRetention, minuteRetention);
+    }
+
+    // Without memory columns
+    public MetricsSegmentStore(boolean enabled, Path directory, Duration rawRetention, Duration minuteRetention) {
+        this((MemoryLayout) null, enabled, directory, rawRetention, minuteRetention);
+    }
+
+    public MetricsSegmentStore(MemoryLayout memoryLayout, boolean enabled, Path directory, Duration rawRetention,
+                               Duration minuteRetention) {
+        this.memoryLayout = memoryLayout;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.rawRetention = rawRetention;
+        this.minuteRetention = minuteRetention;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        long started = System.nanoTime();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                NavigableMap<Long, MetricsSegment> tier = name.startsWith("raw-") ? raw
+                        : name.startsWith("minute-") ? minutes : null;
+                if (tier == null) {
+                    continue;
+                }
+                try {
+                    MetricsSegment segment = MetricsSegment.open(file);
+                    tier.put(segment.start(), segment);
+                } catch (IOException e) {
+                    Path corrupt = file.resolveSibling(name + ".corrupt");
+                    log.warn("Moving unreadable metric segment {} to {}: {}", file, corrupt.getFileName(), e.getMessage());
+                    Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        log.info("Opened {} raw and {} minute metric segments from {} in {} ms",
+                raw.size(), minutes.size(), directory, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void close() {
+        raw.values().forEach(MetricsSegment::force);
+        minutes.values().forEach(MetricsSegment::force);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void append(MetricSnapshot snapshot) {
+        append(snapshot, null);
+    }
+
+    // memory is a row laid out by the store's MemoryLayout, or null
+    public void append(MetricSnapshot snapshot, long[] memory) {
+        if (!enabled) {
+            return;
+        }
+        long millis = snapshot.timestamp().toEpochMilli();
+        try {
+            MetricsSegment segment = segmentFor(raw, "raw-", millis, HOUR, RAW_CAPACITY);
+            // Timestamps must increase within a segment; a clock step backwards drops the sample
+            if (segment.count() > 0 && segment.timestamp(segment.count() - 1) >= millis) {
+                return;
+            }
+            if (!segment.append(snapshot, ownLayout(segment) ? memory : null)) {
+                log.warn("Metric segment {} is full; dropping sample", segment.path());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MetricsSegment segmentFor(NavigableMap<Long, MetricsSegment> tier, String prefix, long millis,
+                                      long span, int capacity) throws IOException {
+        long start = millis - Math.floorMod(millis, span);
+        MetricsSegment segment = tier.get(start);
+        if (segment == null) {
+            segment = MetricsSegment.create(directory.resolve(prefix + start + ".seg"), start, span, capacity,
+                    memoryLayout);
+            tier.put(start, segment);
+        }
+        return segment;
+    }
+
+    // Samples with from <= timestamp < to, most recent first, at most count of them
+    public List<MetricSnapshot> range(MetricsHistory.Resolution resolution, Instant from, Instant to, int count) {
+        List<Row> rows = rows(resolution, from, to, count, false);
+        List<MetricSnapshot> samples = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            samples.add(row.metrics());
+        }
+        return samples;
+    }
+
+    // Memory breakdown of the samples in range(), skipping those stored without one
+    public List<MemorySnapshot> memoryRange(MetricsHistory.Resolution resolution, Instant from, Instant to,
+                                            int count) {
+        List<Row> rows = rows(resolution, from, to, count, true);
+        List<MemorySnapshot> samples = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (row.memory() != null) {
+                samples.add(memoryLayout.snapshot(row.metrics().timestamp(), row.memory()));
+            }
+        }
+        return samples;
+    }
+
+    List<Row> rows(MetricsHistory.Resolution resolution, Instant from, Instant to, int count, boolean withMemory) {
+        if (!enabled) {
+            return Collections.emptyList();
+        }
+        long fromMillis = from.toEpochMilli();
+        long toMillis = to.toEpochMilli();
+        boolean memory = withMemory && memoryLayout != null;
+        return switch (resolution) {
+            case RAW -> read(raw, fromMillis, toMillis, count, memory);
+            case MINUTE -> minuteRange(fromMillis, toMillis, count, memory);
+            case HOUR -> throw new IllegalArgumentException("Hourly history is kept in memory only");
+        };
+    }
+
+    private boolean ownLayout(MetricsSegment segment) {
+        return memoryLayout != null && segment.memoryWidth() == memoryLayout.width()
+                && segment.memoryFingerprint() == memoryLayout.fingerprint();
+    }
+
+    private List<Row> read(NavigableMap<Long, MetricsSegment> tier, long from, long to, int count, boolean withMemory) {
+        List<Row> rows = new ArrayList<>();
+        Long first = tier.floorKey(from);
+        for (MetricsSegment segment : tier.subMap(first != null ? first : from, true, to, false)
+                .descendingMap().values()) {
+            boolean memory = withMemory && ownLayout(segment);
+            int low = segment.firstAtOrAfter(from);
+            for (int i = segment.firstAtOrAfter(to) - 1; i >= low && rows.size() < count; i--) {
+                long[] row = null;
+                if (memory && segment.hasMemory(i)) {
+                    row = new long[segment.memoryWidth()];
+                    segment.readMemory(i, row);
+                }
+                rows.add(new Row(segment.read(i), row));
+            }
+            if (rows.size() == count) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    // Compacted minute segments, plus raw samples not compacted yet rolled up on the fly
+    private List<Row> minuteRange(long from, long to, int count, boolean withMemory) {
+        long compactedUntil = raw.isEmpty() ? Long.MAX_VALUE : raw.firstKey();
+        List<Row> rows = new ArrayList<>();
+        if (to > compactedUntil) {
+            List<Row> samples = read(raw, Math.max(from, compactedUntil), to, Integer.MAX_VALUE, withMemory);
+            MetricsHistory.Rollup rollup = new MetricsHistory.Rollup(Duration.ofMinutes(1).toMillis(),
+                    withMemory ? memoryLayout : null);
+            List<Row> rolled = new ArrayList<>();
+            for (int i = samples.size() - 1; i >= 0; i--) {
+                MetricSnapshot minute = rollup.add(samples.get(i).metrics(), samples.get(i).memory());
+                if (minute != null) {
+                    rolled.add(new Row(minute, copy(rollup.memory())));
+                }
+            }
+            MetricSnapshot last = rollup.flush();
+            if (last != null) {
+                rolled.add(new Row(last, copy(rollup.memory())));
+            }
+            // A minute is reported by its start, as in the compacted segments
+            for (int i = rolled.size() - 1; i >= 0 && rows.size() < count; i--) {
+                if (rolled.get(i).metrics().timestamp().toEpochMilli() >= from) {
+                    rows.add(rolled.get(i));
+                }
+            }
+        }
+        if (rows.size() < count && from < compactedUntil) {
+            rows.addAll(read(minutes, from, Math.min(to, compactedUntil), count - rows.size(), withMemory));
+        }
+        return rows;
+    }
+
+    private static long[] copy(long[] row) {
+        return row != null ? row.clone() : null;
+    }
+
+    // Most recent first
+    public List<MetricSnapshot> recentRaw(Duration window) {
+        long now = System.currentTimeMillis();
+        return range(MetricsHistory.Resolution.RAW, Instant.ofEpochMilli(now - window.toMillis()),
+                Instant.ofEpochMilli(now + 1), Integer.MAX_VALUE);
+    }
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000, initialDelay = 60 * 1000)
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long rawCutoff = now - rawRetention.toMillis();
+        for (Map.Entry<Long, MetricsSegment> entry : raw.headMap(rawCutoff).entrySet()) {
+            MetricsSegment segment = entry.getValue();
+            if (segment.end() > rawCutoff) {
+                continue;
+            }
+            try {
+                compactIntoMinutes(segment);
+                raw.remove(entry.getKey());
+                Files.deleteIfExists(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to compact metric segment {}: {}", segment.path(), e.getMessage());
+                return;
+            }
+        }
+
+        long minuteCutoff = now - minuteRetention.toMillis();
+        for (Map.Entry<Long, MetricsSegment> entry : minutes.headMap(minuteCutoff).entrySet()) {
+            MetricsSegment segment = entry.getValue();
+            if (segment.end() > minuteCutoff) {
+                continue;
+            }
+            minutes.remove(entry.getKey());
+            try {
+                Files.deleteIfExists(segment.path());
+            } catch (IOException e) {
+                log.warn("Failed to delete metric segment {}: {}", segment.path(), e.getMessage());
+            }
+        }
+    }
+
+    private void compactIntoMinutes(MetricsSegment segment) throws IOException {
+        boolean withMemory = ownLayout(segment);
+        MetricsHistory.Rollup rollup = new MetricsHistory.Rollup(Duration.ofMinutes(1).toMillis(),
+                withMemory ? memoryLayout : null);
+        long[] row = withMemory ? new long[segment.memoryWidth()] : null;
+        for (int i = 0; i < segment.count(); i++) {
+            boolean hasMemory = withMemory && segment.hasMemory(i);
+            if (hasMemory) {
+                segment.readMemory(i, row);
+            }
+            MetricSnapshot minute = rollup.add(segment.read(i), hasMemory ? row : null);
+            appendMinute(minute, rollup.memory());
+        }
+        appendMinute(rollup.flush(), rollup.memory());
+        minutes.values().forEach(MetricsSegment::force);
+        log.debug("Compacted {} ({} samples) into minute rollups", segment.path(), segment.count());
+    }
+
+    private void appendMinute(MetricSnapshot minute, long[] memory) throws IOException {
+        if (minute == null) {
+            return;
+        }
+        long millis = minute.timestamp().toEpochMilli();
+        MetricsSegment segment = segmentFor(minutes, "minute-", millis, DAY, MINUTE_CAPACITY);
+        // A crash between compaction and deleting the raw file can replay minutes already written
+        if (segment.count() > 0 && segment.timestamp(segment.count() - 1) >= millis) {
+            return;
+        }
+        segment.append(minute, ownLayout(segment) ? memory : null);
+    }
+}
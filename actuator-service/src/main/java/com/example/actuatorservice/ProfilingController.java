@@ -0,0 +1,36 @@
+package com.example.actuatorservice;
+
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class ProfilingController {
+
+    private static final int MAX_TOP = 200;
+
+    private final JfrProfiler profiler;
+    private final LatencyHistograms latency;
+
+    public ProfilingController(JfrProfiler profiler, LatencyHistograms latency) {
+        this.profiler = profiler;
+        this.latency = latency;
+    }
+
+    // Hot methods, allocation rate and GC pauses from JFR, plus per-endpoint latency
+    @GetMapping("/profile")
+    public Map<String, Object> profile(@RequestParam(defaultValue = "20") int top) {
+        Map<String, Object> profile = profiler.profile(Math.max(1, Math.min(top, MAX_TOP)));
+        profile.put("latency", latency.snapshot());
+        return profile;
+    }
+
+    @GetMapping("/latency")
+    public Map<String, Map<String, Object>> latency() {
+        return latency.snapshot();
+    }
+}
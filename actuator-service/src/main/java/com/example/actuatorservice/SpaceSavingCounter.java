@@ -0,0 +1,128 @@
+package com.example.actuatorservice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate heavy hitters in fixed memory (the Space-Saving algorithm).
+ *
+ * At most capacity counters are kept, in a min-heap by count. An unmonitored item takes
+ * over the smallest counter and inherits its count, recorded as the item's maximum
+ * overestimate. Any item seen more than total / capacity times is guaranteed to be
+ * monitored, and while there are no more distinct items than counters every count is
+ * exact. An update is O(log capacity) and reading the top k is one pass over the counters.
+ */
+public class SpaceSavingCounter {
+
+    public record Entry(String item, long count, long error) {}
+
+    private static final class Counter {
+        final String item;
+        long count;
+        long error;
+        int heapIndex;
+
+        Counter(String item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Counter[] heap;
+    private final Map<String, Counter> counters;
+    private int size;
+
+    public SpaceSavingCounter(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.heap = new Counter[capacity];
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public synchronized void offer(String item) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count++;
+            siftDown(counter.heapIndex);
+        } else if (size < capacity) {
+            counter = new Counter(item, 1, 0);
+            counters.put(item, counter);
+            counter.heapIndex = size;
+            heap[size++] = counter;
+            siftUp(counter.heapIndex);
+        } else {
+            Counter smallest = heap[0];
+            counters.remove(smallest.item);
+            counter = new Counter(item, smallest.count + 1, smallest.count);
+            counters.put(item, counter);
+            counter.heapIndex = 0;
+            heap[0] = counter;
+            siftDown(0);
+        }
+    }
+
+    // Highest counts first; one pass over the counters keeping the best k
+    public List<Entry> top(int k) {
+        Entry[] best = new Entry[Math.max(0, k)];
+        int found = 0;
+        synchronized (this) {
+            for (int i = 0; i < size; i++) {
+                Counter counter = heap[i];
+                if (found == best.length && (found == 0 || counter.count <= best[found - 1].count())) {
+                    continue;
+                }
+                int at = found < best.length ? found++ : found - 1;
+                while (at > 0 && best[at - 1].count() < counter.count) {
+                    best[at] = best[at - 1];
+                    at--;
+                }
+                best[at] = new Entry(counter.item, counter.count, counter.error);
+            }
+        }
+        return new ArrayList<>(Arrays.asList(best).subList(0, found));
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+}
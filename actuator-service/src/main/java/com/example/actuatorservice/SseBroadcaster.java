@@ -0,0 +1,220 @@
+package com.example.actuatorservice;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Fans server-sent events out to dashboard subscribers without blocking the publisher.
+ *
+ * An event is serialized once into a complete SSE frame and the same string is queued for
+ * every subscriber, so publishing costs one queue operation per subscriber. Each subscriber
+ * has a bounded queue: events published with {@link Policy#DROP_OLDEST} evict the oldest
+ * queued one when full, and {@link Policy#COALESCE_LATEST} keeps only the newest event of
+ * that name. Writes run on virtual threads, one short-lived drain task per subscriber
+ * with pending frames, so a slow browser only delays itself.
+ *
+ * A heartbeat comment is sent to everyone periodically; subscribers whose connection is
+ * gone fail that write and are removed, and those stuck in a write for longer than the
+ * stall timeout are removed and completed. Completing an emitter waits for the lock its
+ * stuck write holds, so that happens on a writer thread, never on the scheduler thread
+ * that also collects metrics.
+ */
+@Component
+public class SseBroadcaster {
+
+    public enum Policy { DROP_OLDEST, COALESCE_LATEST }
+
+    private static final Logger log = LoggerFactory.getLogger(SseBroadcaster.class);
+    private static final String HEARTBEAT = ":heartbeat\n\n";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final ObjectMapper objectMapper;
+    private final int queueCapacity;
+    private final long stallTimeoutMillis;
+
+    public SseBroadcaster(ObjectMapper objectMapper,
+                          @Value("${app.sse.queue-capacity:64}") int queueCapacity,
+                          @Value("${app.sse.stall-timeout-millis:30000}") long stallTimeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.stallTimeoutMillis = stallTimeoutMillis;
+    }
+
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(0L));
+    }
+
+    // Also used by SseFanoutBenchmark to attach emitters that are not backed by a connection
+    SseEmitter subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        return emitter;
+    }
+
+    public void publish(String eventName, Object data, Policy policy) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String frame;
+        try {
+            frame = "event:" + eventName + "\ndata:" + objectMapper.writeValueAsString(data) + "\n\n";
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize {} event: {}", eventName, e.getMessage());
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(eventName, frame, policy);
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-millis:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > stallTimeoutMillis) {
+                evicted.incrementAndGet();
+                remove(subscriber);
+                completeLater(subscriber);
+            } else {
+                subscriber.offer("heartbeat", HEARTBEAT, Policy.COALESCE_LATEST);
+            }
+        }
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("droppedEvents", dropped.get());
+        stats.put("evictedSubscribers", evicted.get());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    // complete() blocks until the stalled send gives up; only a writer thread may wait for that
+    private void completeLater(Subscriber subscriber) {
+        try {
+            writers.execute(subscriber.emitter::complete);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<String> queue = new ArrayDeque<>();
+        private final Map<String, String> latest = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+        private volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(String eventName, String frame, Policy policy) {
+            if (closed) {
+                return;
+            }
+            if (policy == Policy.COALESCE_LATEST) {
+                latest.put(eventName, frame);
+            } else {
+                if (queue.size() == queueCapacity) {
+                    queue.pollFirst();
+                    dropped.incrementAndGet();
+                }
+                queue.addLast(frame);
+            }
+            if (!draining) {
+                draining = true;
+                try {
+                    writers.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining = false;
+                }
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            queue.clear();
+            latest.clear();
+        }
+
+        private synchronized String next() {
+            String frame = closed ? null : queue.pollFirst();
+            if (frame == null && !closed) {
+                Iterator<String> pending = latest.values().iterator();
+                if (pending.hasNext()) {
+                    frame = pending.next();
+                    pending.remove();
+                }
+            }
+            if (frame == null) {
+                draining = false;
+            }
+            return frame;
+        }
+
+        private void drain() {
+            String frame;
+            while ((frame = next()) != null) {
+                Set<DataWithMediaType> items = new LinkedHashSet<>(1);
+                items.add(new DataWithMediaType(frame, MediaType.TEXT_PLAIN));
+                sendingSince = System.currentTimeMillis();
+                try {
+                    emitter.send(items);
+                } catch (Exception e) {
+                    remove(this);
+                    return;
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.example.actuatorservice;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -97,4 +100,24 @@ public class GreetingServiceTest {
         assertThat(history.get(0)).containsKey("timestamp");
         assertThat(history.get(0).get("timestamp").toString()).isNotEmpty();
     }
+
+    @Test
+    void concurrentGreetingsShouldAllBeCounted() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    service.greet(i % 10 == 0 ? "Hot" : "Cold");
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> topNames =
+                (List<Map<String, Object>>) service.getStats().get("topNames");
+        assertThat(topNames.get(0).get("count")).isEqualTo(36_000L);
+        assertThat(topNames.get(1).get("count")).isEqualTo(4_000L);
+    }
 }
@@ -0,0 +1,36 @@
+package com.example.actuatorservice;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class HyperLogLogTest {
+
+    @Test
+    void smallCountsAreExactAndRepeatsDoNotCount() {
+        HyperLogLog names = new HyperLogLog();
+        assertThat(names.estimate()).isZero();
+        for (String name : new String[]{"Alice", "Bob", "Alice", "Charlie", "Bob"}) {
+            names.offer(name);
+        }
+        assertThat(names.estimate()).isEqualTo(3);
+    }
+
+    @Test
+    void estimatesLargeCountsWithinAFewPercent() {
+        HyperLogLog names = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            names.offer("User" + i);
+            names.offer("User" + (i / 2));
+        }
+        assertThat((double) names.estimate()).isCloseTo(200_000, within(200_000 * 0.05));
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThatThrownBy(() -> new HyperLogLog(3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
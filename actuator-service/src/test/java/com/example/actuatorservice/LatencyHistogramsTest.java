@@ -0,0 +1,53 @@
+package com.example.actuatorservice;
+
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramsTest {
+
+    @Test
+    void percentilesShouldReflectRecordedLatencies() {
+        LatencyHistograms histograms = new LatencyHistograms(6);
+        for (int i = 1; i <= 1000; i++) {
+            histograms.record("GET /hello-world", i * 1_000_000L);
+        }
+
+        Map<String, Object> summary = histograms.snapshot().get("GET /hello-world");
+        assertThat(summary.get("count")).isEqualTo(1000L);
+        assertThat((double) summary.get("p50Ms")).isCloseTo(500.0, within(1.0));
+        assertThat((double) summary.get("p99Ms")).isCloseTo(990.0, within(1.0));
+        assertThat((double) summary.get("p999Ms")).isCloseTo(999.0, within(1.0));
+        assertThat((double) summary.get("maxMs")).isCloseTo(1000.0, within(1.0));
+    }
+
+    @Test
+    void oldIntervalsShouldLeaveTheWindow() {
+        LatencyHistograms histograms = new LatencyHistograms(2);
+        histograms.record("GET /a", 5_000_000L);
+        histograms.advance();
+        histograms.record("GET /a", 7_000_000L);
+        assertThat(histograms.window("GET /a").getTotalCount()).isEqualTo(2);
+
+        histograms.advance();
+        Histogram window = histograms.window("GET /a");
+        assertThat(window.getTotalCount()).isEqualTo(1);
+        assertThat(histograms.snapshot().get("GET /a").get("lifetimeCount")).isEqualTo(2L);
+    }
+
+    @Test
+    void endpointsShouldBeTrackedSeparately() {
+        LatencyHistograms histograms = new LatencyHistograms(6);
+        histograms.record("GET /a", 1_000L);
+        histograms.record("GET /b", 2_000L);
+        histograms.record("GET /b", 3_000L);
+
+        assertThat(histograms.snapshot()).containsOnlyKeys("GET /a", "GET /b");
+        assertThat(histograms.window("GET /b").getTotalCount()).isEqualTo(2);
+        assertThat(histograms.window("GET /missing").getTotalCount()).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.actuatorservice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ManagementProxyTest {
+
+    private HttpServer upstream;
+    private final AtomicInteger requests = new AtomicInteger();
+    private ManagementProxy proxy;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        upstream.createContext("/actuator", exchange -> {
+            requests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = ("{\"path\":\"" + path + "\"}").getBytes(StandardCharsets.UTF_8);
+            int status = path.endsWith("/missing") ? 404 : 200;
+            exchange.getResponseHeaders().add("Content-Type", "application/vnd.spring-boot.actuator.v3+json");
+            String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (encoding != null) {
+                // Not actually compressed; the proxy must pass the header and bytes through as-is
+                exchange.getResponseHeaders().add("Content-Encoding", encoding);
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        upstream.start();
+        proxy = new ManagementProxy(new ObjectMapper(), upstream.getAddress().getPort(), Duration.ofSeconds(1), Duration.ofSeconds(5),
+                Duration.ofMinutes(1), Set.of("/actuator/beans"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxy.close();
+        upstream.stop(0);
+    }
+
+    private static String body(ResponseEntity<StreamingResponseBody> response) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void forwardShouldStreamBodyAndUpstreamHeaders() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = proxy.forward("/actuator/health", new MockHttpServletRequest());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getHeaders().getFirst("Content-Type")).isEqualTo("application/vnd.spring-boot.actuator.v3+json");
+        assertThat(body(response)).isEqualTo("{\"path\":\"/actuator/health\"}");
+    }
+
+    @Test
+    void forwardShouldPassGzipThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip, deflate");
+
+        ResponseEntity<StreamingResponseBody> response = proxy.forward("/actuator/health", request);
+
+        assertThat(response.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+    }
+
+    @Test
+    void forwardShouldKeepUpstreamErrorStatus() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = proxy.forward("/actuator/missing", new MockHttpServletRequest());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(404);
+        body(response);
+    }
+
+    @Test
+    void cachedPathsShouldReachUpstreamOncePerTtl() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(body(proxy.forward("/actuator/beans", new MockHttpServletRequest())))
+                    .isEqualTo("{\"path\":\"/actuator/beans\"}");
+        }
+        assertThat(requests).hasValue(1);
+
+        body(proxy.forward("/actuator/health", new MockHttpServletRequest()));
+        body(proxy.forward("/actuator/health", new MockHttpServletRequest()));
+        assertThat(requests).hasValue(3);
+    }
+
+    @Test
+    void unreachableManagementPortShouldReturn503() throws Exception {
+        upstream.stop(0);
+
+        ResponseEntity<StreamingResponseBody> response = proxy.forward("/actuator/health", new MockHttpServletRequest());
+
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(body(response)).contains("Management endpoint unavailable");
+    }
+
+    @Test
+    void unavailableBodyShouldEscapeTheReason() throws Exception {
+        ResponseEntity<StreamingResponseBody> response =
+                proxy.unavailable(new IOException("refused \"127.0.0.1\" \u00e9\\"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        String error = new ObjectMapper().readTree(body(response)).get("error").asText();
+        assertThat(error).isEqualTo("Management endpoint unavailable: refused \"127.0.0.1\" \u00e9\\");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.actuatorservice;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.actuatorservice.MemoryPoolCollector.MemorySnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MemoryPoolCollectorTest {
+
+    private static volatile Object sink;
+
+    @Test
+    void collectShouldReportPoolsCollectorsAndAllocation() {
+        MemoryPoolCollector collector = new MemoryPoolCollector();
+        MemoryLayout layout = collector.layout();
+        long[] row = new long[layout.width()];
+        collector.collect(Instant.ofEpochMilli(1000), row);
+        MemorySnapshot first = layout.snapshot(Instant.ofEpochMilli(1000), row);
+        for (int i = 0; i < 10_000; i++) {
+            sink = new byte[1024];
+        }
+        collector.collect(Instant.ofEpochMilli(2000), row);
+        MemorySnapshot second = layout.snapshot(Instant.ofEpochMilli(2000), row);
+
+        assertThat(second.pools()).isNotEmpty();
+        assertThat(second.pools()).anyMatch(p -> p.type().equals("heap"));
+        assertThat(second.collectors()).isNotEmpty();
+        assertThat(second.allocatedBytes() - first.allocatedBytes()).isGreaterThanOrEqualTo(10_000 * 1024L);
+        assertThat(second.allocationRate()).isPositive();
+    }
+
+    @Test
+    void edenAccountingShouldNeverGoBackwards() {
+        MemoryPoolCollector collector = new MemoryPoolCollector(false);
+        MemoryLayout layout = collector.layout();
+        long[] row = new long[layout.width()];
+        try {
+            long previous = 0;
+            for (int tick = 1; tick <= 5; tick++) {
+                for (int i = 0; i < 1000; i++) {
+                    sink = new byte[1024];
+                }
+                if (tick % 2 == 0) {
+                    System.gc();
+                }
+                collector.collect(Instant.ofEpochMilli(tick * 1000L), row);
+                assertThat(row[layout.allocated()]).isGreaterThanOrEqualTo(previous);
+                assertThat(row[layout.allocationRate()]).isGreaterThanOrEqualTo(0);
+                previous = row[layout.allocated()];
+            }
+        } finally {
+            collector.close();
+        }
+    }
+
+    @Test
+    void gcDeltasShouldBeRelativeToThePreviousTick() {
+        MemoryPoolCollector collector = new MemoryPoolCollector();
+        MemoryLayout layout = collector.layout();
+        long[] row = new long[layout.width()];
+        collector.collect(Instant.ofEpochMilli(1000), row);
+        System.gc();
+        collector.collect(Instant.ofEpochMilli(2000), row);
+
+        long delta = 0;
+        for (int i = 0; i < layout.collectorCount(); i++) {
+            delta += row[layout.collector(i) + 2];
+        }
+        assertThat(delta).isPositive();
+    }
+}
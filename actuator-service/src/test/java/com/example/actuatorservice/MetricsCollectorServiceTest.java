@@ -0,0 +1,88 @@
+package com.example.actuatorservice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class MetricsCollectorServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static MetricsHistory history() {
+        return new MetricsHistory(Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofDays(30));
+    }
+
+    private static MetricsCollectorService collector(MetricsHistory history, MetricsSegmentStore store) {
+        return new MetricsCollectorService(history, store, new MemoryPoolCollector(), new GreetingService(), event -> {});
+    }
+
+    @Test
+    void restoreShouldRebuildHourlyTierBeyondTheRawWindow() throws Exception {
+        MetricsSegmentStore store = new MetricsSegmentStore(true, directory, Duration.ofHours(48), Duration.ofDays(30));
+        store.open();
+        long now = System.currentTimeMillis();
+        long start = now - Duration.ofHours(72).toMillis();
+        for (long t = start; t < now; t += MetricsCollectorService.INTERVAL_MILLIS) {
+            store.append(new MetricSnapshot(Instant.ofEpochMilli(t), 1, 1, 1, 1, 1, 1, 1, 1, 1));
+        }
+        store.compact();
+
+        MetricsHistory history = history();
+        collector(history, store).restoreHistory();
+
+        // 72 hours on disk; only the hour in progress is not rolled up yet
+        assertThat(history.recent(MetricsHistory.Resolution.HOUR, 1000)).hasSizeBetween(70, 72);
+        assertThat(history.recent(MetricsHistory.Resolution.RAW, 1000)).hasSize(300);
+    }
+
+    @Test
+    void storeFailureShouldNotStopCollection() {
+        MetricsSegmentStore store = mock(MetricsSegmentStore.class);
+        doThrow(new UncheckedIOException(new IOException("No space left on device"))).when(store).append(any(), any());
+        MetricsHistory history = history();
+        MetricsCollectorService collector = collector(history, store);
+
+        collector.collectMetrics();
+        collector.collectMetrics();
+
+        assertThat(collector.getStoreFailures()).isEqualTo(2);
+        assertThat(history.recent(MetricsHistory.Resolution.RAW, 10)).hasSize(2);
+    }
+
+    @Test
+    void restoreShouldBringBackTheMemoryBreakdown() throws Exception {
+        MemoryPoolCollector memoryPools = new MemoryPoolCollector();
+        MemoryLayout layout = memoryPools.layout();
+        MetricsSegmentStore store = new MetricsSegmentStore(layout, true, directory, Duration.ofHours(48),
+                Duration.ofDays(30));
+        store.open();
+        MetricsCollectorService collector = new MetricsCollectorService(
+                new MetricsHistory(layout, Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofDays(30)),
+                store, memoryPools, new GreetingService(), event -> {});
+        for (int i = 0; i < 3; i++) {
+            collector.collectMetrics();
+            Thread.sleep(5);
+        }
+
+        MetricsHistory restored = new MetricsHistory(layout, Duration.ofMinutes(10), Duration.ofHours(24),
+                Duration.ofDays(30));
+        new MetricsCollectorService(restored, store, memoryPools, new GreetingService(), event -> {})
+                .restoreHistory();
+
+        assertThat(restored.recentMemory(MetricsHistory.Resolution.RAW, 10)).hasSize(3)
+                .allSatisfy(snapshot -> assertThat(snapshot.pools()).isNotEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.actuatorservice;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsHistoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static MetricSnapshot sample(Instant at, long heapUsed, double cpu, long greetings) {
+        return new MetricSnapshot(at, heapUsed, 1000, heapUsed * 2, 10, 5, 12, cpu, cpu, greetings);
+    }
+
+    @Test
+    void ringShouldKeepMostRecentFirst() {
+        MetricsRingBuffer ring = new MetricsRingBuffer(3);
+        for (int i = 0; i < 5; i++) {
+            ring.append(sample(START.plusSeconds(i), i, 0, i));
+        }
+        assertThat(ring.size()).isEqualTo(3);
+        assertThat(ring.recent(10)).extracting(MetricSnapshot::heapUsed).containsExactly(4L, 3L, 2L);
+        assertThat(ring.recent(2)).extracting(MetricSnapshot::heapUsed).containsExactly(4L, 3L);
+        assertThat(ring.latest().heapUsed()).isEqualTo(4L);
+    }
+
+    @Test
+    void emptyRingShouldHaveNoLatest() {
+        MetricsRingBuffer ring = new MetricsRingBuffer(3);
+        assertThat(ring.latest()).isNull();
+        assertThat(ring.recent(5)).isEmpty();
+    }
+
+    @Test
+    void betweenShouldSelectTimeRange() {
+        MetricsRingBuffer ring = new MetricsRingBuffer(100);
+        for (int i = 0; i < 10; i++) {
+            ring.append(sample(START.plusSeconds(2L * i), i, 0, i));
+        }
+        List<MetricSnapshot> range = ring.between(START.plusSeconds(4), START.plusSeconds(10), 100);
+        assertThat(range).extracting(MetricSnapshot::heapUsed).containsExactly(4L, 3L, 2L);
+        assertThat(ring.between(START.plusSeconds(4), START.plusSeconds(10), 2))
+                .extracting(MetricSnapshot::heapUsed).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void minuteRollupShouldAverageGaugesOncePeriodEnds() {
+        MetricsHistory history = new MetricsHistory(Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofDays(30));
+        // 30 samples at 2s fill the first minute; the first sample of the next minute closes it
+        for (int i = 0; i < 30; i++) {
+            history.record(sample(START.plusSeconds(2L * i), 100 + i, i, i));
+        }
+        assertThat(history.recent(MetricsHistory.Resolution.MINUTE, 10)).isEmpty();
+
+        history.record(sample(START.plusSeconds(60), 0, 0, 30));
+        List<MetricSnapshot> minutes = history.recent(MetricsHistory.Resolution.MINUTE, 10);
+        assertThat(minutes).hasSize(1);
+        MetricSnapshot minute = minutes.get(0);
+        assertThat(minute.timestamp()).isEqualTo(START);
+        assertThat(minute.heapUsed()).isEqualTo(115L);
+        assertThat(minute.cpuUsage()).isEqualTo(14.5);
+        assertThat(minute.totalGreetings()).isEqualTo(29L);
+        assertThat(history.recent(MetricsHistory.Resolution.RAW, 1000)).hasSize(31);
+    }
+
+    @Test
+    void hourRollupShouldBuildFromMinutes() {
+        MetricsHistory history = new MetricsHistory(Duration.ofMinutes(10), Duration.ofHours(24), Duration.ofDays(30));
+        for (int i = 0; i <= 61 * 30; i++) {
+            history.record(sample(START.plusSeconds(2L * i), 1, 1, i));
+        }
+        assertThat(history.recent(MetricsHistory.Resolution.RAW, 10_000)).hasSize(300);
+        assertThat(history.recent(MetricsHistory.Resolution.MINUTE, 10_000)).hasSize(61);
+        assertThat(history.recent(MetricsHistory.Resolution.HOUR, 10)).hasSize(1);
+    }
+
+    @Test
+    void memoryColumnsShouldRollUpWithTheirSamples() {
+        MemoryLayout layout = new MemoryLayout(new String[] {"Eden"}, new String[] {"heap"},
+                new String[] {"Young"}, new String[] {"direct"});
+        MetricsHistory history = new MetricsHistory(layout, Duration.ofMinutes(10), Duration.ofHours(24),
+                Duration.ofDays(30));
+        long[] row = new long[layout.width()];
+        for (int i = 0; i <= 30; i++) {
+            row[layout.pool(0)] = 100 + i;
+            row[layout.pool(0) + 2] = i;
+            row[layout.collector(0)] = i;
+            row[layout.collector(0) + 2] = 1;
+            row[layout.buffer(0) + 1] = 10;
+            row[layout.allocated()] = 1000L * i;
+            row[layout.allocationRate()] = 500;
+            history.record(sample(START.plusSeconds(2L * i), 1, 1, i), row);
+        }
+        // A sample without memory columns is skipped by the memory reads
+        history.record(sample(START.plusSeconds(62), 1, 1, 31));
+
+        assertThat(history.recentMemory(MetricsHistory.Resolution.RAW, 2))
+                .extracting(MemoryPoolCollector.MemorySnapshot::timestamp)
+                .containsExactly(START.plusSeconds(60));
+        List<MemoryPoolCollector.MemorySnapshot> minutes = history.recentMemory(MetricsHistory.Resolution.MINUTE, 10);
+        assertThat(minutes).hasSize(1);
+        MemoryPoolCollector.MemorySnapshot minute = minutes.get(0);
+        assertThat(minute.timestamp()).isEqualTo(START);
+        assertThat(minute.pools().get(0).used()).isEqualTo(115L);
+        assertThat(minute.pools().get(0).max()).isEqualTo(29L);
+        assertThat(minute.collectors().get(0).count()).isEqualTo(29L);
+        assertThat(minute.collectors().get(0).countDelta()).isEqualTo(30L);
+        assertThat(minute.bufferPools().get(0).used()).isEqualTo(10L);
+        assertThat(minute.allocatedBytes()).isEqualTo(29_000L);
+        assertThat(minute.allocationRate()).isEqualTo(500.0);
+    }
+}
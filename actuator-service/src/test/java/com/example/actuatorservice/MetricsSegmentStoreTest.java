@@ -0,0 +1,168 @@
+package com.example.actuatorservice;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.actuatorservice.MetricsCollectorService.MetricSnapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsSegmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static MetricSnapshot sample(long millis, long value) {
+        return new MetricSnapshot(Instant.ofEpochMilli(millis), value, value, value,
+                (int) value, (int) value, (int) value, value, value, value);
+    }
+
+    private MetricsSegmentStore openStore() throws Exception {
+        MetricsSegmentStore store = new MetricsSegmentStore(true, directory, Duration.ofHours(48), Duration.ofDays(30));
+        store.open();
+        return store;
+    }
+
+    // Three days of 2s samples ending now, values counting up from 0
+    private long fill(MetricsSegmentStore store, long now) {
+        long start = now - Duration.ofHours(72).toMillis();
+        start -= start % Duration.ofMinutes(1).toMillis();
+        long value = 0;
+        for (long t = start; t < now; t += MetricsCollectorService.INTERVAL_MILLIS) {
+            store.append(sample(t, value++));
+        }
+        return start;
+    }
+
+    @Test
+    void rangeShouldReturnMostRecentFirst() throws Exception {
+        MetricsSegmentStore store = openStore();
+        long now = System.currentTimeMillis();
+        fill(store, now);
+
+        List<MetricSnapshot> lastMinute = store.range(MetricsHistory.Resolution.RAW,
+                Instant.ofEpochMilli(now - 60_000), Instant.ofEpochMilli(now), 1000);
+        assertThat(lastMinute).hasSize(30);
+        assertThat(lastMinute.get(0).heapUsed()).isGreaterThan(lastMinute.get(29).heapUsed());
+        assertThat(store.range(MetricsHistory.Resolution.RAW,
+                Instant.ofEpochMilli(now - 60_000), Instant.ofEpochMilli(now), 5)).hasSize(5);
+    }
+
+    @Test
+    void historyShouldSurviveReopen() throws Exception {
+        long now = System.currentTimeMillis();
+        MetricsSegmentStore store = openStore();
+        long start = fill(store, now);
+        store.close();
+
+        MetricsSegmentStore reopened = openStore();
+        List<MetricSnapshot> all = reopened.range(MetricsHistory.Resolution.RAW,
+                Instant.ofEpochMilli(start), Instant.ofEpochMilli(now), Integer.MAX_VALUE);
+        assertThat(all).hasSize((int) ((now - start + MetricsCollectorService.INTERVAL_MILLIS - 1)
+                / MetricsCollectorService.INTERVAL_MILLIS));
+        // One day of 2s samples; the window edge may fall either side of one sample
+        assertThat(reopened.recentRaw(Duration.ofHours(24))).hasSizeBetween(43_199, 43_200);
+    }
+
+    @Test
+    void compactionShouldKeepMinuteHistory() throws Exception {
+        MetricsSegmentStore store = openStore();
+        long now = System.currentTimeMillis();
+        long start = fill(store, now);
+        Instant from = Instant.ofEpochMilli(start);
+        Instant to = Instant.ofEpochMilli(now);
+
+        List<MetricSnapshot> before = store.range(MetricsHistory.Resolution.MINUTE, from, to, Integer.MAX_VALUE);
+        store.compact();
+        List<MetricSnapshot> after = store.range(MetricsHistory.Resolution.MINUTE, from, to, Integer.MAX_VALUE);
+
+        assertThat(after).isEqualTo(before);
+        // Raw samples older than the raw retention are gone
+        assertThat(store.range(MetricsHistory.Resolution.RAW, from, Instant.ofEpochMilli(start + 60_000), 100))
+                .isEmpty();
+    }
+
+    @Test
+    void corruptSegmentForCurrentHourShouldBeSetAside() throws Exception {
+        long now = System.currentTimeMillis();
+        long hourStart = now - now % Duration.ofHours(1).toMillis();
+        Path corrupt = directory.resolve("raw-" + hourStart + ".seg");
+        Files.write(corrupt, new byte[]{1, 2, 3});
+
+        MetricsSegmentStore store = openStore();
+        store.append(sample(now, 7));
+
+        assertThat(store.range(MetricsHistory.Resolution.RAW, Instant.ofEpochMilli(hourStart),
+                Instant.ofEpochMilli(now + 1), 10)).extracting(MetricSnapshot::heapUsed).containsExactly(7L);
+        assertThat(directory.resolve("raw-" + hourStart + ".seg.corrupt")).exists();
+    }
+
+    @Test
+    void memoryColumnsShouldSurviveReopenAndCompaction() throws Exception {
+        MemoryLayout layout = new MemoryLayout(new String[] {"Eden"}, new String[] {"heap"},
+                new String[] {"Young"}, new String[] {"direct"});
+        MetricsSegmentStore store = new MetricsSegmentStore(layout, true, directory, Duration.ofHours(48),
+                Duration.ofDays(30));
+        store.open();
+        long now = System.currentTimeMillis();
+        long hour = Duration.ofHours(1).toMillis();
+        long start = now - Duration.ofHours(50).toMillis();
+        start -= start % hour;
+        long[] row = new long[layout.width()];
+        for (long t = start; t < start + hour; t += MetricsCollectorService.INTERVAL_MILLIS) {
+            row[layout.pool(0)] = 7;
+            row[layout.allocated()] = t - start;
+            store.append(sample(t, 1), row);
+        }
+        store.append(sample(now, 1), row);
+        store.compact();
+        store.close();
+
+        MetricsSegmentStore reopened = new MetricsSegmentStore(layout, true, directory, Duration.ofHours(48),
+                Duration.ofDays(30));
+        reopened.open();
+        List<MemoryPoolCollector.MemorySnapshot> minutes = reopened.memoryRange(MetricsHistory.Resolution.MINUTE,
+                Instant.ofEpochMilli(start), Instant.ofEpochMilli(start + hour), 1000);
+        assertThat(minutes).hasSize(60);
+        assertThat(minutes.get(0).pools().get(0).used()).isEqualTo(7L);
+        assertThat(minutes.get(0).allocatedBytes()).isEqualTo(hour - MetricsCollectorService.INTERVAL_MILLIS);
+        assertThat(reopened.memoryRange(MetricsHistory.Resolution.RAW, Instant.ofEpochMilli(now),
+                Instant.ofEpochMilli(now + 1), 10)).hasSize(1);
+
+        // Another JVM's pools: the metrics are still there, the breakdown is not decoded
+        MemoryLayout other = new MemoryLayout(new String[] {"PS Eden Space"}, new String[] {"heap"},
+                new String[] {"PS Scavenge"}, new String[] {"direct"});
+        MetricsSegmentStore otherJvm = new MetricsSegmentStore(other, true, directory, Duration.ofHours(48),
+                Duration.ofDays(30));
+        otherJvm.open();
+        assertThat(otherJvm.memoryRange(MetricsHistory.Resolution.MINUTE, Instant.ofEpochMilli(start),
+                Instant.ofEpochMilli(start + hour), 1000)).isEmpty();
+        assertThat(otherJvm.range(MetricsHistory.Resolution.MINUTE, Instant.ofEpochMilli(start),
+                Instant.ofEpochMilli(start + hour), 1000)).hasSize(60);
+    }
+
+    @Test
+    void version1SegmentsShouldStillBeRead() throws Exception {
+        long hour = Duration.ofHours(1).toMillis();
+        long start = System.currentTimeMillis() / hour * hour;
+        ByteBuffer file = ByteBuffer.allocate(32 + 10 * MetricsSegment.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        file.putInt(0, 0x4D534547).putInt(4, 1).putInt(8, MetricsSegment.RECORD_SIZE).putInt(12, 10)
+                .putLong(16, start).putLong(24, hour);
+        file.putLong(32 + 8, 42).putLong(32, start + 1000);
+        Files.write(directory.resolve("raw-" + start + ".seg"), file.array());
+
+        MetricsSegmentStore store = openStore();
+        store.append(sample(start + 3000, 43));
+
+        assertThat(store.range(MetricsHistory.Resolution.RAW, Instant.ofEpochMilli(start),
+                Instant.ofEpochMilli(start + hour), 10)).extracting(MetricSnapshot::heapUsed).containsExactly(43L, 42L);
+    }
+}
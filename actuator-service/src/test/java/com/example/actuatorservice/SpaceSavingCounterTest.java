@@ -0,0 +1,57 @@
+package com.example.actuatorservice;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SpaceSavingCounterTest {
+
+    @Test
+    void countsAreExactWhileEveryItemFits() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(10);
+        String[] items = {"a", "b", "a", "c", "a", "b"};
+        for (String item : items) {
+            counter.offer(item);
+        }
+
+        List<SpaceSavingCounter.Entry> top = counter.top(5);
+        assertThat(top).extracting(SpaceSavingCounter.Entry::item).containsExactly("a", "b", "c");
+        assertThat(top).extracting(SpaceSavingCounter.Entry::count).containsExactly(3L, 2L, 1L);
+        assertThat(top).allMatch(e -> e.error() == 0);
+        assertThat(counter.top(2)).hasSize(2);
+    }
+
+    @Test
+    void keepsHeavyHittersAmongManyDistinctItems() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(20);
+        Map<String, Long> exact = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // Three frequent names in a long tail of rare ones
+            String item = i % 4 == 0 ? "hot" + (i % 3) : "rare" + random.nextInt(10_000);
+            counter.offer(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+
+        List<SpaceSavingCounter.Entry> top = counter.top(3);
+        assertThat(top).extracting(SpaceSavingCounter.Entry::item)
+                .containsExactlyInAnyOrder("hot0", "hot1", "hot2");
+        for (SpaceSavingCounter.Entry entry : top) {
+            long actual = exact.get(entry.item());
+            assertThat(entry.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(actual);
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThatThrownBy(() -> new SpaceSavingCounter(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
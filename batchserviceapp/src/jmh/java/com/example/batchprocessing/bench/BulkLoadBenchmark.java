@@ -0,0 +1,124 @@
+package com.example.batchprocessing.bench;
+
+import com.example.batchprocessing.model.Person;
+import com.example.batchprocessing.processor.PersonItemProcessor;
+import com.example.batchprocessing.processor.PersonTransforms;
+import com.example.batchprocessing.reader.MappedCsvPersonReader;
+import com.example.batchprocessing.writer.CsvBulkLoader;
+import com.example.batchprocessing.writer.PeopleBulkWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to import a whole CSV into an empty people table: the direct CSVREAD load of
+ * bulkLoadStep against the chunked path (mmap reader, default pipeline, chunks of 1000)
+ * with the old JdbcBatchItemWriter and with the multi-row writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkLoadBenchmark {
+
+    private static final String PIPELINE = "trim,uppercase,validate";
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Path csv;
+    private H2People database;
+    private CsvBulkLoader loader;
+    private JdbcBatchItemWriter<Person> jdbcWriter;
+    private PeopleBulkWriter multiRowWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        csv = Files.createTempFile("people", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < rows; i++) {
+                out.write("First" + i + ",Last" + i + "\n");
+            }
+        }
+        database = new H2People("bulk");
+        loader = new CsvBulkLoader(database.jdbcTemplate, 20);
+        loader.afterPropertiesSet();
+        jdbcWriter = new JdbcBatchItemWriterBuilder<Person>()
+                .sql("INSERT INTO people (first_name, last_name) VALUES (:firstName, :lastName)")
+                .dataSource(database.dataSource)
+                .beanMapped()
+                .build();
+        jdbcWriter.afterPropertiesSet();
+        multiRowWriter = new PeopleBulkWriter(database.jdbcTemplate, PeopleBulkWriter.Mode.INSERT, 100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        database.close();
+        Files.deleteIfExists(csv);
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        database.truncate();
+    }
+
+    @Benchmark
+    public int csvRead() {
+        return database.transactions.execute(status -> loader.load(new FileSystemResource(csv), PIPELINE));
+    }
+
+    @Benchmark
+    public long chunkedJdbc() throws Exception {
+        return chunked(jdbcWriter);
+    }
+
+    @Benchmark
+    public long chunkedMultiRow() throws Exception {
+        return chunked(multiRowWriter);
+    }
+
+    private long chunked(ItemWriter<Person> writer) throws Exception {
+        MappedCsvPersonReader reader = new MappedCsvPersonReader(new FileSystemResource(csv));
+        PersonItemProcessor processor = new PersonItemProcessor(PersonTransforms.parse(PIPELINE, 20), 0);
+        reader.open(new ExecutionContext());
+        long written = 0;
+        try {
+            Person person = reader.read();
+            while (person != null) {
+                Chunk<Person> chunk = new Chunk<>();
+                while (person != null && chunk.size() < CHUNK_SIZE) {
+                    Person processed = processor.process(person);
+                    if (processed != null) {
+                        chunk.add(processed);
+                    }
+                    person = reader.read();
+                }
+                database.transactions.executeWithoutResult(status -> {
+                    try {
+                        writer.write(chunk);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                written += chunk.size();
+            }
+        } finally {
+            reader.close();
+        }
+        return written;
+    }
+}
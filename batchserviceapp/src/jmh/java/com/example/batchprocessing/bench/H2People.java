@@ -0,0 +1,39 @@
+package com.example.batchprocessing.bench;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A private in-memory H2 database with the people table as the application creates it,
+ * on a single connection so that connection setup does not show up in the measurements.
+ */
+final class H2People {
+
+    final SingleConnectionDataSource dataSource;
+    final JdbcTemplate jdbcTemplate;
+    final TransactionTemplate transactions;
+
+    H2People(String name) {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("""
+                CREATE TABLE people (
+                    person_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    first_name VARCHAR(20),
+                    last_name VARCHAR(20)
+                )""");
+        jdbcTemplate.execute("CREATE INDEX people_name_idx ON people (first_name, last_name)");
+    }
+
+    void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE people");
+    }
+
+    void close() {
+        jdbcTemplate.execute("SHUTDOWN");
+        dataSource.destroy();
+    }
+}
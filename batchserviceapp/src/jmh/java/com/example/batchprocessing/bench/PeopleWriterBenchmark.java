@@ -0,0 +1,97 @@
+package com.example.batchprocessing.bench;
+
+import com.example.batchprocessing.model.Person;
+import com.example.batchprocessing.writer.PeopleBulkWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One chunk of new people written in its own transaction, as a chunk-oriented step does:
+ * the JdbcBatchItemWriter with beanMapped() that importUserJob used until now, against
+ * {@link PeopleBulkWriter}'s multi-row INSERT and staging-table MERGE modes. Each chunk
+ * holds names not written before, so MERGE inserts every row rather than matching them.
+ *
+ * Scores are chunks per second; multiply by chunkSize for rows per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PeopleWriterBenchmark {
+
+    @Param({"jdbc", "multirow", "merge"})
+    public String writer;
+
+    @Param({"100", "1000"})
+    public int chunkSize;
+
+    private H2People database;
+    private ItemWriter<Person> itemWriter;
+    private Chunk<Person> chunk;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new H2People("writers");
+        switch (writer) {
+            case "jdbc" -> {
+                JdbcBatchItemWriter<Person> jdbc = new JdbcBatchItemWriterBuilder<Person>()
+                        .sql("INSERT INTO people (first_name, last_name) VALUES (:firstName, :lastName)")
+                        .dataSource(database.dataSource)
+                        .beanMapped()
+                        .build();
+                jdbc.afterPropertiesSet();
+                itemWriter = jdbc;
+            }
+            case "multirow", "merge" -> {
+                PeopleBulkWriter bulk = new PeopleBulkWriter(database.jdbcTemplate,
+                        writer.equals("merge") ? PeopleBulkWriter.Mode.MERGE : PeopleBulkWriter.Mode.INSERT, 100);
+                bulk.afterPropertiesSet();
+                itemWriter = bulk;
+            }
+            default -> throw new IllegalArgumentException(writer);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.close();
+    }
+
+    // Keeps the table from growing across iterations, which would slow the later ones
+    @Setup(Level.Iteration)
+    public void truncate() {
+        database.truncate();
+    }
+
+    // New names for every chunk, built outside the measurement
+    @Setup(Level.Invocation)
+    public void nextChunk() {
+        List<Person> people = new ArrayList<>(chunkSize);
+        for (int i = 0; i < chunkSize; i++) {
+            long n = next++;
+            people.add(new Person("FIRST" + n, "LAST" + n));
+        }
+        chunk = new Chunk<>(people);
+    }
+
+    @Benchmark
+    public void writeChunk() {
+        database.transactions.executeWithoutResult(status -> {
+            try {
+                itemWriter.write(chunk);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+}
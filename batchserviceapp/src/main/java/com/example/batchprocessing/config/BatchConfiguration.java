@@ -1,48 +1,123 @@
 package com.example.batchprocessing.config;
 
 import com.example.batchprocessing.model.Person;
+import com.example.batchprocessing.partition.ByteRangePartitioner;
+import com.example.batchprocessing.partition.ByteRangeResource;
 import com.example.batchprocessing.processor.PersonItemProcessor;
+import com.example.batchprocessing.processor.PersonTransforms;
+import com.example.batchprocessing.processor.PipelineStage;
+import com.example.batchprocessing.reader.MappedCsvPersonReader;
+import com.example.batchprocessing.writer.BulkLoadDecider;
+import com.example.batchprocessing.writer.CsvBulkLoader;
+import com.example.batchprocessing.writer.PeopleBulkWriter;
 
 import javax.sql.DataSource;
 
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamReaderBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
 public class BatchConfiguration {
 
+    /** Job parameter naming the CSV to import, as a resource location (e.g. file:/data/people.csv) */
+    public static final String INPUT_PARAMETER = "input";
+
+    /**
+     * Job parameter choosing the CSV reader: "flatfile" (FlatFileItemReader, the default) or
+     * "mmap" ({@link MappedCsvPersonReader}, which needs the input to be a file)
+     */
+    public static final String READER_PARAMETER = "reader";
+
+    /**
+     * Job parameter listing the processor stages in order (e.g. "trim,uppercase,validate,dedupe"),
+     * defaulting to app.batch.pipeline
+     */
+    public static final String PIPELINE_PARAMETER = "pipeline";
+
+    /**
+     * Job parameter choosing the writer, defaulting to app.batch.writer: "jdbc"
+     * (JdbcBatchItemWriter), "multirow" or "merge" ({@link PeopleBulkWriter}), or "bulk",
+     * which loads an empty table straight from the file in importUserJob and otherwise
+     * writes like multirow
+     */
+    public static final String WRITER_PARAMETER = "writer";
+
     @Bean
-    public FlatFileItemReader<Person> reader() {
+    @StepScope
+    public ItemStreamReader<Person> reader(ResourceLoader resourceLoader,
+                                           @Value("#{jobParameters['input'] ?: 'classpath:sample-data.csv'}") String input,
+                                           @Value("#{jobParameters['reader'] ?: '${app.batch.reader:flatfile}'}") String readerType) {
+        Resource resource = resourceLoader.getResource(input);
+        if ("mmap".equals(readerType)) {
+            MappedCsvPersonReader reader = new MappedCsvPersonReader(resource);
+            reader.setName("personItemReader");
+            return reader;
+        }
+        return flatFileReader("personItemReader", resource);
+    }
+
+    private static FlatFileItemReader<Person> flatFileReader(String name, Resource resource) {
         return new FlatFileItemReaderBuilder<Person>()
-                .name("personItemReader")
-                .resource(new ClassPathResource("sample-data.csv"))
+                .name(name)
+                .resource(resource)
                 .delimited()
                 .names("firstName", "lastName")
                 .targetType(Person.class)
                 .build();
     }
 
+    // Per step, so each step execution gets its own stage counters
+    @Bean
+    @StepScope
+    public PersonItemProcessor processor(
+            @Value("#{jobParameters['pipeline'] ?: '${app.batch.pipeline:trim,uppercase,validate}'}") String pipeline,
+            @Value("${app.batch.pipeline.max-name-length:20}") int maxNameLength,
+            @Value("${app.batch.pipeline.log-sample:10000}") long logSample) {
+        return new PersonItemProcessor(PersonTransforms.parse(pipeline, maxNameLength), logSample);
+    }
+
     @Bean
-    public PersonItemProcessor processor() {
-        return new PersonItemProcessor();
+    public ImportJobParametersValidator importJobParametersValidator(
+            @Value("${app.batch.reader:flatfile}") String defaultReader,
+            @Value("${app.batch.writer:jdbc}") String defaultWriter,
+            @Value("${app.batch.pipeline:trim,uppercase,validate}") String defaultPipeline) {
+        return new ImportJobParametersValidator(false, defaultReader, defaultWriter, defaultPipeline);
     }
 
     @Bean
-    public JdbcBatchItemWriter<Person> writer(DataSource dataSource) {
+    public ImportJobParametersValidator partitionedImportJobParametersValidator(
+            @Value("${app.batch.reader:flatfile}") String defaultReader,
+            @Value("${app.batch.writer:jdbc}") String defaultWriter,
+            @Value("${app.batch.pipeline:trim,uppercase,validate}") String defaultPipeline) {
+        return new ImportJobParametersValidator(true, defaultReader, defaultWriter, defaultPipeline);
+    }
+
+    @Bean
+    public JdbcBatchItemWriter<Person> jdbcWriter(DataSource dataSource) {
         return new JdbcBatchItemWriterBuilder<Person>()
                 .sql("INSERT INTO people (first_name, last_name) VALUES (:firstName, :lastName)")
                 .dataSource(dataSource)
@@ -51,26 +126,166 @@ public class BatchConfiguration {
     }
 
     @Bean
-    public Job importUserJob(JobRepository jobRepository, Step step1,
+    public PeopleBulkWriter multiRowWriter(JdbcTemplate jdbcTemplate,
+                                           @Value("${app.batch.writer.rows-per-statement:100}") int rowsPerStatement) {
+        return new PeopleBulkWriter(jdbcTemplate, PeopleBulkWriter.Mode.INSERT, rowsPerStatement);
+    }
+
+    @Bean
+    public PeopleBulkWriter mergeWriter(JdbcTemplate jdbcTemplate,
+                                        @Value("${app.batch.writer.rows-per-statement:100}") int rowsPerStatement) {
+        return new PeopleBulkWriter(jdbcTemplate, PeopleBulkWriter.Mode.MERGE, rowsPerStatement);
+    }
+
+    /*
+     * Picks one of the singleton writers above for the step. bulk reaches here when the bulk
+     * load does not apply and then writes like multirow, or like merge when the pipeline
+     * asks for dedupe.
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<Person> writer(JdbcBatchItemWriter<Person> jdbcWriter, PeopleBulkWriter multiRowWriter,
+                                     PeopleBulkWriter mergeWriter,
+                                     @Value("#{jobParameters['writer'] ?: '${app.batch.writer:jdbc}'}") String writerType,
+                                     @Value("#{jobParameters['pipeline'] ?: '${app.batch.pipeline:trim,uppercase,validate}'}") String pipeline) {
+        return switch (writerType) {
+            case "multirow" -> multiRowWriter;
+            case "merge" -> mergeWriter;
+            case "bulk" -> PipelineStage.parse(pipeline).contains(PipelineStage.DEDUPE) ? mergeWriter : multiRowWriter;
+            default -> jdbcWriter;
+        };
+    }
+
+    @Bean
+    public CsvBulkLoader csvBulkLoader(JdbcTemplate jdbcTemplate,
+                                       @Value("${app.batch.pipeline.max-name-length:20}") int maxNameLength) {
+        return new CsvBulkLoader(jdbcTemplate, maxNameLength);
+    }
+
+    @Bean
+    public BulkLoadDecider bulkLoadDecider(ResourceLoader resourceLoader, CsvBulkLoader csvBulkLoader,
+                                           @Value("${app.batch.writer:jdbc}") String defaultWriter) {
+        return new BulkLoadDecider(resourceLoader, csvBulkLoader, defaultWriter);
+    }
+
+    @Bean
+    public Step bulkLoadStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                             ResourceLoader resourceLoader, CsvBulkLoader csvBulkLoader,
+                             @Value("${app.batch.pipeline:trim,uppercase,validate}") String defaultPipeline) {
+        return new StepBuilder("bulkLoadStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    JobParameters parameters = chunkContext.getStepContext().getStepExecution().getJobParameters();
+                    Resource input = resourceLoader.getResource(
+                            parameters.getString(INPUT_PARAMETER, "classpath:sample-data.csv"));
+                    int rows = csvBulkLoader.load(input, parameters.getString(PIPELINE_PARAMETER, defaultPipeline));
+                    contribution.incrementWriteCount(rows);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    @Bean
+    public Job importUserJob(JobRepository jobRepository, Step step1, Step bulkLoadStep, BulkLoadDecider bulkLoadDecider,
+                             ImportJobParametersValidator importJobParametersValidator,
                              com.example.batchprocessing.listener.JobCompletionNotificationListener listener) {
         return new JobBuilder("importUserJob", jobRepository)
+                .validator(importJobParametersValidator)
                 .listener(listener)
-                .start(step1)
+                .start(bulkLoadDecider).on(BulkLoadDecider.BULK.getName()).to(bulkLoadStep)
+                .from(bulkLoadDecider).on("*").to(step1)
+                .end()
                 .build();
     }
 
     @Bean
     public Step step1(JobRepository jobRepository, PlatformTransactionManager transactionManager,
-                      FlatFileItemReader<Person> reader, PersonItemProcessor processor,
-                      JdbcBatchItemWriter<Person> writer) {
+                      ItemStreamReader<Person> reader, PersonItemProcessor processor,
+                      ItemWriter<Person> writer,
+                      @Value("${app.batch.chunk-size:1000}") int chunkSize) {
         return new StepBuilder("step1", jobRepository)
-                .<Person, Person>chunk(3, transactionManager)
+                .<Person, Person>chunk(chunkSize, transactionManager)
                 .reader(reader)
                 .processor(processor)
                 .writer(writer)
                 .build();
     }
 
+    /*
+     * Partitioned variant of importUserJob: the input is split into byte ranges starting on
+     * line boundaries and each range is imported by its own worker step execution, with up
+     * to max-concurrency workers running at once on virtual threads.
+     */
+
+    @Bean
+    public Job partitionedImportUserJob(JobRepository jobRepository, Step partitionedStep,
+                                        ImportJobParametersValidator partitionedImportJobParametersValidator,
+                                        com.example.batchprocessing.listener.JobCompletionNotificationListener listener) {
+        return new JobBuilder("partitionedImportUserJob", jobRepository)
+                .validator(partitionedImportJobParametersValidator)
+                .listener(listener)
+                .start(partitionedStep)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public ByteRangePartitioner partitioner(ResourceLoader resourceLoader,
+                                            @Value("#{jobParameters['input'] ?: 'classpath:sample-data.csv'}") String input) {
+        return new ByteRangePartitioner(resourceLoader.getResource(input));
+    }
+
+    @Bean
+    public Step partitionedStep(JobRepository jobRepository, Step partitionWorkerStep, ByteRangePartitioner partitioner,
+                                @Value("${app.batch.partition.grid-size:8}") int gridSize,
+                                @Value("${app.batch.partition.max-concurrency:8}") int maxConcurrency) {
+        // Not a bean, so it does not replace Boot's application task executor
+        SimpleAsyncTaskExecutor workers = new SimpleAsyncTaskExecutor("partition-");
+        workers.setVirtualThreads(true);
+        workers.setConcurrencyLimit(maxConcurrency);
+        return new StepBuilder("partitionedStep", jobRepository)
+                .partitioner("partitionWorkerStep", partitioner)
+                .step(partitionWorkerStep)
+                .gridSize(gridSize)
+                .taskExecutor(workers)
+                .build();
+    }
+
+    @Bean
+    public Step partitionWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                    SynchronizedItemStreamReader<Person> partitionReader, PersonItemProcessor processor,
+                                    ItemWriter<Person> writer,
+                                    @Value("${app.batch.chunk-size:1000}") int chunkSize) {
+        return new StepBuilder("partitionWorkerStep", jobRepository)
+                .<Person, Person>chunk(chunkSize, transactionManager)
+                .reader(partitionReader)
+                .processor(processor)
+                .writer(writer)
+                .build();
+    }
+
+    // One reader per partition; synchronized so a worker step may also be given several threads
+    @Bean
+    @StepScope
+    public SynchronizedItemStreamReader<Person> partitionReader(
+            ResourceLoader resourceLoader,
+            @Value("#{jobParameters['input'] ?: 'classpath:sample-data.csv'}") String input,
+            @Value("#{jobParameters['reader'] ?: '${app.batch.reader:flatfile}'}") String readerType,
+            @Value("#{stepExecutionContext['startByte']}") long startByte,
+            @Value("#{stepExecutionContext['endByte']}") long endByte) {
+        Resource resource = resourceLoader.getResource(input);
+        ItemStreamReader<Person> delegate;
+        if ("mmap".equals(readerType)) {
+            MappedCsvPersonReader mapped = new MappedCsvPersonReader(resource, startByte, endByte);
+            mapped.setName("partitionReader");
+            delegate = mapped;
+        } else {
+            delegate = flatFileReader("partitionReader", new ByteRangeResource(resource, startByte, endByte));
+        }
+        return new SynchronizedItemStreamReaderBuilder<Person>()
+                .delegate(delegate)
+                .build();
+    }
+
     @Bean
     public JobLauncher asyncJobLauncher(JobRepository jobRepository) throws Exception {
         TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
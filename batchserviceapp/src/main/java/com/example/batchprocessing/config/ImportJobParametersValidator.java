@@ -0,0 +1,73 @@
+package com.example.batchprocessing.config;
+
+import com.example.batchprocessing.processor.PipelineStage;
+import com.example.batchprocessing.writer.CsvBulkLoader;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.JobParametersValidator;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rejects reader, writer and pipeline job parameters, or their configured defaults, that
+ * the import jobs would otherwise only trip over in the middle of a step: unknown names,
+ * dedupe with a writer that cannot do it (dedupe happens in the database, through the
+ * merge writer or the bulk load's DISTINCT), and a bulk load of a pipeline it cannot
+ * reproduce.
+ *
+ * For the partitioned job, merge and dedupe are rejected too: people has no unique key on
+ * the names, so two partitions merging at the same time can both find a name missing and
+ * both insert it.
+ */
+public class ImportJobParametersValidator implements JobParametersValidator {
+
+    private static final Set<String> READERS = Set.of("flatfile", "mmap");
+    private static final Set<String> WRITERS = Set.of("jdbc", "multirow", "merge", "bulk");
+
+    private final boolean partitioned;
+    private final String defaultReader;
+    private final String defaultWriter;
+    private final String defaultPipeline;
+
+    public ImportJobParametersValidator(boolean partitioned, String defaultReader, String defaultWriter,
+                                        String defaultPipeline) {
+        this.partitioned = partitioned;
+        this.defaultReader = defaultReader;
+        this.defaultWriter = defaultWriter;
+        this.defaultPipeline = defaultPipeline;
+    }
+
+    @Override
+    public void validate(JobParameters parameters) throws JobParametersInvalidException {
+        JobParameters params = parameters != null ? parameters : new JobParameters();
+        String reader = params.getString(BatchConfiguration.READER_PARAMETER, defaultReader);
+        String writer = params.getString(BatchConfiguration.WRITER_PARAMETER, defaultWriter);
+        String pipeline = params.getString(BatchConfiguration.PIPELINE_PARAMETER, defaultPipeline);
+
+        if (!READERS.contains(reader)) {
+            throw new JobParametersInvalidException("Unknown reader '" + reader + "' (expected " + READERS + ")");
+        }
+        if (!WRITERS.contains(writer)) {
+            throw new JobParametersInvalidException("Unknown writer '" + writer + "' (expected " + WRITERS + ")");
+        }
+        List<PipelineStage> stages;
+        try {
+            stages = PipelineStage.parse(pipeline);
+        } catch (IllegalArgumentException e) {
+            throw new JobParametersInvalidException(e.getMessage());
+        }
+        if (stages.contains(PipelineStage.DEDUPE) && !writer.equals("merge") && !writer.equals("bulk")) {
+            throw new JobParametersInvalidException("The dedupe stage is done by the merge writer; run with writer=merge"
+                    + " (or bulk) instead of " + writer);
+        }
+        if (partitioned && (writer.equals("merge") || stages.contains(PipelineStage.DEDUPE))) {
+            throw new JobParametersInvalidException("The partitioned import cannot merge or dedupe: concurrent"
+                    + " partitions could insert the same person twice; use the single-step import");
+        }
+        if (!partitioned && writer.equals("bulk") && !CsvBulkLoader.supports(stages)) {
+            throw new JobParametersInvalidException("The bulk load cannot run '" + pipeline
+                    + "': trim and uppercase must come before validate and dedupe");
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
@@ -30,9 +31,12 @@ public class BatchController {
     }
 
     @PostMapping("/run-job")
-    public String runJob(RedirectAttributes redirectAttributes) {
+    public String runJob(@RequestParam(defaultValue = "false") boolean partitioned,
+                         @RequestParam(required = false) String reader,
+                         @RequestParam(required = false) String writer,
+                         RedirectAttributes redirectAttributes) {
         try {
-            JobExecution execution = batchJobService.launchJob();
+            JobExecution execution = batchJobService.launchJob(partitioned, reader, writer);
             redirectAttributes.addFlashAttribute("successMessage",
                     "Batch job launched! Job ID: " + execution.getJobId()
                             + " | Status: " + execution.getStatus());
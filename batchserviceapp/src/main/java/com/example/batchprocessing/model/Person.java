@@ -4,10 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
+// The name index serves the merge writer's lookups of existing people
 @Entity
-@Table(name = "people")
+@Table(name = "people", indexes = @Index(name = "people_name_idx", columnList = "first_name, last_name"))
 public class Person {
 
     @Id
@@ -0,0 +1,87 @@
+package com.example.batchprocessing.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits a line-oriented file into gridSize contiguous byte ranges, each starting at the
+ * beginning of a line, so workers can seek straight to their range instead of skipping
+ * lines. Boundaries are found by reading forward from each nominal split point to the next
+ * newline; a range may come out empty when lines are longer than the file is split.
+ *
+ * Each partition's context holds {@link #START_BYTE} (inclusive) and {@link #END_BYTE}
+ * (exclusive). A resource that is not a file (e.g. inside a jar) cannot be seeked into
+ * and becomes a single partition.
+ */
+public class ByteRangePartitioner implements Partitioner {
+
+    public static final String START_BYTE = "startByte";
+    public static final String END_BYTE = "endByte";
+
+    private final Resource resource;
+
+    public ByteRangePartitioner(Resource resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try {
+            if (!resource.isFile()) {
+                partitions.put("partition0", range(0, resource.contentLength()));
+                return partitions;
+            }
+            File file = resource.getFile();
+            try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+                long length = raf.length();
+                int grid = (int) Math.max(1, Math.min(gridSize, length));
+                long start = 0;
+                for (int i = 1; i <= grid; i++) {
+                    long end = i == grid ? length : nextLineStart(raf, Math.max(start, length * i / grid), length);
+                    partitions.put("partition" + (i - 1), range(start, end));
+                    start = end;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not partition " + resource.getDescription(), e);
+        }
+        return partitions;
+    }
+
+    // Offset just past the first newline at or after position, or length if there is none
+    private static long nextLineStart(RandomAccessFile raf, long position, long length) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        // A split point that already starts a line stays where it is
+        raf.seek(position - 1);
+        byte[] buffer = new byte[8192];
+        long offset = position - 1;
+        int read;
+        while ((read = raf.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return length;
+    }
+
+    private static ExecutionContext range(long start, long end) {
+        ExecutionContext context = new ExecutionContext();
+        context.putLong(START_BYTE, start);
+        context.putLong(END_BYTE, end);
+        return context;
+    }
+}
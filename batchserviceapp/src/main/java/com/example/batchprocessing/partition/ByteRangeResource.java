@@ -0,0 +1,95 @@
+package com.example.batchprocessing.partition;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The bytes [start, end) of another resource, so a standard FlatFileItemReader can read
+ * one partition produced by {@link ByteRangePartitioner}.
+ */
+public class ByteRangeResource extends AbstractResource {
+
+    private final Resource delegate;
+    private final long start;
+    private final long end;
+
+    public ByteRangeResource(Resource delegate, long start, long end) {
+        this.delegate = delegate;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public long contentLength() {
+        return end - start;
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription() + " [bytes " + start + "-" + end + "]";
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = delegate.getInputStream();
+        try {
+            in.skipNBytes(start);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new FilterInputStream(in) {
+            private long remaining = end - start;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int b = super.read();
+                if (b >= 0) {
+                    remaining--;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read > 0) {
+                    remaining -= read;
+                }
+                return read;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(Math.min(n, remaining));
+                remaining -= skipped;
+                return skipped;
+            }
+
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+
+            @Override
+            public int available() throws IOException {
+                return (int) Math.min(super.available(), remaining);
+            }
+        };
+    }
+}
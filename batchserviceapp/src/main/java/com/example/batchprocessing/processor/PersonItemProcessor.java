@@ -3,21 +3,134 @@ package com.example.batchprocessing.processor;
 import com.example.batchprocessing.model.Person;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
 
-public class PersonItemProcessor implements ItemProcessor<Person, Person> {
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs each person through a pipeline of {@link PersonTransform} stages, built per step
+ * from a spec (see {@link PersonTransforms#parse}). A stage returning null filters the
+ * person out, which Spring Batch counts in the step's filter count.
+ *
+ * Every stage counts the items it received and passed on and the time it spent. As an
+ * ItemStream the processor writes these counters to the step execution context at each
+ * commit, under "pipeline.&lt;index&gt;.&lt;stage&gt;.in", ".out" and ".nanos", restores them
+ * on restart and logs a per-stage summary when the step ends.
+ *
+ * Conversions are logged at DEBUG for one item in every logSample, not for each row.
+ */
+public class PersonItemProcessor implements ItemProcessor<Person, Person>, ItemStream {
 
     private static final Logger log = LoggerFactory.getLogger(PersonItemProcessor.class);
 
+    public static final class Stage {
+
+        private final String name;
+        private final PersonTransform transform;
+        private final LongAdder in = new LongAdder();
+        private final LongAdder out = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        public Stage(String name, PersonTransform transform) {
+            this.name = name;
+            this.transform = transform;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getIn() {
+            return in.sum();
+        }
+
+        public long getOut() {
+            return out.sum();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+    }
+
+    private final Stage[] stages;
+    private final long logSample;
+    private final AtomicLong processed = new AtomicLong();
+
+    public PersonItemProcessor(List<Stage> stages, long logSample) {
+        this.stages = stages.toArray(new Stage[0]);
+        this.logSample = logSample;
+    }
+
+    public List<Stage> getStages() {
+        return List.of(stages);
+    }
+
     @Override
     public Person process(final Person person) {
-        final String firstName = person.getFirstName().toUpperCase();
-        final String lastName = person.getLastName().toUpperCase();
+        boolean sampled = logSample > 0 && processed.incrementAndGet() % logSample == 0 && log.isDebugEnabled();
+        String before = sampled ? person.toString() : null;
+
+        Person current = person;
+        long start = System.nanoTime();
+        for (Stage stage : stages) {
+            stage.in.increment();
+            current = stage.transform.apply(current);
+            long end = System.nanoTime();
+            stage.nanos.add(end - start);
+            start = end;
+            if (current == null) {
+                if (sampled) {
+                    log.debug("Filtered ({}) at stage {}", before, stage.name);
+                }
+                return null;
+            }
+            stage.out.increment();
+        }
+
+        if (sampled) {
+            log.debug("Converted ({}) into ({})", before, current);
+        }
+        return current;
+    }
+
+    private static String key(int index, Stage stage, String counter) {
+        return "pipeline." + index + "." + stage.name + "." + counter;
+    }
 
-        final Person transformedPerson = new Person(firstName, lastName);
+    @Override
+    public void open(ExecutionContext executionContext) {
+        for (int i = 0; i < stages.length; i++) {
+            Stage stage = stages[i];
+            if (executionContext.containsKey(key(i, stage, "in"))) {
+                stage.in.add(executionContext.getLong(key(i, stage, "in")));
+                stage.out.add(executionContext.getLong(key(i, stage, "out")));
+                stage.nanos.add(executionContext.getLong(key(i, stage, "nanos")));
+            }
+        }
+    }
 
-        log.info("Converting ({}) into ({})", person, transformedPerson);
+    @Override
+    public void update(ExecutionContext executionContext) {
+        for (int i = 0; i < stages.length; i++) {
+            Stage stage = stages[i];
+            executionContext.putLong(key(i, stage, "in"), stage.getIn());
+            executionContext.putLong(key(i, stage, "out"), stage.getOut());
+            executionContext.putLong(key(i, stage, "nanos"), stage.getNanos());
+        }
+    }
 
-        return transformedPerson;
+    @Override
+    public void close() {
+        for (Stage stage : stages) {
+            long in = stage.getIn();
+            long nanos = stage.getNanos();
+            log.info("Stage {}: {} in, {} filtered, {} items/s, {} ns/item", stage.name, in, in - stage.getOut(),
+                    nanos == 0 ? 0 : Math.round(in * 1e9 / nanos), in == 0 ? 0 : nanos / in);
+        }
     }
 }
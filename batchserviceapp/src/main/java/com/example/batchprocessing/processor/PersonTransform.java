@@ -0,0 +1,13 @@
+package com.example.batchprocessing.processor;
+
+import com.example.batchprocessing.model.Person;
+
+/**
+ * One stage of the {@link PersonItemProcessor} pipeline. A stage may modify the person in
+ * place and return it, or return null to filter it out; later stages are then skipped.
+ */
+@FunctionalInterface
+public interface PersonTransform {
+
+    Person apply(Person person);
+}
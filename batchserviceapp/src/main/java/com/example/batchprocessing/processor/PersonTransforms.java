@@ -0,0 +1,76 @@
+package com.example.batchprocessing.processor;
+
+import com.example.batchprocessing.model.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The processor stages of a pipeline spec such as "trim,uppercase,validate".
+ *
+ * Stages change the Person they are given instead of copying it, and String.trim and
+ * toUpperCase return the same instance when there is nothing to change, so a row that is
+ * already clean passes through without allocating.
+ */
+public final class PersonTransforms {
+
+    private PersonTransforms() {
+    }
+
+    public static PersonTransform trim() {
+        return person -> {
+            person.setFirstName(trim(person.getFirstName()));
+            person.setLastName(trim(person.getLastName()));
+            return person;
+        };
+    }
+
+    public static PersonTransform uppercase() {
+        return person -> {
+            person.setFirstName(uppercase(person.getFirstName()));
+            person.setLastName(uppercase(person.getLastName()));
+            return person;
+        };
+    }
+
+    // Also called from SQL by the bulk load, so both paths trim the same characters
+    public static String trim(String name) {
+        return name == null ? null : name.trim();
+    }
+
+    // Locale.ROOT so the result does not depend on the server's locale (e.g. Turkish dotless i)
+    public static String uppercase(String name) {
+        return name == null ? null : name.toUpperCase(Locale.ROOT);
+    }
+
+    // Filters out people with a missing name or one longer than the column allows
+    public static PersonTransform validate(int maxLength) {
+        return person -> valid(person.getFirstName(), maxLength) && valid(person.getLastName(), maxLength) ? person : null;
+    }
+
+    private static boolean valid(String name, int maxLength) {
+        return name != null && !name.isEmpty() && name.length() <= maxLength;
+    }
+
+    /**
+     * Builds the processor stages for a spec (see {@link PipelineStage#parse}), in order.
+     * dedupe has no processor stage: it is done in the database by the merge writer, which
+     * sees only committed rows, including those of an earlier run of a restarted job.
+     */
+    public static List<PersonItemProcessor.Stage> parse(String spec, int maxLength) {
+        List<PersonItemProcessor.Stage> stages = new ArrayList<>();
+        for (PipelineStage stage : PipelineStage.parse(spec)) {
+            PersonTransform transform = switch (stage) {
+                case TRIM -> trim();
+                case UPPERCASE -> uppercase();
+                case VALIDATE -> validate(maxLength);
+                case DEDUPE -> null;
+            };
+            if (transform != null) {
+                stages.add(new PersonItemProcessor.Stage(stage.key(), transform));
+            }
+        }
+        return stages;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.batchprocessing.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The stages a pipeline spec such as "trim,uppercase,validate,dedupe" can name. The
+ * chunked path runs trim, uppercase and validate in {@link PersonItemProcessor} and leaves
+ * dedupe to the merge writer; the bulk load translates all of them to SQL.
+ */
+public enum PipelineStage {
+
+    TRIM, UPPERCASE, VALIDATE, DEDUPE;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The stages named in a comma-separated spec, in order. Unknown names are rejected so
+     * that a typo does not silently drop a stage.
+     */
+    public static List<PipelineStage> parse(String spec) {
+        List<PipelineStage> stages = new ArrayList<>();
+        for (String name : spec.split(",")) {
+            String key = name.trim().toLowerCase(Locale.ROOT);
+            if (key.isEmpty()) {
+                continue;
+            }
+            PipelineStage stage = null;
+            for (PipelineStage candidate : values()) {
+                if (candidate.key().equals(key)) {
+                    stage = candidate;
+                }
+            }
+            if (stage == null) {
+                throw new IllegalArgumentException("Unknown pipeline stage '" + key
+                        + "' in '" + spec + "' (expected trim, uppercase, validate or dedupe)");
+            }
+            stages.add(stage);
+        }
+        return stages;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.batchprocessing.service;
 
+import com.example.batchprocessing.config.BatchConfiguration;
 import com.example.batchprocessing.model.Person;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.JobExecution;
@@ -8,34 +9,56 @@ import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class BatchJobService {
 
     private final JobLauncher asyncJobLauncher;
     private final Job importUserJob;
+    private final Job partitionedImportUserJob;
     private final JobExplorer jobExplorer;
     private final JdbcTemplate jdbcTemplate;
+    private final String input;
+    private final String reader;
+    private final String writer;
 
     public BatchJobService(@Qualifier("asyncJobLauncher") JobLauncher asyncJobLauncher,
-                           Job importUserJob,
+                           @Qualifier("importUserJob") Job importUserJob,
+                           @Qualifier("partitionedImportUserJob") Job partitionedImportUserJob,
                            JobExplorer jobExplorer,
-                           JdbcTemplate jdbcTemplate) {
+                           JdbcTemplate jdbcTemplate,
+                           @Value("${app.batch.input:classpath:sample-data.csv}") String input,
+                           @Value("${app.batch.reader:flatfile}") String reader,
+                           @Value("${app.batch.writer:jdbc}") String writer) {
         this.asyncJobLauncher = asyncJobLauncher;
         this.importUserJob = importUserJob;
+        this.partitionedImportUserJob = partitionedImportUserJob;
         this.jobExplorer = jobExplorer;
         this.jdbcTemplate = jdbcTemplate;
+        this.input = input;
+        this.reader = reader;
+        this.writer = writer;
     }
 
     public JobExecution launchJob() throws Exception {
+        return launchJob(false, null, null);
+    }
+
+    // reader and writer name the job's reader and writer (see BatchConfiguration); null uses the configured default
+    public JobExecution launchJob(boolean partitioned, String reader, String writer) throws Exception {
         JobParameters params = new JobParametersBuilder()
                 .addLong("time", System.currentTimeMillis())
+                .addString(BatchConfiguration.INPUT_PARAMETER, input)
+                .addString(BatchConfiguration.READER_PARAMETER, reader != null ? reader : this.reader)
+                .addString(BatchConfiguration.WRITER_PARAMETER, writer != null ? writer : this.writer)
                 .toJobParameters();
-        return asyncJobLauncher.run(importUserJob, params);
+        return asyncJobLauncher.run(partitioned ? partitionedImportUserJob : importUserJob, params);
     }
 
     public List<Person> getAllPeople() {
@@ -54,7 +77,8 @@ public class BatchJobService {
     }
 
     public List<JobExecution> getRecentJobExecutions() {
-        return jobExplorer.getJobInstances("importUserJob", 0, 10).stream()
+        return Stream.of("importUserJob", "partitionedImportUserJob")
+                .flatMap(name -> jobExplorer.getJobInstances(name, 0, 10).stream())
                 .flatMap(instance -> jobExplorer.getJobExecutions(instance).stream())
                 .sorted((a, b) -> b.getStartTime().compareTo(a.getStartTime()))
                 .limit(10)
@@ -0,0 +1,42 @@
+package com.example.batchprocessing.writer;
+
+import com.example.batchprocessing.config.BatchConfiguration;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+/**
+ * Sends importUserJob down the bulk-load path ({@link #BULK}) when the writer job
+ * parameter is "bulk", the input is a file CSVREAD can open and the people table is
+ * empty; otherwise to the chunked step ({@link #CHUNKED}).
+ */
+public class BulkLoadDecider implements JobExecutionDecider {
+
+    public static final FlowExecutionStatus BULK = new FlowExecutionStatus("BULK");
+    public static final FlowExecutionStatus CHUNKED = new FlowExecutionStatus("CHUNKED");
+
+    private final ResourceLoader resourceLoader;
+    private final CsvBulkLoader loader;
+    private final String defaultWriter;
+
+    public BulkLoadDecider(ResourceLoader resourceLoader, CsvBulkLoader loader, String defaultWriter) {
+        this.resourceLoader = resourceLoader;
+        this.loader = loader;
+        this.defaultWriter = defaultWriter;
+    }
+
+    @Override
+    public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+        String writer = jobExecution.getJobParameters().getString(BatchConfiguration.WRITER_PARAMETER, defaultWriter);
+        if (!"bulk".equals(writer)) {
+            return CHUNKED;
+        }
+        String input = jobExecution.getJobParameters().getString(BatchConfiguration.INPUT_PARAMETER,
+                "classpath:sample-data.csv");
+        Resource resource = resourceLoader.getResource(input);
+        return resource.isFile() && loader.isTargetEmpty() ? BULK : CHUNKED;
+    }
+}
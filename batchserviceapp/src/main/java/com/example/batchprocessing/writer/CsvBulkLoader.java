@@ -0,0 +1,118 @@
+package com.example.batchprocessing.writer;
+
+import com.example.batchprocessing.processor.PersonTransforms;
+import com.example.batchprocessing.processor.PipelineStage;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Loads a CSV file into an empty people table in one INSERT ... SELECT over H2's CSVREAD,
+ * so rows go from the file to the table inside the database without passing through a
+ * reader, processor and writer.
+ *
+ * The pipeline is translated to SQL with the chunked path's semantics: trim and uppercase
+ * call {@link PersonTransforms#trim(String)} and {@link PersonTransforms#uppercase(String)}
+ * through function aliases (SQL TRIM strips only spaces and H2's UPPER follows the default
+ * locale), CSVREAD is told to preserve whitespace so that only a trim stage trims, validate
+ * becomes a filter on the lengths and dedupe a DISTINCT. The filters apply to the
+ * transformed names, so a pipeline that transforms after validating or deduplicating
+ * cannot be reproduced and is rejected; see {@link #supports(List)}. dedupe as DISTINCT
+ * only covers the file itself, which is why the load is for an empty target and callers
+ * check {@link #isTargetEmpty()} first.
+ */
+public class CsvBulkLoader implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxNameLength;
+
+    public CsvBulkLoader(JdbcTemplate jdbcTemplate, int maxNameLength) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxNameLength = maxNameLength;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        String transforms = PersonTransforms.class.getName();
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS people_trim DETERMINISTIC FOR '" + transforms + ".trim(java.lang.String)'");
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS people_uppercase DETERMINISTIC FOR '" + transforms + ".uppercase(java.lang.String)'");
+    }
+
+    // True unless a trim or uppercase comes after a validate or dedupe
+    public static boolean supports(List<PipelineStage> stages) {
+        boolean filtered = false;
+        for (PipelineStage stage : stages) {
+            switch (stage) {
+                case TRIM, UPPERCASE -> {
+                    if (filtered) {
+                        return false;
+                    }
+                }
+                case VALIDATE, DEDUPE -> filtered = true;
+            }
+        }
+        return true;
+    }
+
+    public boolean isTargetEmpty() {
+        return jdbcTemplate.queryForList("SELECT 1 FROM people LIMIT 1").isEmpty();
+    }
+
+    // Returns the number of rows inserted; the resource must be a file, as CSVREAD opens it by path
+    public int load(Resource resource, String pipeline) {
+        List<PipelineStage> stages = PipelineStage.parse(pipeline);
+        if (!supports(stages)) {
+            throw new IllegalArgumentException("The bulk load cannot run '" + pipeline
+                    + "': trim and uppercase must come before validate and dedupe");
+        }
+        String path;
+        try {
+            path = resource.getFile().getAbsolutePath();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Bulk load needs a file, not " + resource.getDescription(), e);
+        }
+        return jdbcTemplate.update(sql(path, stages));
+    }
+
+    /*
+     * The path is a literal rather than a parameter: H2 opens the CSV while preparing the
+     * statement to learn its columns, before parameters are bound.
+     */
+    private String sql(String path, List<PipelineStage> stages) {
+        String firstName = "first_name";
+        String lastName = "last_name";
+        boolean validate = false;
+        boolean dedupe = false;
+        for (PipelineStage stage : stages) {
+            switch (stage) {
+                case TRIM -> {
+                    firstName = "people_trim(" + firstName + ")";
+                    lastName = "people_trim(" + lastName + ")";
+                }
+                case UPPERCASE -> {
+                    firstName = "people_uppercase(" + firstName + ")";
+                    lastName = "people_uppercase(" + lastName + ")";
+                }
+                case VALIDATE -> validate = true;
+                case DEDUPE -> dedupe = true;
+            }
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO people (first_name, last_name) SELECT ")
+                .append(dedupe ? "DISTINCT " : "")
+                .append("first_name, last_name FROM (SELECT ")
+                .append(firstName).append(" AS first_name, ")
+                .append(lastName).append(" AS last_name")
+                .append(" FROM CSVREAD('")
+                .append(path.replace("'", "''"))
+                .append("', 'FIRST_NAME,LAST_NAME', 'charset=UTF-8 preserveWhitespace=true')) csv");
+        if (validate) {
+            sql.append(" WHERE CHAR_LENGTH(first_name) BETWEEN 1 AND ").append(maxNameLength)
+                    .append(" AND CHAR_LENGTH(last_name) BETWEEN 1 AND ").append(maxNameLength);
+        }
+        return sql.toString();
+    }
+}
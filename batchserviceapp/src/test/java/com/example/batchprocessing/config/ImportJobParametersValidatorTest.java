@@ -0,0 +1,63 @@
+package com.example.batchprocessing.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImportJobParametersValidatorTest {
+
+    private final ImportJobParametersValidator validator =
+            new ImportJobParametersValidator(false, "flatfile", "jdbc", "trim,uppercase,validate");
+    private final ImportJobParametersValidator partitioned =
+            new ImportJobParametersValidator(true, "flatfile", "jdbc", "trim,uppercase,validate");
+
+    private static JobParameters parameters(String writer, String pipeline) {
+        return new JobParametersBuilder()
+                .addString(BatchConfiguration.WRITER_PARAMETER, writer)
+                .addString(BatchConfiguration.PIPELINE_PARAMETER, pipeline)
+                .toJobParameters();
+    }
+
+    @Test
+    void acceptsDefaults() {
+        assertThatCode(() -> validator.validate(new JobParameters())).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsUnknownNames() {
+        assertThatThrownBy(() -> validator.validate(parameters("fast", "trim")))
+                .isInstanceOf(JobParametersInvalidException.class);
+        assertThatThrownBy(() -> validator.validate(parameters("jdbc", "trim,upercase")))
+                .isInstanceOf(JobParametersInvalidException.class);
+    }
+
+    @Test
+    void requiresADedupingWriterForDedupe() {
+        assertThatThrownBy(() -> validator.validate(parameters("multirow", "trim,dedupe")))
+                .isInstanceOf(JobParametersInvalidException.class);
+        assertThatCode(() -> validator.validate(parameters("merge", "trim,dedupe"))).doesNotThrowAnyException();
+        assertThatCode(() -> validator.validate(parameters("bulk", "trim,dedupe"))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsBulkPipelinesTheLoadCannotReproduce() {
+        assertThatThrownBy(() -> validator.validate(parameters("bulk", "validate,trim")))
+                .isInstanceOf(JobParametersInvalidException.class);
+        assertThatCode(() -> validator.validate(parameters("bulk", "trim,uppercase,validate,dedupe")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void keepsMergeAndDedupeOffThePartitionedJob() {
+        assertThatThrownBy(() -> partitioned.validate(parameters("merge", "trim")))
+                .isInstanceOf(JobParametersInvalidException.class);
+        assertThatThrownBy(() -> partitioned.validate(parameters("bulk", "trim,dedupe")))
+                .isInstanceOf(JobParametersInvalidException.class);
+        assertThatCode(() -> partitioned.validate(parameters("multirow", "trim,validate")))
+                .doesNotThrowAnyException();
+    }
+}
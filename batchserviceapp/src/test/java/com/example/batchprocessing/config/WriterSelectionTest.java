@@ -0,0 +1,33 @@
+package com.example.batchprocessing.config;
+
+import com.example.batchprocessing.model.Person;
+import com.example.batchprocessing.writer.PeopleBulkWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriterSelectionTest {
+
+    private final BatchConfiguration configuration = new BatchConfiguration();
+    private final JdbcBatchItemWriter<Person> jdbcWriter = new JdbcBatchItemWriter<>();
+    private final PeopleBulkWriter multiRowWriter = new PeopleBulkWriter(null, PeopleBulkWriter.Mode.INSERT, 100);
+    private final PeopleBulkWriter mergeWriter = new PeopleBulkWriter(null, PeopleBulkWriter.Mode.MERGE, 100);
+
+    private Object select(String writer, String pipeline) {
+        return configuration.writer(jdbcWriter, multiRowWriter, mergeWriter, writer, pipeline);
+    }
+
+    @Test
+    void selectsWriterByName() {
+        assertThat(select("jdbc", "trim")).isSameAs(jdbcWriter);
+        assertThat(select("multirow", "trim")).isSameAs(multiRowWriter);
+        assertThat(select("merge", "trim")).isSameAs(mergeWriter);
+    }
+
+    @Test
+    void bulkFallsBackToMultiRowOrToMergeForDedupe() {
+        assertThat(select("bulk", "trim,uppercase,validate")).isSameAs(multiRowWriter);
+        assertThat(select("bulk", "trim,validate,dedupe")).isSameAs(mergeWriter);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.batchprocessing.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangePartitionerTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemResource csv(int rows) throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            content.append("First").append(i).append(",Last").append(i * 7).append('\n');
+        }
+        Path file = directory.resolve("people.csv");
+        Files.writeString(file, content);
+        return new FileSystemResource(file);
+    }
+
+    private static List<String> readAll(FileSystemResource resource, Map<String, ExecutionContext> partitions)
+            throws Exception {
+        List<String> lines = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            ByteRangeResource range = new ByteRangeResource(resource,
+                    context.getLong(ByteRangePartitioner.START_BYTE), context.getLong(ByteRangePartitioner.END_BYTE));
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(range.getInputStream(), StandardCharsets.UTF_8))) {
+                reader.lines().forEach(lines::add);
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    void partitionsShouldCoverEveryLineExactlyOnce() throws Exception {
+        FileSystemResource resource = csv(10_000);
+
+        Map<String, ExecutionContext> partitions = new ByteRangePartitioner(resource).partition(7);
+
+        assertThat(partitions).hasSize(7);
+        assertThat(readAll(resource, partitions)).isEqualTo(Files.readAllLines(resource.getFile().toPath()));
+    }
+
+    @Test
+    void rangesShouldBeContiguousAndStartOnLineBoundaries() throws Exception {
+        FileSystemResource resource = csv(1000);
+        byte[] bytes = Files.readAllBytes(resource.getFile().toPath());
+
+        long expectedStart = 0;
+        for (ExecutionContext context : new ByteRangePartitioner(resource).partition(16).values()) {
+            long start = context.getLong(ByteRangePartitioner.START_BYTE);
+            assertThat(start).isEqualTo(expectedStart);
+            assertThat(start == 0 || bytes[(int) start - 1] == '\n').isTrue();
+            expectedStart = context.getLong(ByteRangePartitioner.END_BYTE);
+        }
+        assertThat(expectedStart).isEqualTo(bytes.length);
+    }
+
+    @Test
+    void morePartitionsThanLinesShouldLeaveEmptyRanges() throws Exception {
+        FileSystemResource resource = csv(3);
+
+        Map<String, ExecutionContext> partitions = new ByteRangePartitioner(resource).partition(10);
+
+        assertThat(readAll(resource, partitions)).hasSize(3);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.batchprocessing.processor;
+
+import com.example.batchprocessing.model.Person;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class PersonItemProcessorTest {
+
+    private static PersonItemProcessor processor(String spec) {
+        return new PersonItemProcessor(PersonTransforms.parse(spec, 20), 0);
+    }
+
+    @Test
+    void runsStagesInOrderOnTheSamePerson() {
+        Person person = new Person("  jill ", "doe");
+        Person result = processor("trim,uppercase").process(person);
+
+        assertThat(result).isSameAs(person);
+        assertThat(result.getFirstName()).isEqualTo("JILL");
+        assertThat(result.getLastName()).isEqualTo("DOE");
+    }
+
+    @Test
+    void uppercasesIndependentlyOfDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            Person result = processor("uppercase").process(new Person("mike", "smith"));
+            assertThat(result.getFirstName()).isEqualTo("MIKE");
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void validateFiltersEmptyAndOverlongNames() {
+        PersonItemProcessor processor = processor("trim,validate");
+
+        assertThat(processor.process(new Person("Jill", "Doe"))).isNotNull();
+        assertThat(processor.process(new Person(" ", "Doe"))).isNull();
+        assertThat(processor.process(new Person("Bartholomew-Maximilian", "Doe"))).isNull();
+    }
+
+    @Test
+    void leavesDedupeToTheWriter() {
+        PersonItemProcessor processor = processor("trim,dedupe,uppercase");
+
+        assertThat(processor.getStages()).extracting(PersonItemProcessor.Stage::getName)
+                .containsExactly("trim", "uppercase");
+        assertThat(processor.process(new Person("Jill", "Doe"))).isNotNull();
+        assertThat(processor.process(new Person("Jill", "Doe"))).isNotNull();
+    }
+
+    @Test
+    void countsPerStageAndRestoresFromExecutionContext() {
+        PersonItemProcessor processor = processor("trim,validate");
+        processor.process(new Person("Jill", "Doe"));
+        processor.process(new Person("", "Doe"));
+        processor.process(new Person("Joe", "Doe"));
+
+        ExecutionContext context = new ExecutionContext();
+        processor.update(context);
+        assertThat(context.getLong("pipeline.0.trim.in")).isEqualTo(3);
+        assertThat(context.getLong("pipeline.1.validate.in")).isEqualTo(3);
+        assertThat(context.getLong("pipeline.1.validate.out")).isEqualTo(2);
+
+        PersonItemProcessor restarted = processor("trim,validate");
+        restarted.open(context);
+        restarted.process(new Person("Jane", "Doe"));
+        assertThat(restarted.getStages().get(1).getIn()).isEqualTo(4);
+        assertThat(restarted.getStages().get(1).getOut()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsUnknownStage() {
+        assertThatIllegalArgumentException().isThrownBy(() -> processor("trim,upercase"));
+    }
+}
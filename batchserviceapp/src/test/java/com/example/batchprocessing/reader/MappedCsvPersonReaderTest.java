@@ -0,0 +1,92 @@
+package com.example.batchprocessing.reader;
+
+import com.example.batchprocessing.model.Person;
+import com.example.batchprocessing.partition.ByteRangePartitioner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedCsvPersonReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private FileSystemResource csv(String content) throws Exception {
+        Path file = directory.resolve("people.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return new FileSystemResource(file);
+    }
+
+    private static List<String> readAll(MappedCsvPersonReader reader) {
+        List<String> names = new ArrayList<>();
+        Person person;
+        while ((person = reader.read()) != null) {
+            names.add(person.getFirstName() + " " + person.getLastName());
+        }
+        return names;
+    }
+
+    @Test
+    void readsFirstTwoFieldsOfEachRow() throws Exception {
+        MappedCsvPersonReader reader = new MappedCsvPersonReader(
+                csv("Jill,Doe\r\nJoe,Doe,ignored,columns\n\n\"Smith, Jr\",\"O\"\"Neil\"\nZoë,Ünal"));
+        reader.open(new ExecutionContext());
+        assertThat(readAll(reader)).containsExactly("Jill Doe", "Joe Doe", "Smith, Jr O\"Neil", "Zoë Ünal");
+        reader.close();
+    }
+
+    @Test
+    void readsRowsSpanningMappedWindows() throws Exception {
+        MappedCsvPersonReader reader = new MappedCsvPersonReader(csv("Alexander,Hamilton\nAl,Bo\nCatherine,Zeta\nD,E"));
+        reader.setWindowSize(24);
+        reader.open(new ExecutionContext());
+        assertThat(readAll(reader)).containsExactly("Alexander Hamilton", "Al Bo", "Catherine Zeta", "D E");
+        reader.close();
+    }
+
+    @Test
+    void restartsFromSavedOffset() throws Exception {
+        FileSystemResource resource = csv("A,1\nB,2\nC,3\nD,4\n");
+        ExecutionContext context = new ExecutionContext();
+        MappedCsvPersonReader reader = new MappedCsvPersonReader(resource);
+        reader.open(context);
+        reader.read();
+        reader.read();
+        reader.update(context);
+        reader.close();
+
+        MappedCsvPersonReader restarted = new MappedCsvPersonReader(resource);
+        restarted.open(context);
+        assertThat(readAll(restarted)).containsExactly("C 3", "D 4");
+        restarted.close();
+    }
+
+    @Test
+    void readsEachPartitionRangeOnce() throws Exception {
+        StringBuilder content = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            content.append("First").append(i).append(",Last").append(i).append('\n');
+            expected.add("First" + i + " Last" + i);
+        }
+        FileSystemResource resource = csv(content.toString());
+        List<String> names = new ArrayList<>();
+        for (ExecutionContext partition : new ByteRangePartitioner(resource).partition(7).values()) {
+            MappedCsvPersonReader reader = new MappedCsvPersonReader(resource,
+                    partition.getLong(ByteRangePartitioner.START_BYTE), partition.getLong(ByteRangePartitioner.END_BYTE));
+            reader.open(new ExecutionContext());
+            names.addAll(readAll(reader));
+            reader.close();
+        }
+        assertThat(names).containsExactlyInAnyOrderElementsOf(expected);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.batchprocessing.writer;
+
+import com.example.batchprocessing.config.BatchConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkLoadDeciderTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private BulkLoadDecider decider;
+    private String fileInput;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE people (first_name VARCHAR(20), last_name VARCHAR(20))");
+        decider = new BulkLoadDecider(new DefaultResourceLoader(), new CsvBulkLoader(jdbcTemplate, 20), "jdbc");
+        Path csv = Files.writeString(directory.resolve("people.csv"), "Jill,Doe\n");
+        fileInput = csv.toUri().toString();
+    }
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    private FlowExecutionStatus decide(String writer, String input) {
+        JobParametersBuilder parameters = new JobParametersBuilder().addString(BatchConfiguration.INPUT_PARAMETER, input);
+        if (writer != null) {
+            parameters.addString(BatchConfiguration.WRITER_PARAMETER, writer);
+        }
+        return decider.decide(new JobExecution(new JobInstance(1L, "importUserJob"), parameters.toJobParameters()), null);
+    }
+
+    @Test
+    void bulkLoadsAnEmptyTableFromAFile() {
+        assertThat(decide("bulk", fileInput)).isEqualTo(BulkLoadDecider.BULK);
+    }
+
+    @Test
+    void chunksOtherwise() {
+        assertThat(decide(null, fileInput)).isEqualTo(BulkLoadDecider.CHUNKED);
+        assertThat(decide("multirow", fileInput)).isEqualTo(BulkLoadDecider.CHUNKED);
+        assertThat(decide("bulk", "https://example.com/people.csv")).isEqualTo(BulkLoadDecider.CHUNKED);
+
+        jdbcTemplate.update("INSERT INTO people VALUES ('Joe', 'Doe')");
+        assertThat(decide("bulk", fileInput)).isEqualTo(BulkLoadDecider.CHUNKED);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.batchprocessing.writer;
+
+import com.example.batchprocessing.processor.PipelineStage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CsvBulkLoaderTest {
+
+    @TempDir
+    Path directory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private CsvBulkLoader loader;
+
+    @BeforeEach
+    void createTable() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE people (
+                    person_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    first_name VARCHAR(20),
+                    last_name VARCHAR(20)
+                )""");
+        loader = new CsvBulkLoader(jdbcTemplate, 20);
+        loader.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    private FileSystemResource csv(String content) throws Exception {
+        Path file = directory.resolve("people.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return new FileSystemResource(file);
+    }
+
+    private List<String> names() {
+        return jdbcTemplate.queryForList("SELECT '[' || first_name || ' ' || last_name || ']' FROM people", String.class);
+    }
+
+    @Test
+    void loadsEmptyTableThroughPipeline() throws Exception {
+        assertThat(loader.isTargetEmpty()).isTrue();
+
+        int rows = loader.load(csv(" jill ,doe\nJoe,Doe\njoe,doe\n,Nobody\nBartholomew-Maximilian,Doe\n"),
+                "trim,uppercase,validate,dedupe");
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(names()).containsExactlyInAnyOrder("[JILL DOE]", "[JOE DOE]");
+        assertThat(loader.isTargetEmpty()).isFalse();
+    }
+
+    @Test
+    void trimsOnlyWithATrimStageAndLikeStringTrim() throws Exception {
+        FileSystemResource input = csv(" jill\t,doe\n");
+
+        loader.load(input, "uppercase");
+        loader.load(input, "trim");
+
+        assertThat(names()).containsExactlyInAnyOrder("[ JILL\t DOE]", "[jill doe]");
+    }
+
+    @Test
+    void uppercasesIndependentlyOfDefaultLocale() throws Exception {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            loader.load(csv("mike,smith\n"), "uppercase");
+        } finally {
+            Locale.setDefault(previous);
+        }
+        assertThat(names()).containsExactly("[MIKE SMITH]");
+    }
+
+    @Test
+    void rejectsTransformsAfterFilters() throws Exception {
+        assertThat(CsvBulkLoader.supports(PipelineStage.parse("trim,validate,uppercase"))).isFalse();
+        assertThat(CsvBulkLoader.supports(PipelineStage.parse("trim,dedupe,validate"))).isTrue();
+        assertThatIllegalArgumentException().isThrownBy(() -> loader.load(csv("a,b\n"), "validate,trim"));
+    }
+}
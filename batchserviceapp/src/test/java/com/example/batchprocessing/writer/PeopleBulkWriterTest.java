@@ -0,0 +1,82 @@
+package com.example.batchprocessing.writer;
+
+import com.example.batchprocessing.model.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeopleBulkWriterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createTable() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("""
+                CREATE TABLE people (
+                    person_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    first_name VARCHAR(20),
+                    last_name VARCHAR(20)
+                )""");
+    }
+
+    @AfterEach
+    void shutdown() {
+        database.shutdown();
+    }
+
+    private static Chunk<Person> people(int from, int to) {
+        List<Person> people = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            people.add(new Person("First" + i, "Last" + i));
+        }
+        return new Chunk<>(people);
+    }
+
+    private List<String> names() {
+        return jdbcTemplate.queryForList("SELECT first_name || ' ' || last_name FROM people ORDER BY person_id", String.class);
+    }
+
+    @Test
+    void insertsFullStatementsAndRemainder() {
+        PeopleBulkWriter writer = new PeopleBulkWriter(jdbcTemplate, PeopleBulkWriter.Mode.INSERT, 100);
+        writer.afterPropertiesSet();
+
+        writer.write(people(0, 250));
+        writer.write(people(250, 253));
+
+        List<String> names = names();
+        assertThat(names).hasSize(253);
+        assertThat(names.get(0)).isEqualTo("First0 Last0");
+        assertThat(names.get(252)).isEqualTo("First252 Last252");
+    }
+
+    @Test
+    void mergeInsertsOnlyPeopleNotPresent() {
+        PeopleBulkWriter writer = new PeopleBulkWriter(jdbcTemplate, PeopleBulkWriter.Mode.MERGE, 7);
+        writer.afterPropertiesSet();
+
+        writer.write(people(0, 10));
+        Chunk<Person> overlapping = people(5, 15);
+        overlapping.add(new Person("First14", "Last14"));
+        writer.write(overlapping);
+
+        assertThat(names()).hasSize(15).doesNotHaveDuplicates();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM people_staging", Long.class)).isZero();
+    }
+}